@@ -0,0 +1,33 @@
+package org.quizLib.Benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs {@link QuizBenchmarks} once per requested thread count with the GC profiler enabled, so every result
+ * reports throughput, average time and allocation rate.
+ * <p>
+ * Usage: {@code java -jar benchmarks.jar [threadCounts] [benchmarkRegex]}, for example
+ * {@code java -jar benchmarks.jar 1,4,16 generateQuiz}. Thread counts default to {@code 1,4}.
+ * For any other JMH option run {@code java -cp benchmarks.jar org.openjdk.jmh.Main}.
+ */
+public final class QuizBenchmarkRunner {
+
+    private QuizBenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String threadCounts = args.length > 0 ? args[0] : "1,4";
+        String include = QuizBenchmarks.class.getSimpleName() + "." + (args.length > 1 ? args[1] : "");
+        for (String threads : threadCounts.split(",")) {
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(include)
+                    .addProfiler(GCProfiler.class)
+                    .threads(Integer.parseInt(threads.trim()));
+            new Runner(options.build()).run();
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package org.quizLib.Benchmarks;
+
+import org.enums.QuestionType;
+import org.enums.VerdictEnum;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.quizLib.Bank.QuestionCatalog;
+import org.quizLib.Objects.Student;
+import org.quizLib.Questions.AbstractQuestion;
+import org.quizLib.Questions.QuestionInterface;
+import org.quizLib.Quiz.RegularQuiz;
+import org.quizLib.Quiz.RevisionQuiz;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for the quiz hot paths: paper generation, revision selection, answer checking and quiz taking.
+ * Benchmarks are parameterised by bank size, quiz length and the number of students each benchmark thread cycles
+ * through; the thread count is chosen when running (see {@link QuizBenchmarkRunner}).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuizBenchmarks {
+
+    /**
+     * Question bank and a fixed paper shared by all benchmark threads.
+     */
+    @State(Scope.Benchmark)
+    public static class BankState {
+        @Param({"1000", "100000"})
+        public int bankSize;
+        @Param({"10", "50"})
+        public int quizLength;
+
+        public RegularQuiz regularQuiz;
+        public RevisionQuiz revisionQuiz;
+        public List<QuestionInterface> paper;
+        public List<String> answers;
+        public QuestionInterface freeResponseQuestion;
+        public QuestionInterface multipleChoiceQuestion;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            QuestionCatalog catalog = new QuestionCatalog();
+            List<QuestionInterface> free = new ArrayList<>(bankSize / 2);
+            List<QuestionInterface> multi = new ArrayList<>(bankSize - bankSize / 2);
+            for (int i = 0; i < bankSize / 2; i++) {
+                free.add(AbstractQuestion.getQuestionInstance(QuestionType.FREE_RESPONSE_QUESTION,
+                        "Free response question " + i, "Answer number " + i));
+            }
+            for (int i = bankSize / 2; i < bankSize; i++) {
+                multi.add(AbstractQuestion.getQuestionInstance(QuestionType.MULTIPLE_CHOICE_QUESTION,
+                        "Multiple choice question " + i, (i % 2 == 0) ? "a,c" : "b,d"));
+            }
+            catalog.addAll(QuestionType.FREE_RESPONSE_QUESTION, free);
+            catalog.addAll(QuestionType.MULTIPLE_CHOICE_QUESTION, multi);
+            regularQuiz = new RegularQuiz(catalog);
+            revisionQuiz = new RevisionQuiz(catalog);
+            freeResponseQuestion = free.get(0);
+            multipleChoiceQuestion = multi.get(0);
+
+            paper = new ArrayList<>(quizLength);
+            answers = new ArrayList<>(quizLength);
+            for (int i = 0; i < quizLength; i++) {
+                // Alternate question types and get every other answer right
+                if (i % 2 == 0) {
+                    paper.add(free.get(i));
+                    answers.add(i % 4 == 0 ? "  answer NUMBER " + i : "wrong answer");
+                } else {
+                    paper.add(multi.get(i));
+                    answers.add(i % 4 == 1 ? "c, a" : "a,b,c");
+                }
+            }
+        }
+    }
+
+    /**
+     * Students owned by one benchmark thread, cycled through round robin.
+     */
+    @State(Scope.Thread)
+    public static class StudentState {
+        @Param({"1", "1000"})
+        public int studentsPerThread;
+
+        public Student[] students;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp(BankState bank) {
+            students = new Student[studentsPerThread];
+            for (int i = 0; i < studentsPerThread; i++) {
+                students[i] = newStudent(i);
+                // Give every student some history so revision has seen and incorrect questions to work with
+                for (int q = 0; q < bank.paper.size(); q += 2) {
+                    students[i].addQuestionAsSeen(bank.paper.get(q));
+                }
+                students[i].addIncorrectQuestion(bank.paper.get(1));
+            }
+        }
+
+        public Student nextStudent() {
+            Student student = students[next];
+            next = (next + 1) % students.length;
+            return student;
+        }
+
+        /**
+         * Returns the next student, first replacing them with a new one if they already reached a final verdict and
+         * could not take another quiz.
+         */
+        public Student nextEligibleStudent() {
+            if (students[next].getStatistics().getVerdict() != VerdictEnum.TBD) {
+                students[next] = newStudent(next);
+            }
+            return nextStudent();
+        }
+
+        private Student newStudent(int index) {
+            return new Student("Student " + Thread.currentThread().threadId() + "-" + index, new Date(0));
+        }
+    }
+
+    /**
+     * The student taking the next measured quiz. Picking the student, and replacing one who reached a final verdict,
+     * happens before each invocation so the measured method only takes the quiz. {@code Level.Invocation} adds
+     * timestamping around every call, which is small next to a quiz attempt of tens of microseconds but does inflate
+     * the result slightly; compare {@code takeQuizGeneral} results with each other, not with the other benchmarks.
+     */
+    @State(Scope.Thread)
+    public static class AttemptState {
+        public Student student;
+
+        @Setup(Level.Invocation)
+        public void pickStudent(StudentState students) {
+            student = students.nextEligibleStudent();
+        }
+    }
+
+    @Benchmark
+    public Set<QuestionInterface> generateQuiz(BankState bank) {
+        return bank.regularQuiz.generateQuiz(bank.quizLength);
+    }
+
+    @Benchmark
+    public Set<QuestionInterface> revise(BankState bank, StudentState students) {
+        return bank.revisionQuiz.revise(students.nextStudent(), bank.quizLength);
+    }
+
+    @Benchmark
+    public void checkQuestionAnswer(BankState bank, Blackhole blackhole) {
+        blackhole.consume(bank.freeResponseQuestion.checkQuestionAnswer("  answer NUMBER 0 "));
+        blackhole.consume(bank.multipleChoiceQuestion.checkQuestionAnswer("c, a"));
+    }
+
+    @Benchmark
+    public double takeQuizGeneral(BankState bank, AttemptState attempt) {
+        return bank.regularQuiz.takeQuizGeneral(attempt.student, bank.paper, bank.answers, VerdictEnum.REGULAR);
+    }
+}
@@ -0,0 +1,23 @@
+package org.enums;
+
+/**
+ * Enum representing the quiz operations whose latency is measured by {@code QuizMetrics}.
+ */
+public enum QuizOperation {
+    /**
+     * Generating a regular quiz with {@code generateQuiz}.
+     */
+    GENERATE_QUIZ,
+    /**
+     * Building a revision quiz for a student with {@code revise}.
+     */
+    REVISE,
+    /**
+     * Checking one answer with {@code checkQuestionAnswer} while a quiz is graded.
+     */
+    CHECK_ANSWER,
+    /**
+     * Grading a whole attempt and applying it to the student with {@code takeQuizGeneral}.
+     */
+    TAKE_QUIZ
+}
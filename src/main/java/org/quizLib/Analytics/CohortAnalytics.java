@@ -0,0 +1,129 @@
+package org.quizLib.Analytics;
+
+import org.enums.VerdictEnum;
+import org.quizLib.Objects.Student;
+import org.quizLib.Objects.StudentLocks;
+import org.quizLib.ScoreAggregate;
+import org.quizLib.Statistics;
+
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The {@code CohortAnalytics} class computes a {@link CohortSummary} over a roster of students.
+ * The roster is split into ranges that are summarised in parallel on a fork-join pool and then merged, so the
+ * cost is one pass over the students spread across all cores. Each student's statistics are copied under the
+ * student's lock, so the summary can be taken while grading continues.
+ */
+public final class CohortAnalytics {
+    private static final int SEQUENTIAL_THRESHOLD = 4096;
+
+    private CohortAnalytics() {
+    }
+
+    /**
+     * Summarises the given students on the common fork-join pool.
+     *
+     * @param students the students to summarise, for example {@code StudentRegistry.getStudents()}
+     * @return the cohort summary
+     */
+    public static CohortSummary summarize(Collection<Student> students) {
+        return summarize(students, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Summarises the given students on the given fork-join pool.
+     *
+     * @param students the students to summarise
+     * @param pool the pool to run on
+     * @return the cohort summary
+     */
+    public static CohortSummary summarize(Collection<Student> students, ForkJoinPool pool) {
+        Student[] roster = students.toArray(new Student[0]);
+        return pool.invoke(new SummaryTask(roster, 0, roster.length)).toSummary();
+    }
+
+    /**
+     * Mutable partial result for a range of students.
+     */
+    private static final class Partial {
+        private long students;
+        private final ScoreAggregate regular = new ScoreAggregate(Statistics.PASS_MARK);
+        private final ScoreAggregate revision = new ScoreAggregate();
+        private final long[] verdictCounts = new long[VerdictEnum.values().length];
+        private final long[] distribution = new long[CohortSummary.BUCKETS];
+
+        private void add(Student student) {
+            Statistics statistics = student.getStatistics();
+            ScoreAggregate studentRegular;
+            ScoreAggregate studentRevision;
+            VerdictEnum verdict;
+            ReentrantLock lock = StudentLocks.lockFor(student);
+            lock.lock();
+            try {
+                studentRegular = statistics.getScoreAggregate(VerdictEnum.REGULAR);
+                studentRevision = statistics.getScoreAggregate(VerdictEnum.REVISION);
+                verdict = statistics.getVerdict();
+            } finally {
+                lock.unlock();
+            }
+            students++;
+            regular.merge(studentRegular);
+            revision.merge(studentRevision);
+            verdictCounts[verdict.ordinal()]++;
+            studentRegular.merge(studentRevision);
+            if (studentRegular.getCount() > 0) {
+                distribution[CohortSummary.bucketOf(studentRegular.getMean())]++;
+            }
+        }
+
+        private Partial merge(Partial other) {
+            students += other.students;
+            regular.merge(other.regular);
+            revision.merge(other.revision);
+            for (int i = 0; i < verdictCounts.length; i++) {
+                verdictCounts[i] += other.verdictCounts[i];
+            }
+            for (int i = 0; i < distribution.length; i++) {
+                distribution[i] += other.distribution[i];
+            }
+            return this;
+        }
+
+        private CohortSummary toSummary() {
+            return new CohortSummary(students, regular, revision, verdictCounts, distribution);
+        }
+    }
+
+    private static final class SummaryTask extends RecursiveTask<Partial> {
+        private static final long serialVersionUID = 1L;
+        // Tasks are never serialized; the roster is only shared between the forked tasks
+        private final transient Student[] roster;
+        private final int from;
+        private final int to;
+
+        private SummaryTask(Student[] roster, int from, int to) {
+            this.roster = roster;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                Partial partial = new Partial();
+                for (int i = from; i < to; i++) {
+                    partial.add(roster[i]);
+                }
+                return partial;
+            }
+            int middle = (from + to) >>> 1;
+            SummaryTask left = new SummaryTask(roster, from, middle);
+            left.fork();
+            Partial right = new SummaryTask(roster, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
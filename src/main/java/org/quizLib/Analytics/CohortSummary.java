@@ -0,0 +1,92 @@
+package org.quizLib.Analytics;
+
+import org.enums.VerdictEnum;
+import org.quizLib.ScoreAggregate;
+
+import java.util.Arrays;
+
+/**
+ * The {@code CohortSummary} class holds figures for a whole group of students: attempt-level score aggregates
+ * grouped by quiz type ({@code REGULAR} and {@code REVISION}), the number of students holding each verdict, and a
+ * distribution of the students' mean scores in {@link #BUCKETS} equal buckets over {@code [0, 1]}.
+ */
+public final class CohortSummary {
+    /** Number of buckets in the mean score distribution; scores of 1 or more fall in the last bucket. */
+    public static final int BUCKETS = 10;
+    private final long students;
+    private final ScoreAggregate regular;
+    private final ScoreAggregate revision;
+    private final long[] verdictCounts;
+    private final long[] distribution;
+
+    CohortSummary(long students, ScoreAggregate regular, ScoreAggregate revision, long[] verdictCounts, long[] distribution) {
+        this.students = students;
+        this.regular = regular;
+        this.revision = revision;
+        this.verdictCounts = verdictCounts;
+        this.distribution = distribution;
+    }
+
+    /**
+     * Returns the number of students covered by this summary.
+     * @return the number of students
+     */
+    public long getStudents() {
+        return students;
+    }
+
+    /**
+     * Returns the attempt-level score aggregate for one quiz type, including its pass rate.
+     * @param quizType the quiz type, {@code REGULAR} or {@code REVISION}
+     * @return a copy of the aggregate for that quiz type
+     */
+    public ScoreAggregate getScores(VerdictEnum quizType) {
+        switch (quizType) {
+            case REGULAR:
+                return regular.copy();
+            case REVISION:
+                return revision.copy();
+            default:
+                throw new IllegalArgumentException("Quiz type must be REGULAR or REVISION");
+        }
+    }
+
+    /**
+     * Returns the number of students currently holding the given verdict.
+     * @param verdict the verdict, {@code PASS}, {@code FAIL} or {@code TBD}
+     * @return the number of students with that verdict
+     */
+    public long getVerdictCount(VerdictEnum verdict) {
+        return verdictCounts[verdict.ordinal()];
+    }
+
+    /**
+     * Returns how many students have a mean score in each bucket. Bucket {@code i} covers
+     * {@code [i / BUCKETS, (i + 1) / BUCKETS)}. Students without any score are not counted.
+     * @return a copy of the distribution
+     */
+    public long[] getMeanScoreDistribution() {
+        return distribution.clone();
+    }
+
+    static int bucketOf(double meanScore) {
+        return Math.max(0, Math.min(BUCKETS - 1, (int) (meanScore * BUCKETS)));
+    }
+
+    /**
+     * Returns a string representation of the summary.
+     * @return a string containing the student count, the per-type aggregates, verdict counts and distribution
+     */
+    @Override
+    public String toString() {
+        return "CohortSummary{" +
+                "students=" + students +
+                ", regular=" + regular +
+                ", revision=" + revision +
+                ", pass=" + getVerdictCount(VerdictEnum.PASS) +
+                ", fail=" + getVerdictCount(VerdictEnum.FAIL) +
+                ", tbd=" + getVerdictCount(VerdictEnum.TBD) +
+                ", meanScoreDistribution=" + Arrays.toString(distribution) +
+                '}';
+    }
+}
@@ -0,0 +1,118 @@
+package org.quizLib.Analytics;
+
+import org.enums.VerdictEnum;
+import org.quizLib.Objects.StudentRegistry;
+import org.quizLib.ScoreAggregate;
+import org.quizLib.Statistics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code IncrementalCohortAnalytics} class keeps cohort figures up to date as scores are added, instead of
+ * recomputing them. Once {@link #attach(StudentRegistry) attached} to a registry it observes every
+ * {@link Statistics#addScores(double, VerdictEnum)} call and verdict change of that registry's students and updates a
+ * set of per-quiz-type aggregates and verdict counts.
+ * <p>
+ * Updates are appended to a fixed number of cells chosen by thread, so concurrent graders rarely contend;
+ * {@link #snapshot()} merges the cells. Students and verdicts are counted from each student's first score,
+ * so students who already had scores before the analytics were attached are not included. The mean score distribution is only available from {@link CohortAnalytics}.
+ */
+public class IncrementalCohortAnalytics implements Statistics.ScoreObserver {
+    private final Cell[] cells;
+    private final LongAdder[] verdictCounts = new LongAdder[VerdictEnum.values().length];
+    private final LongAdder students = new LongAdder();
+    private StudentRegistry registry;
+
+    /**
+     * Constructs incremental analytics with one cell per available processor.
+     */
+    public IncrementalCohortAnalytics() {
+        int size = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+        cells = new Cell[size];
+        for (int i = 0; i < size; i++) {
+            cells[i] = new Cell();
+        }
+        for (int i = 0; i < verdictCounts.length; i++) {
+            verdictCounts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Starts observing the scores and verdicts of the registry's students.
+     *
+     * @param registry the registry to observe
+     * @throws IllegalStateException if these analytics are already attached
+     */
+    public synchronized void attach(StudentRegistry registry) {
+        if (this.registry != null) {
+            throw new IllegalStateException("Analytics are already attached to a registry");
+        }
+        this.registry = registry;
+        registry.addScoreObserver(this);
+    }
+
+    /**
+     * Stops observing scores. Does nothing if these analytics are not attached.
+     */
+    public synchronized void detach() {
+        if (registry != null) {
+            registry.removeScoreObserver(this);
+            registry = null;
+        }
+    }
+
+    @Override
+    public void scoreAdded(Statistics statistics, double score, VerdictEnum quizType, VerdictEnum previousVerdict) {
+        Cell cell = cells[(int) Thread.currentThread().threadId() & (cells.length - 1)];
+        synchronized (cell) {
+            if (quizType == VerdictEnum.REGULAR) {
+                cell.regular.add(score);
+            } else {
+                cell.revision.add(score);
+            }
+        }
+        VerdictEnum verdict = statistics.getVerdict();
+        if (statistics.getScoreCount() == 1) {
+            students.increment();
+            verdictCounts[verdict.ordinal()].increment();
+        } else if (previousVerdict != verdict) {
+            verdictCounts[previousVerdict.ordinal()].decrement();
+            verdictCounts[verdict.ordinal()].increment();
+        }
+    }
+
+    @Override
+    public void verdictChanged(Statistics statistics, VerdictEnum previousVerdict) {
+        // Students are only counted from their first score
+        if (statistics.getScoreCount() > 0) {
+            verdictCounts[previousVerdict.ordinal()].decrement();
+            verdictCounts[statistics.getVerdict().ordinal()].increment();
+        }
+    }
+
+    /**
+     * Returns the current figures. The distribution of mean scores is left empty.
+     *
+     * @return a summary of the scores observed so far
+     */
+    public CohortSummary snapshot() {
+        ScoreAggregate regular = new ScoreAggregate(Statistics.PASS_MARK);
+        ScoreAggregate revision = new ScoreAggregate();
+        for (Cell cell : cells) {
+            synchronized (cell) {
+                regular.merge(cell.regular);
+                revision.merge(cell.revision);
+            }
+        }
+        long[] counts = new long[verdictCounts.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = verdictCounts[i].sum();
+        }
+        return new CohortSummary(students.sum(), regular, revision, counts, new long[CohortSummary.BUCKETS]);
+    }
+
+    private static final class Cell {
+        private final ScoreAggregate regular = new ScoreAggregate(Statistics.PASS_MARK);
+        private final ScoreAggregate revision = new ScoreAggregate();
+    }
+}
@@ -0,0 +1,247 @@
+package org.quizLib.Bank;
+
+import org.enums.QuestionType;
+import org.quizLib.Questions.QuestionIds;
+import org.quizLib.Questions.QuestionInterface;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The {@code BankVersion} class identifies the content of a {@link QuestionBank} at one point in time by the number of
+ * questions of each {@link QuestionType} and a hash of those questions' content. Question banks only ever append
+ * (see {@link QuestionCatalog}), so the questions of a version are exactly the first {@code size(type)} questions of
+ * each type, and a quiz drawn from a version with a given seed can be drawn again later, after more questions were
+ * added or in another run, with {@link #view(QuestionBank)}. The hash makes sure the bank really starts with the same
+ * questions, and not merely with as many of them.
+ * <p>
+ * The string form lists the sizes in {@link QuestionType} order separated by dots, then {@code @} and the content hash
+ * in hexadecimal, for example {@code "3.3@9f2c0e4b7a115d36"}.
+ */
+public final class BankVersion {
+    /** The content hash of no questions, see {@link QuestionBank#contentHash(QuestionType, int)}. */
+    static final long EMPTY_HASH = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+    private final int[] sizes;
+    private final long contentHash;
+
+    private BankVersion(int[] sizes, long contentHash) {
+        this.sizes = sizes;
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * Extends a content hash by one more question.
+     */
+    static long extendHash(long hash, QuestionInterface question) {
+        return (hash ^ QuestionIds.contentHash(question)) * PRIME;
+    }
+
+    private static long combine(QuestionBank bank, int[] sizes) {
+        long hash = EMPTY_HASH;
+        for (QuestionType questionType : QuestionType.values()) {
+            hash = (hash ^ bank.contentHash(questionType, sizes[questionType.ordinal()])) * PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the current version of the given bank.
+     *
+     * @param bank the question bank
+     * @return the number of questions of each type the bank holds now and their content hash
+     */
+    public static BankVersion of(QuestionBank bank) {
+        QuestionType[] types = QuestionType.values();
+        int[] sizes = new int[types.length];
+        for (QuestionType questionType : types) {
+            sizes[questionType.ordinal()] = bank.size(questionType);
+        }
+        return new BankVersion(sizes, combine(bank, sizes));
+    }
+
+    /**
+     * Parses a version from its string form.
+     *
+     * @param version the sizes in {@link QuestionType} order separated by dots, {@code @} and the hexadecimal hash
+     * @return the version
+     * @throws IllegalArgumentException if the string is not a version
+     */
+    public static BankVersion parse(String version) {
+        int at = version.indexOf('@');
+        if (at < 0) {
+            throw new IllegalArgumentException("Invalid bank version: " + version);
+        }
+        long contentHash;
+        try {
+            contentHash = Long.parseUnsignedLong(version.substring(at + 1), 16);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid bank version: " + version, e);
+        }
+        String[] parts = version.substring(0, at).split("\\.", -1);
+        if (parts.length != QuestionType.values().length) {
+            throw new IllegalArgumentException("Invalid bank version: " + version);
+        }
+        int[] sizes = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            try {
+                sizes[i] = Integer.parseInt(parts[i]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid bank version: " + version, e);
+            }
+            if (sizes[i] < 0) {
+                throw new IllegalArgumentException("Invalid bank version: " + version);
+            }
+        }
+        return new BankVersion(sizes, contentHash);
+    }
+
+    /**
+     * Returns the number of questions of the given type in this version.
+     *
+     * @param questionType the type of question to count
+     * @return the number of questions of that type
+     */
+    public int size(QuestionType questionType) {
+        return sizes[questionType.ordinal()];
+    }
+
+    /**
+     * Returns the hash of the content of this version's questions.
+     *
+     * @return the content hash
+     */
+    public long getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * Returns a read-only view of the bank holding only the questions of this version.
+     *
+     * @param bank a bank whose questions are a superset of this version, usually the bank the version was taken from
+     * @return a bank with the sizes of this version
+     * @throws IllegalArgumentException if the bank holds fewer questions of some type than this version, or its first
+     *                                  questions differ from this version's
+     */
+    public QuestionBank view(QuestionBank bank) {
+        for (QuestionType questionType : QuestionType.values()) {
+            if (bank.size(questionType) < size(questionType)) {
+                throw new IllegalArgumentException("The question bank is older than version " + this);
+            }
+        }
+        if (combine(bank, sizes) != contentHash) {
+            throw new IllegalArgumentException("The question bank does not hold the questions of version " + this);
+        }
+        return new View(bank);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof BankVersion && contentHash == ((BankVersion) obj).contentHash
+                && Arrays.equals(sizes, ((BankVersion) obj).sizes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(sizes) * 31 + Long.hashCode(contentHash);
+    }
+
+    /**
+     * Returns the string form of the version.
+     * @return the sizes in {@link QuestionType} order separated by dots, {@code @} and the hexadecimal content hash
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < sizes.length; i++) {
+            if (i > 0) {
+                builder.append('.');
+            }
+            builder.append(sizes[i]);
+        }
+        String hash = Long.toHexString(contentHash);
+        builder.append('@');
+        builder.append("0".repeat(16 - hash.length()));
+        return builder.append(hash).toString();
+    }
+
+    /**
+     * The first {@code size(type)} questions of each type of a bank.
+     */
+    private final class View implements QuestionBank {
+        private final QuestionBank bank;
+        /** The ids of the view's questions, built on first need once the bank has grown past this version. */
+        private volatile BitSet ids;
+
+        private View(QuestionBank bank) {
+            this.bank = bank;
+        }
+
+        @Override
+        public int size(QuestionType questionType) {
+            return BankVersion.this.size(questionType);
+        }
+
+        @Override
+        public QuestionInterface get(QuestionType questionType, int index) {
+            if (index < 0 || index >= size(questionType)) {
+                throw new IndexOutOfBoundsException("Question index " + index + " out of range for " + questionType);
+            }
+            return bank.get(questionType, index);
+        }
+
+        @Override
+        public int questionId(QuestionType questionType, int index) {
+            if (index < 0 || index >= size(questionType)) {
+                throw new IndexOutOfBoundsException("Question index " + index + " out of range for " + questionType);
+            }
+            return bank.questionId(questionType, index);
+        }
+
+        @Override
+        public long contentHash(QuestionType questionType, int count) {
+            if (count < 0 || count > size(questionType)) {
+                throw new IndexOutOfBoundsException("Question count " + count + " out of range for " + questionType);
+            }
+            return bank.contentHash(questionType, count);
+        }
+
+        @Override
+        public BitSet questionIds() {
+            // Banks only grow, so if the bank still has this version's sizes afterwards its ids are exactly ours
+            BitSet all = bank.questionIds();
+            if (BankVersion.this.equals(BankVersion.of(bank))) {
+                return all;
+            }
+            return (BitSet) grownIds().clone();
+        }
+
+        @Override
+        public boolean contains(int questionId) {
+            if (!bank.contains(questionId)) {
+                return false;
+            }
+            // Banks only grow, so if the bank still has this version's sizes afterwards the question is one of ours
+            for (QuestionType questionType : QuestionType.values()) {
+                if (bank.size(questionType) != size(questionType)) {
+                    return grownIds().get(questionId);
+                }
+            }
+            return true;
+        }
+
+        private BitSet grownIds() {
+            BitSet current = ids;
+            if (current == null) {
+                current = new BitSet();
+                for (QuestionType questionType : QuestionType.values()) {
+                    for (int i = 0; i < size(questionType); i++) {
+                        current.set(bank.questionId(questionType, i));
+                    }
+                }
+                ids = current;
+            }
+            return current;
+        }
+    }
+}
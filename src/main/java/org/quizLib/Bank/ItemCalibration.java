@@ -0,0 +1,181 @@
+package org.quizLib.Bank;
+
+import org.enums.QuestionType;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+import java.util.random.RandomGenerator;
+
+/**
+ * The {@code ItemCalibration} class holds the calibrated difficulty of every question of a bank on the logit scale of
+ * the Rasch model, in which a student of ability {@code θ} answers a question of difficulty {@code b} correctly with
+ * probability {@code 1 / (1 + e^(b - θ))}. Questions are kept sorted by difficulty, so the questions closest to an
+ * ability are found with a binary search.
+ * <p>
+ * Calibrations are immutable and built offline by {@link #calibrate(QuestionBank, QuestionDifficulty)}, typically from
+ * a scheduled batch job, and swapped into an {@code AdaptiveQuiz} in one step.
+ */
+public final class ItemCalibration {
+    private final double[] difficulties;
+    private final int[] questionIds;
+
+    private ItemCalibration(double[] difficulties, int[] questionIds) {
+        this.difficulties = difficulties;
+        this.questionIds = questionIds;
+    }
+
+    /**
+     * Calibrates every question of the bank from the recorded attempts.
+     * <p>
+     * Only per-question totals are recorded, not who gave each answer, so the difficulty is estimated as the smoothed
+     * log-odds of an incorrect answer, {@code ln((attempts - correct + 0.5) / (correct + 0.5))}, centred so that the
+     * mean difficulty of the attempted questions is 0. This is the first step of the usual joint estimation and assumes
+     * the students who attempted each question are of similar ability on average. Questions never attempted get
+     * difficulty 0. The cost is O(bank log bank).
+     *
+     * @param bank the questions to calibrate
+     * @param counts the recorded attempts, usually {@link QuestionDifficulty#shared()}
+     * @return the calibration
+     */
+    public static ItemCalibration calibrate(QuestionBank bank, QuestionDifficulty counts) {
+        int size = bank.size();
+        int[] ids = new int[size];
+        double[] raw = new double[size];
+        boolean[] attempted = new boolean[size];
+        double sum = 0;
+        int attemptedCount = 0;
+        int i = 0;
+        for (QuestionType questionType : QuestionType.values()) {
+            for (int index = 0; index < bank.size(questionType) && i < size; index++, i++) {
+                int questionId = bank.questionId(questionType, index);
+                long attempts = counts.getAttempts(questionId);
+                long correct = Math.min(counts.getCorrectAnswers(questionId), attempts);
+                ids[i] = questionId;
+                if (attempts > 0) {
+                    raw[i] = Math.log((attempts - correct + 0.5) / (correct + 0.5));
+                    attempted[i] = true;
+                    sum += raw[i];
+                    attemptedCount++;
+                }
+            }
+        }
+        double mean = attemptedCount == 0 ? 0 : sum / attemptedCount;
+        double[] difficulties = new double[i];
+        for (int j = 0; j < i; j++) {
+            difficulties[j] = attempted[j] ? raw[j] - mean : 0;
+        }
+        return of(Arrays.copyOf(ids, i), difficulties);
+    }
+
+    /**
+     * Builds a calibration from known difficulties, for example ones estimated by an external tool.
+     *
+     * @param questionIds the question ids
+     * @param difficulties the difficulty of each question, on the logit scale
+     * @return the calibration
+     * @throws IllegalArgumentException if the arrays differ in length or a difficulty is not finite
+     */
+    public static ItemCalibration of(int[] questionIds, double[] difficulties) {
+        if (questionIds.length != difficulties.length) {
+            throw new IllegalArgumentException("Expected one difficulty per question");
+        }
+        Integer[] order = new Integer[questionIds.length];
+        for (int i = 0; i < order.length; i++) {
+            if (!Double.isFinite(difficulties[i])) {
+                throw new IllegalArgumentException("Difficulty must be finite");
+            }
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(difficulties[a], difficulties[b]));
+        double[] sortedDifficulties = new double[order.length];
+        int[] sortedIds = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedDifficulties[i] = difficulties[order[i]];
+            sortedIds[i] = questionIds[order[i]];
+        }
+        return new ItemCalibration(sortedDifficulties, sortedIds);
+    }
+
+    /**
+     * Returns the number of calibrated questions.
+     * @return the number of questions
+     */
+    public int size() {
+        return questionIds.length;
+    }
+
+    /**
+     * Returns the position, in difficulty order, of the question to ask a student of the given ability: a random one
+     * among the {@code spread} questions whose difficulty is closest to the ability, skipping the excluded ones.
+     * Choosing among a few close questions instead of always the closest keeps a cohort of similar students from all
+     * seeing the same questions. The cost is O(log n + spread + excluded questions passed over).
+     *
+     * @param ability the student's ability on the logit scale
+     * @param spread the number of closest questions to choose from
+     * @param excluded the ids of questions that must not be chosen
+     * @param random the source of randomness
+     * @return the position of the question, or {@code -1} if every question is excluded
+     */
+    public int select(double ability, int spread, IntPredicate excluded, RandomGenerator random) {
+        int[] closest = nearest(ability, Math.max(1, spread), excluded);
+        return closest.length == 0 ? -1 : closest[random.nextInt(closest.length)];
+    }
+
+    /**
+     * Returns the positions, in difficulty order, of the {@code count} questions closest to the ability.
+     *
+     * @param ability the ability on the logit scale
+     * @param count the number of questions
+     * @param excluded the ids of questions that must not be returned
+     * @return the positions, closest first
+     */
+    public int[] nearest(double ability, int count, IntPredicate excluded) {
+        int[] found = new int[Math.min(count, questionIds.length)];
+        int size = 0;
+        int right = lowerBound(ability);
+        int left = right - 1;
+        while (size < found.length && (left >= 0 || right < questionIds.length)) {
+            boolean takeRight = left < 0
+                    || (right < questionIds.length && difficulties[right] - ability <= ability - difficulties[left]);
+            int position = takeRight ? right++ : left--;
+            if (!excluded.test(questionIds[position])) {
+                found[size++] = position;
+            }
+        }
+        return size == found.length ? found : Arrays.copyOf(found, size);
+    }
+
+    /**
+     * Returns the id of the question at a position in difficulty order.
+     *
+     * @param position the position
+     * @return the question id
+     */
+    public int questionId(int position) {
+        return questionIds[position];
+    }
+
+    /**
+     * Returns the difficulty of the question at a position in difficulty order.
+     *
+     * @param position the position
+     * @return the difficulty on the logit scale
+     */
+    public double difficulty(int position) {
+        return difficulties[position];
+    }
+
+    private int lowerBound(double ability) {
+        int low = 0;
+        int high = difficulties.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (difficulties[mid] < ability) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,268 @@
+package org.quizLib.Bank;
+
+import org.enums.QuestionType;
+import org.quizLib.Questions.AbstractQuestion;
+import org.quizLib.Questions.QuestionIds;
+import org.quizLib.Questions.QuestionInterface;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * The {@code MappedQuestionBank} class is a read-only {@link QuestionBank} backed by a memory-mapped binary bank file
+ * (see {@link QuestionBankWriter}). Opening the bank only reads the fixed-size header, so it costs the same for
+ * ten questions or ten million. Question text stays in the page cache, outside the heap; a {@link QuestionInterface}
+ * is only built the first time its index is requested and is then reused while it is in use, so repeated draws return
+ * the same instance. Built questions are held weakly, so drawing every question of a large bank once does not keep them
+ * all on the heap; a question nothing refers to any more is built again on its next draw.
+ * A block of question ids is reserved when the bank is opened, so every question's id is known before it is built.
+ */
+public class MappedQuestionBank implements QuestionBank, Closeable {
+    private final FileChannel channel;
+    private final int[] counts;
+    private final int[] firstRecord;
+    private final ByteBuffer offsets;
+    private final ByteBuffer text;
+    private final ByteBuffer answers;
+    private final Map<Integer, QuestionReference> materialized = new ConcurrentHashMap<>();
+    private final ReferenceQueue<QuestionInterface> collected = new ReferenceQueue<>();
+    /** Content hash of every question of each type, computed on first use since the file never changes. */
+    private final long[] fullHashes;
+    private final boolean[] fullHashKnown;
+    private final int firstQuestionId;
+    /** Held here because {@link QuestionIds} only keeps a weak reference to it. */
+    private final IntFunction<QuestionInterface> resolver = this::getRecord;
+
+    private MappedQuestionBank(FileChannel channel, int[] counts, ByteBuffer offsets, ByteBuffer text, ByteBuffer answers) {
+        this.channel = channel;
+        this.counts = counts;
+        this.firstRecord = new int[counts.length];
+        for (int i = 1; i < counts.length; i++) {
+            firstRecord[i] = firstRecord[i - 1] + counts[i - 1];
+        }
+        this.offsets = offsets;
+        this.text = text;
+        this.answers = answers;
+        this.fullHashes = new long[counts.length];
+        this.fullHashKnown = new boolean[counts.length];
+        int total = firstRecord[counts.length - 1] + counts[counts.length - 1];
+        this.firstQuestionId = QuestionIds.reserve(total, resolver);
+    }
+
+    /**
+     * Opens and maps a binary question bank file.
+     *
+     * @param path the bank file to open
+     * @return the mapped bank
+     * @throws IOException if the file can not be read or is not a valid question bank
+     */
+    public static MappedQuestionBank open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(QuestionBankFormat.HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header, header.position()) < 0) {
+                    throw new IOException("Truncated question bank header: " + path);
+                }
+            }
+            header.flip();
+            if (header.getInt() != QuestionBankFormat.MAGIC) {
+                throw new IOException("Not a question bank file: " + path);
+            }
+            int version = header.getInt();
+            if (version != QuestionBankFormat.VERSION) {
+                throw new IOException("Unsupported question bank version " + version + ": " + path);
+            }
+            int[] counts = new int[QuestionType.values().length];
+            long total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = header.getInt();
+                if (counts[i] < 0) {
+                    throw new IOException("Corrupt question bank counts: " + path);
+                }
+                total += counts[i];
+            }
+            long offsetTablePosition = header.getLong();
+            long textPosition = header.getLong();
+            long answerPosition = header.getLong();
+            long fileSize = channel.size();
+            // Each section is mapped as one buffer indexed by int, so it must stay below 2 GB
+            if (offsetTablePosition < QuestionBankFormat.HEADER_SIZE
+                    || (total + 1) * QuestionBankFormat.OFFSET_ENTRY_SIZE > Math.min(fileSize, Integer.MAX_VALUE)
+                    || offsetTablePosition + (total + 1) * QuestionBankFormat.OFFSET_ENTRY_SIZE != textPosition
+                    || textPosition > answerPosition || answerPosition > fileSize
+                    || answerPosition - textPosition > Integer.MAX_VALUE || fileSize - answerPosition > Integer.MAX_VALUE) {
+                throw new IOException("Corrupt question bank layout: " + path);
+            }
+            MappedByteBuffer offsets = channel.map(FileChannel.MapMode.READ_ONLY, offsetTablePosition, textPosition - offsetTablePosition);
+            MappedByteBuffer text = channel.map(FileChannel.MapMode.READ_ONLY, textPosition, answerPosition - textPosition);
+            MappedByteBuffer answers = channel.map(FileChannel.MapMode.READ_ONLY, answerPosition, fileSize - answerPosition);
+            return new MappedQuestionBank(channel, counts, offsets, text, answers);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int size(QuestionType questionType) {
+        return counts[questionType.ordinal()];
+    }
+
+    @Override
+    public QuestionInterface get(QuestionType questionType, int index) {
+        int type = questionType.ordinal();
+        if (index < 0 || index >= counts[type]) {
+            throw new IndexOutOfBoundsException("Question index " + index + " out of range for " + questionType);
+        }
+        return getRecord(firstRecord[type] + index);
+    }
+
+    @Override
+    public BitSet questionIds() {
+        BitSet ids = new BitSet(firstQuestionId + size());
+        ids.set(firstQuestionId, firstQuestionId + size());
+        return ids;
+    }
+
+    @Override
+    public boolean contains(int questionId) {
+        return questionId >= firstQuestionId && questionId - firstQuestionId < size();
+    }
+
+    @Override
+    public int questionId(QuestionType questionType, int index) {
+        int type = questionType.ordinal();
+        if (index < 0 || index >= counts[type]) {
+            throw new IndexOutOfBoundsException("Question index " + index + " out of range for " + questionType);
+        }
+        return firstQuestionId + firstRecord[type] + index;
+    }
+
+    /**
+     * Hashes the questions without keeping them: each is built from the file and dropped. The hash of a whole type,
+     * which is what {@link BankVersion#of} asks for, is computed once.
+     */
+    @Override
+    public long contentHash(QuestionType questionType, int count) {
+        int type = questionType.ordinal();
+        if (count < 0 || count > counts[type]) {
+            throw new IndexOutOfBoundsException("Question count " + count + " out of range for " + questionType);
+        }
+        boolean full = count == counts[type];
+        if (full) {
+            synchronized (fullHashes) {
+                if (fullHashKnown[type]) {
+                    return fullHashes[type];
+                }
+            }
+        }
+        long hash = BankVersion.EMPTY_HASH;
+        for (int i = 0; i < count; i++) {
+            int record = firstRecord[type] + i;
+            QuestionReference reference = materialized.get(record);
+            QuestionInterface question = reference == null ? null : reference.get();
+            hash = BankVersion.extendHash(hash, question != null ? question : materialize(record));
+        }
+        if (full) {
+            synchronized (fullHashes) {
+                fullHashes[type] = hash;
+                fullHashKnown[type] = true;
+            }
+        }
+        return hash;
+    }
+
+    private QuestionInterface getRecord(int record) {
+        QuestionReference reference = materialized.get(record);
+        QuestionInterface question = reference == null ? null : reference.get();
+        if (question != null) {
+            return question;
+        }
+        expungeCollected();
+        // The new question is kept strongly in the array until it is returned, so it can not be collected in between
+        QuestionInterface[] built = new QuestionInterface[1];
+        materialized.compute(record, (key, current) -> {
+            built[0] = current == null ? null : current.get();
+            if (built[0] != null) {
+                return current;
+            }
+            built[0] = materialize(key);
+            return new QuestionReference(key, built[0], collected);
+        });
+        return built[0];
+    }
+
+    private void expungeCollected() {
+        QuestionReference reference;
+        while ((reference = (QuestionReference) collected.poll()) != null) {
+            materialized.remove(reference.record, reference);
+        }
+    }
+
+    /**
+     * Returns the number of questions built from the file that are still held in memory.
+     *
+     * @return the number of materialized questions
+     */
+    public int materializedCount() {
+        expungeCollected();
+        return materialized.size();
+    }
+
+    private QuestionInterface materialize(int record) {
+        QuestionType questionType = QuestionType.values()[0];
+        for (QuestionType candidate : QuestionType.values()) {
+            if (record >= firstRecord[candidate.ordinal()]) {
+                questionType = candidate;
+            }
+        }
+        int entry = record * QuestionBankFormat.OFFSET_ENTRY_SIZE;
+        int next = entry + QuestionBankFormat.OFFSET_ENTRY_SIZE;
+        String formula = decode(text, offsets.getInt(entry), offsets.getInt(next));
+        String answer = decode(answers, offsets.getInt(entry + 4), offsets.getInt(next + 4));
+        return AbstractQuestion.getQuestionInstance(questionType, formula, answer, firstQuestionId + record);
+    }
+
+    private static String decode(ByteBuffer section, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        section.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A weak reference to a built question that remembers its record, so it can be removed once collected.
+     */
+    private static final class QuestionReference extends WeakReference<QuestionInterface> {
+        private final int record;
+
+        private QuestionReference(int record, QuestionInterface question, ReferenceQueue<QuestionInterface> queue) {
+            super(question, queue);
+            this.record = record;
+        }
+    }
+
+    /**
+     * Closes the underlying file channel and releases the bank's question ids, which no longer resolve afterwards.
+     * The mapping itself is released when the bank is garbage collected.
+     *
+     * @throws IOException if the channel can not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        QuestionIds.release(firstQuestionId);
+        channel.close();
+    }
+}
@@ -0,0 +1,91 @@
+package org.quizLib.Bank;
+
+import org.enums.QuestionType;
+import org.quizLib.Questions.QuestionInterface;
+
+import java.util.BitSet;
+
+/**
+ * The {@code QuestionBank} interface describes an indexed pool of questions that quizzes draw from.
+ * Questions of each {@link QuestionType} are addressed by a dense index in the range {@code [0, size(type))},
+ * which lets samplers pick questions by position instead of copying the whole pool.
+ */
+public interface QuestionBank {
+    /**
+     * Returns the number of questions of the given type held by this bank.
+     *
+     * @param questionType the type of question to count
+     * @return the number of questions of that type
+     */
+    int size(QuestionType questionType);
+    /**
+     * Returns the question of the given type stored at the given index.
+     *
+     * @param questionType the type of question to look up
+     * @param index the position of the question, between 0 (inclusive) and {@code size(questionType)} (exclusive)
+     * @return the question stored at that position
+     * @throws IndexOutOfBoundsException if the index is outside the range of the bank
+     */
+    QuestionInterface get(QuestionType questionType, int index);
+    /**
+     * Returns the id of the question of the given type stored at the given index.
+     * Banks that create questions lazily override this so the id is known without building the question.
+     *
+     * @param questionType the type of question to look up
+     * @param index the position of the question
+     * @return the id of the question, see {@code QuestionIds}
+     */
+    default int questionId(QuestionType questionType, int index) {
+        return get(questionType, index).getQuestionId();
+    }
+    /**
+     * Returns the ids of every question in this bank as a new bitset, which the caller may modify.
+     * The cost is proportional to the number of 64-bit words needed to cover the largest id.
+     *
+     * @return a new bitset with one bit set per question id in the bank
+     */
+    BitSet questionIds();
+    /**
+     * Returns whether this bank holds the question with the given id. The default implementation copies
+     * {@link #questionIds()}; banks override it with an O(1) check.
+     *
+     * @param questionId the id of the question, see {@code QuestionIds}
+     * @return {@code true} if one of the bank's questions has that id
+     */
+    default boolean contains(int questionId) {
+        return questionId >= 0 && questionIds().get(questionId);
+    }
+    /**
+     * Returns a hash of the content of the first {@code count} questions of the given type, in index order, built from
+     * {@link org.quizLib.Questions.QuestionIds#contentHash}. It depends only on the questions, not on their ids, so it
+     * is the same on every run. The default implementation builds every question it hashes; banks that can answer
+     * faster override it.
+     *
+     * @param questionType the type of question to hash
+     * @param count the number of questions to hash, at most {@code size(questionType)}
+     * @return the content hash of those questions
+     * @throws IndexOutOfBoundsException if {@code count} is negative or larger than the bank
+     */
+    default long contentHash(QuestionType questionType, int count) {
+        if (count < 0 || count > size(questionType)) {
+            throw new IndexOutOfBoundsException("Question count " + count + " out of range for " + questionType);
+        }
+        long hash = BankVersion.EMPTY_HASH;
+        for (int i = 0; i < count; i++) {
+            hash = BankVersion.extendHash(hash, get(questionType, i));
+        }
+        return hash;
+    }
+    /**
+     * Returns the total number of questions held by this bank across all question types.
+     *
+     * @return the total number of questions
+     */
+    default int size() {
+        int total = 0;
+        for (QuestionType questionType : QuestionType.values()) {
+            total += size(questionType);
+        }
+        return total;
+    }
+}
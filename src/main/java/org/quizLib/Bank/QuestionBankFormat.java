@@ -0,0 +1,32 @@
+package org.quizLib.Bank;
+
+import org.enums.QuestionType;
+
+/**
+ * Constants describing the binary question bank file read by {@link MappedQuestionBank}
+ * and written by {@link QuestionBankWriter}.
+ * <p>
+ * Layout (all numbers big-endian):
+ * <ul>
+ *   <li><strong>Header</strong> - magic {@code "QBNK"}, format version, one question count per {@link QuestionType}
+ *   (in ordinal order), then the positions of the offset table, text section and answer section.</li>
+ *   <li><strong>Offset table</strong> - {@code count + 1} pairs of ints giving the start of each question's text and
+ *   answer inside their sections; the end of entry {@code i} is the start of entry {@code i + 1}.
+ *   Questions are stored grouped by type, in ordinal order.</li>
+ *   <li><strong>Text section</strong> - UTF-8 question formulas, back to back.</li>
+ *   <li><strong>Answer section</strong> - UTF-8 answers, back to back.</li>
+ * </ul>
+ */
+final class QuestionBankFormat {
+    /** Magic number identifying a question bank file ("QBNK"). */
+    static final int MAGIC = 0x51424E4B;
+    /** Current version of the file layout. */
+    static final int VERSION = 1;
+    /** Size in bytes of the header. */
+    static final int HEADER_SIZE = 4 + 4 + 4 * QuestionType.values().length + 8 * 3;
+    /** Size in bytes of one offset table entry (text offset and answer offset). */
+    static final int OFFSET_ENTRY_SIZE = 8;
+
+    private QuestionBankFormat() {
+    }
+}
@@ -0,0 +1,110 @@
+package org.quizLib.Bank;
+
+import org.enums.QuestionType;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code QuestionBankWriter} class builds a binary question bank file that can be opened with {@link MappedQuestionBank}.
+ * Questions are collected with {@link #add(QuestionType, String, String)} and written in one go with {@link #write(Path)}.
+ */
+public class QuestionBankWriter {
+    private final List<List<byte[][]>> entries = new ArrayList<>();
+
+    /**
+     * Constructs an empty {@code QuestionBankWriter}.
+     */
+    public QuestionBankWriter() {
+        for (int i = 0; i < QuestionType.values().length; i++) {
+            entries.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Adds a question to the bank being built.
+     *
+     * @param questionType the type of the question
+     * @param questionFormula the text of the question
+     * @param answer the correct answer, in the same form accepted by {@code AbstractQuestion.getQuestionInstance}
+     * @return this writer
+     */
+    public QuestionBankWriter add(QuestionType questionType, String questionFormula, String answer) {
+        if (questionFormula == null || answer == null) {
+            throw new IllegalArgumentException("Question formula and answer can not be null");
+        }
+        entries.get(questionType.ordinal()).add(new byte[][]{
+                questionFormula.getBytes(StandardCharsets.UTF_8),
+                answer.getBytes(StandardCharsets.UTF_8)});
+        return this;
+    }
+
+    /**
+     * Writes the collected questions to the given file, replacing it if it exists.
+     *
+     * @param target the file to write
+     * @throws IOException if the file can not be written
+     * @throws IllegalStateException if a section would exceed 2 GB
+     */
+    public void write(Path target) throws IOException {
+        int count = 0;
+        long textSize = 0;
+        long answerSize = 0;
+        for (List<byte[][]> typed : entries) {
+            for (byte[][] entry : typed) {
+                textSize += entry[0].length;
+                answerSize += entry[1].length;
+                count++;
+            }
+        }
+        if (textSize > Integer.MAX_VALUE || answerSize > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Question bank sections are limited to 2 GB each");
+        }
+        long offsetTablePosition = QuestionBankFormat.HEADER_SIZE;
+        long textPosition = offsetTablePosition + (long) (count + 1) * QuestionBankFormat.OFFSET_ENTRY_SIZE;
+        long answerPosition = textPosition + textSize;
+
+        try (OutputStream file = Files.newOutputStream(target);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16))) {
+            out.writeInt(QuestionBankFormat.MAGIC);
+            out.writeInt(QuestionBankFormat.VERSION);
+            for (List<byte[][]> typed : entries) {
+                out.writeInt(typed.size());
+            }
+            out.writeLong(offsetTablePosition);
+            out.writeLong(textPosition);
+            out.writeLong(answerPosition);
+
+            int textOffset = 0;
+            int answerOffset = 0;
+            for (List<byte[][]> typed : entries) {
+                for (byte[][] entry : typed) {
+                    out.writeInt(textOffset);
+                    out.writeInt(answerOffset);
+                    textOffset += entry[0].length;
+                    answerOffset += entry[1].length;
+                }
+            }
+            out.writeInt(textOffset);
+            out.writeInt(answerOffset);
+
+            for (List<byte[][]> typed : entries) {
+                for (byte[][] entry : typed) {
+                    out.write(entry[0]);
+                }
+            }
+            for (List<byte[][]> typed : entries) {
+                for (byte[][] entry : typed) {
+                    out.write(entry[1]);
+                }
+            }
+        }
+    }
+}
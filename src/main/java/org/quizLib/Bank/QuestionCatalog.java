@@ -0,0 +1,187 @@
+package org.quizLib.Bank;
+
+import org.enums.QuestionType;
+import org.quizLib.Questions.QuestionIds;
+import org.quizLib.Questions.QuestionInterface;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code QuestionCatalog} class is the in-memory {@link QuestionBank} used by the quiz library.
+ * Questions are appended into one growable array per {@link QuestionType}, so every question keeps a stable index.
+ * Readers never lock: they work on an immutable snapshot of the array references and sizes, and writers publish
+ * a new snapshot once the new questions are in place. The content hash of every prefix of each type is kept next to
+ * the questions, so {@link #contentHash(QuestionType, int)} is O(1), and so is a bitset of the question ids, so
+ * {@link #contains(int)} is a single bit test.
+ */
+public class QuestionCatalog implements QuestionBank {
+    private static final int INITIAL_CAPACITY = 16;
+    private final Object writeLock = new Object();
+    private volatile Snapshot snapshot;
+
+    /**
+     * Constructs an empty {@code QuestionCatalog}.
+     */
+    public QuestionCatalog() {
+        int types = QuestionType.values().length;
+        QuestionInterface[][] questions = new QuestionInterface[types][];
+        long[][] hashes = new long[types][];
+        for (int i = 0; i < types; i++) {
+            questions[i] = new QuestionInterface[INITIAL_CAPACITY];
+            hashes[i] = new long[INITIAL_CAPACITY + 1];
+            hashes[i][0] = BankVersion.EMPTY_HASH;
+        }
+        this.snapshot = new Snapshot(questions, hashes, new int[types], new long[0]);
+    }
+
+    /**
+     * Appends a question to the catalog.
+     *
+     * @param questionType the type of the question
+     * @param question the question to append
+     * @return the index the question was stored at
+     */
+    public int add(QuestionType questionType, QuestionInterface question) {
+        synchronized (writeLock) {
+            int index = snapshot.sizes[questionType.ordinal()];
+            snapshot = append(snapshot, questionType, List.of(question));
+            return index;
+        }
+    }
+
+    /**
+     * Appends all given questions to the catalog. The questions become visible to readers together.
+     *
+     * @param questionType the type of the questions
+     * @param questions the questions to append
+     */
+    public void addAll(QuestionType questionType, Collection<? extends QuestionInterface> questions) {
+        synchronized (writeLock) {
+            snapshot = append(snapshot, questionType, questions);
+        }
+    }
+
+    /**
+     * Appends questions of several types to the catalog. Readers see either none or all of them.
+     *
+     * @param questions the questions to append, by type
+     */
+    public void addAll(Map<QuestionType, ? extends Collection<? extends QuestionInterface>> questions) {
+        for (Collection<? extends QuestionInterface> typed : questions.values()) {
+            if (typed.contains(null)) {
+                throw new IllegalArgumentException("Question can not be null");
+            }
+        }
+        synchronized (writeLock) {
+            Snapshot next = snapshot;
+            for (Map.Entry<QuestionType, ? extends Collection<? extends QuestionInterface>> entry : questions.entrySet()) {
+                next = append(next, entry.getKey(), entry.getValue());
+            }
+            snapshot = next;
+        }
+    }
+
+    @Override
+    public BitSet questionIds() {
+        synchronized (writeLock) {
+            return BitSet.valueOf(snapshot.ids);
+        }
+    }
+
+    @Override
+    public boolean contains(int questionId) {
+        long[] ids = snapshot.ids;
+        int word = questionId >>> 6;
+        return questionId >= 0 && word < ids.length && (ids[word] & (1L << questionId)) != 0;
+    }
+
+    @Override
+    public int size(QuestionType questionType) {
+        return snapshot.sizes[questionType.ordinal()];
+    }
+
+    @Override
+    public QuestionInterface get(QuestionType questionType, int index) {
+        Snapshot current = snapshot;
+        int type = questionType.ordinal();
+        if (index < 0 || index >= current.sizes[type]) {
+            throw new IndexOutOfBoundsException("Question index " + index + " out of range for " + questionType);
+        }
+        return current.questions[type][index];
+    }
+
+    @Override
+    public long contentHash(QuestionType questionType, int count) {
+        Snapshot current = snapshot;
+        int type = questionType.ordinal();
+        if (count < 0 || count > current.sizes[type]) {
+            throw new IndexOutOfBoundsException("Question count " + count + " out of range for " + questionType);
+        }
+        return current.hashes[type][count];
+    }
+
+    /**
+     * Writes the questions into slots beyond the size of the given snapshot, growing the array when needed,
+     * and returns a snapshot with the new sizes for the caller to publish. Slots below the published size are never
+     * written again.
+     */
+    private Snapshot append(Snapshot current, QuestionType questionType, Collection<? extends QuestionInterface> added) {
+        int maxId = -1;
+        for (QuestionInterface question : added) {
+            if (question == null) {
+                throw new IllegalArgumentException("Question can not be null");
+            }
+            maxId = Math.max(maxId, question.getQuestionId());
+        }
+        int type = questionType.ordinal();
+        int size = current.sizes[type];
+        QuestionInterface[][] questions = current.questions.clone();
+        long[][] hashes = current.hashes.clone();
+        QuestionInterface[] typed = questions[type];
+        long[] typedHashes = hashes[type];
+        if (size + added.size() > typed.length) {
+            typed = Arrays.copyOf(typed, Math.max(typed.length * 2, size + added.size()));
+            questions[type] = typed;
+            typedHashes = Arrays.copyOf(typedHashes, typed.length + 1);
+            hashes[type] = typedHashes;
+        }
+        long[] ids = current.ids;
+        if (maxId >= 0 && maxId >>> 6 >= ids.length) {
+            ids = Arrays.copyOf(ids, Math.max(ids.length * 2, (maxId >>> 6) + 1));
+        }
+        for (QuestionInterface question : added) {
+            typedHashes[size + 1] = BankVersion.extendHash(typedHashes[size], question);
+            typed[size++] = question;
+            int questionId = question.getQuestionId();
+            ids[questionId >>> 6] |= 1L << questionId;
+            QuestionIds.register(question);
+        }
+        int[] sizes = current.sizes.clone();
+        sizes[type] = size;
+        return new Snapshot(questions, hashes, sizes, ids);
+    }
+
+    /**
+     * Immutable view of the catalog arrays and their published sizes. {@code hashes[type][n]} is the content hash of
+     * the first {@code n} questions of that type. {@code ids} is a bitset of the question ids; like the question arrays,
+     * it is shared with the snapshots before it while it does not need to grow, so a reader may see the bit of a
+     * question whose append is still in progress.
+     */
+    private static final class Snapshot {
+        private final QuestionInterface[][] questions;
+        private final long[][] hashes;
+        private final int[] sizes;
+        private final long[] ids;
+
+        private Snapshot(QuestionInterface[][] questions, long[][] hashes, int[] sizes, long[] ids) {
+            this.questions = questions;
+            this.hashes = hashes;
+            this.sizes = sizes;
+            this.ids = ids;
+        }
+    }
+}
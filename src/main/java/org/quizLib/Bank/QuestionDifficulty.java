@@ -0,0 +1,143 @@
+package org.quizLib.Bank;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code QuestionDifficulty} class counts, for every question id, how many times the question was attempted and
+ * how many of those attempts were correct. Counters are {@link LongAdder}s, created the first time a question is
+ * attempted, so grading threads never serialise on a shared counter and untouched questions cost nothing.
+ * <p>
+ * Quizzes record into the {@link #shared() shared} instance; separate instances are useful for tests and tools.
+ */
+public class QuestionDifficulty {
+    private static final QuestionDifficulty SHARED = new QuestionDifficulty();
+    private static final int CHUNK_BITS = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private final Object growLock = new Object();
+    private volatile AtomicReferenceArray<AtomicReferenceArray<Counter>> chunks = new AtomicReferenceArray<>(64);
+
+    /**
+     * Returns the instance that quizzes record their graded answers into.
+     *
+     * @return the shared difficulty counters
+     */
+    public static QuestionDifficulty shared() {
+        return SHARED;
+    }
+
+    /**
+     * Records one attempt at a question.
+     *
+     * @param questionId the id of the question attempted
+     * @param correct whether the answer was correct
+     */
+    public void record(int questionId, boolean correct) {
+        Counter counter = counter(questionId, true);
+        counter.attempts.increment();
+        if (correct) {
+            counter.correct.increment();
+        }
+    }
+
+    /**
+     * Returns the number of recorded attempts at a question.
+     *
+     * @param questionId the id of the question
+     * @return the number of attempts
+     */
+    public long getAttempts(int questionId) {
+        Counter counter = counter(questionId, false);
+        return counter == null ? 0 : counter.attempts.sum();
+    }
+
+    /**
+     * Returns the number of recorded correct answers to a question.
+     *
+     * @param questionId the id of the question
+     * @return the number of correct answers
+     */
+    public long getCorrectAnswers(int questionId) {
+        Counter counter = counter(questionId, false);
+        return counter == null ? 0 : counter.correct.sum();
+    }
+
+    /**
+     * Returns the measured difficulty of a question: the smoothed share of incorrect answers,
+     * {@code 1 - (correct + 1) / (attempts + 2)}. It is strictly between 0 and 1, and 0.5 for a question never attempted.
+     *
+     * @param questionId the id of the question
+     * @return the difficulty of the question
+     */
+    public double getDifficulty(int questionId) {
+        Counter counter = counter(questionId, false);
+        if (counter == null) {
+            return 0.5;
+        }
+        long correct = counter.correct.sum();
+        long attempts = Math.max(counter.attempts.sum(), correct);
+        return 1.0 - (correct + 1.0) / (attempts + 2.0);
+    }
+
+    private Counter counter(int questionId, boolean create) {
+        if (questionId < 0) {
+            throw new IllegalArgumentException("Question id can not be negative");
+        }
+        int chunkIndex = questionId >>> CHUNK_BITS;
+        AtomicReferenceArray<AtomicReferenceArray<Counter>> directory = chunks;
+        if (chunkIndex >= directory.length()) {
+            if (!create) {
+                return null;
+            }
+            directory = grow(chunkIndex);
+        }
+        AtomicReferenceArray<Counter> chunk = directory.get(chunkIndex);
+        if (chunk == null) {
+            if (!create) {
+                return null;
+            }
+            chunk = createChunk(chunkIndex);
+        }
+        int slot = questionId & (CHUNK_SIZE - 1);
+        Counter counter = chunk.get(slot);
+        if (counter == null && create) {
+            chunk.compareAndSet(slot, null, new Counter());
+            counter = chunk.get(slot);
+        }
+        return counter;
+    }
+
+    private AtomicReferenceArray<Counter> createChunk(int chunkIndex) {
+        // Chunks are created under the same lock as growth so a chunk is never added to a directory being copied
+        synchronized (growLock) {
+            AtomicReferenceArray<AtomicReferenceArray<Counter>> directory = chunks;
+            AtomicReferenceArray<Counter> chunk = directory.get(chunkIndex);
+            if (chunk == null) {
+                chunk = new AtomicReferenceArray<>(CHUNK_SIZE);
+                directory.set(chunkIndex, chunk);
+            }
+            return chunk;
+        }
+    }
+
+    private AtomicReferenceArray<AtomicReferenceArray<Counter>> grow(int chunkIndex) {
+        synchronized (growLock) {
+            AtomicReferenceArray<AtomicReferenceArray<Counter>> directory = chunks;
+            if (chunkIndex < directory.length()) {
+                return directory;
+            }
+            AtomicReferenceArray<AtomicReferenceArray<Counter>> grown =
+                    new AtomicReferenceArray<>(Math.max(directory.length() * 2, chunkIndex + 1));
+            for (int i = 0; i < directory.length(); i++) {
+                grown.set(i, directory.get(i));
+            }
+            chunks = grown;
+            return grown;
+        }
+    }
+
+    private static final class Counter {
+        private final LongAdder attempts = new LongAdder();
+        private final LongAdder correct = new LongAdder();
+    }
+}
@@ -0,0 +1,89 @@
+package org.quizLib.Bank;
+
+import java.util.List;
+
+/**
+ * The {@code QuestionImportReport} class summarises one run of the {@link QuestionImporter}: how many rows were read,
+ * imported, skipped as duplicates or rejected, and the first rejected rows with the reason they were rejected.
+ */
+public final class QuestionImportReport {
+    private final long rowsRead;
+    private final long imported;
+    private final long duplicates;
+    private final long rejected;
+    private final List<String> errors;
+    private final long elapsedNanos;
+
+    QuestionImportReport(long rowsRead, long imported, long duplicates, long rejected, List<String> errors, long elapsedNanos) {
+        this.rowsRead = rowsRead;
+        this.imported = imported;
+        this.duplicates = duplicates;
+        this.rejected = rejected;
+        this.errors = List.copyOf(errors);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of rows read from the input, not counting a header row.
+     * @return the number of rows read
+     */
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    /**
+     * Returns the number of questions added to the catalog.
+     * @return the number of imported questions
+     */
+    public long getImported() {
+        return imported;
+    }
+
+    /**
+     * Returns the number of valid rows skipped because the same question is already in the catalog or earlier in the input.
+     * @return the number of duplicate rows
+     */
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Returns the number of rows that could not be turned into a question.
+     * @return the number of rejected rows
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Returns a description of the first rejected rows, in input order, as {@code "line N: reason"}.
+     * At most {@link QuestionImporter#MAX_REPORTED_ERRORS} rows are described; {@link #getRejected()} counts all of them.
+     * @return an unmodifiable list of error descriptions
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Returns the wall-clock duration of the run in nanoseconds.
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns a string representation of the report.
+     * @return a string containing the counters and elapsed time
+     */
+    @Override
+    public String toString() {
+        return "QuestionImportReport{" +
+                "rowsRead=" + rowsRead +
+                ", imported=" + imported +
+                ", duplicates=" + duplicates +
+                ", rejected=" + rejected +
+                ", elapsedMillis=" + elapsedNanos / 1_000_000 +
+                '}';
+    }
+}
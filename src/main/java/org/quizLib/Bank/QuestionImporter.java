@@ -0,0 +1,329 @@
+package org.quizLib.Bank;
+
+import org.enums.QuestionType;
+import org.quizLib.Io.CsvReader;
+import org.quizLib.Questions.AbstractQuestion;
+import org.quizLib.Questions.QuestionInterface;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code QuestionImporter} class adds the questions of a CSV file to a {@link QuestionCatalog}.
+ * <p>
+ * Each record has the form {@code type,formula,answer}, where {@code type} is {@code F} or {@code FREE_RESPONSE_QUESTION}
+ * for free response and {@code M} or {@code MULTIPLE_CHOICE_QUESTION} for multiple choice questions. Formulas and
+ * answers containing commas or line breaks must be quoted. An optional fourth field lists the question's tags separated
+ * by semicolons, which are added to the importer's {@link TagIndex} if it has one. A first record starting with
+ * {@code type} is a header and is skipped.
+ * <p>
+ * The file is streamed by the calling thread and handed in batches, through a bounded queue, to worker threads that
+ * validate the rows and build the questions with {@link AbstractQuestion#getQuestionInstance}. Only the built
+ * questions are kept, never the file. Rows that are not valid questions are counted and reported with their line
+ * number without stopping the import, and questions already in the catalog or earlier in the file are skipped.
+ * When the whole file has been read, the questions are published with {@link QuestionCatalog#addAll(Map)}, so readers
+ * see either none or all of them, in file order.
+ */
+public class QuestionImporter {
+    /** The largest number of rejected rows described in a {@link QuestionImportReport}. */
+    public static final int MAX_REPORTED_ERRORS = 100;
+    private static final int BATCH_SIZE = 1024;
+    private static final Batch END_OF_INPUT = new Batch(-1);
+    private final QuestionCatalog catalog;
+    private final int workers;
+    private final TagIndex tagIndex;
+
+    /**
+     * Constructs a {@code QuestionImporter} using one worker per available processor.
+     *
+     * @param catalog the catalog the questions are added to
+     */
+    public QuestionImporter(QuestionCatalog catalog) {
+        this(catalog, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a {@code QuestionImporter}.
+     *
+     * @param catalog the catalog the questions are added to
+     * @param workers the number of threads building questions
+     */
+    public QuestionImporter(QuestionCatalog catalog, int workers) {
+        this(catalog, workers, null);
+    }
+
+    /**
+     * Constructs a {@code QuestionImporter} that also records the tags of the imported questions.
+     *
+     * @param catalog the catalog the questions are added to
+     * @param workers the number of threads building questions
+     * @param tagIndex the index the tags of imported questions are added to, or {@code null} to ignore tags
+     */
+    public QuestionImporter(QuestionCatalog catalog, int workers, TagIndex tagIndex) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Workers must be positive");
+        }
+        this.catalog = catalog;
+        this.workers = workers;
+        this.tagIndex = tagIndex;
+    }
+
+    /**
+     * Imports every question in the given CSV file.
+     *
+     * @param questions the CSV file of questions
+     * @return a report of the run
+     * @throws IOException if the file can not be read; nothing is added to the catalog in that case
+     */
+    public QuestionImportReport importFile(Path questions) throws IOException {
+        try (Reader reader = Files.newBufferedReader(questions, StandardCharsets.UTF_8)) {
+            return importFrom(reader);
+        }
+    }
+
+    /**
+     * Imports every question read from the given CSV stream.
+     *
+     * @param reader the CSV stream of questions
+     * @return a report of the run
+     * @throws IOException if the stream can not be read; nothing is added to the catalog in that case
+     */
+    public QuestionImportReport importFrom(Reader reader) throws IOException {
+        long start = System.nanoTime();
+        BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(workers * 2);
+        Map<Integer, Batch> built = new ConcurrentHashMap<>();
+        List<Thread> threads = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            Thread thread = new Thread(() -> build(queue, built), "question-importer-" + i);
+            threads.add(thread);
+            thread.start();
+        }
+        long read = 0;
+        int batches = 0;
+        try {
+            CsvReader csv = new CsvReader(reader);
+            Batch batch = new Batch(batches++);
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                if (read == 0 && batch.records.isEmpty() && isHeader(record)) {
+                    continue;
+                }
+                read++;
+                batch.add(record, csv.getRecordLine());
+                if (batch.records.size() == BATCH_SIZE) {
+                    queue.put(batch);
+                    batch = new Batch(batches++);
+                }
+            }
+            queue.put(batch);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while importing questions", e);
+        } finally {
+            for (int i = 0; i < workers; i++) {
+                putUninterruptibly(queue, END_OF_INPUT);
+            }
+            for (Thread thread : threads) {
+                joinUninterruptibly(thread);
+            }
+        }
+        return publish(read, batches, built, start);
+    }
+
+    /**
+     * Collects the built questions in file order, drops duplicates and adds the rest to the catalog in one step.
+     */
+    private QuestionImportReport publish(long read, int batches, Map<Integer, Batch> built, long start) {
+        Map<QuestionType, List<QuestionInterface>> questions = new EnumMap<>(QuestionType.class);
+        for (QuestionType questionType : QuestionType.values()) {
+            questions.put(questionType, new ArrayList<>());
+        }
+        BitSet known = catalog.questionIds();
+        List<String> errors = new ArrayList<>();
+        long imported = 0;
+        long duplicates = 0;
+        long rejected = 0;
+        List<Batch> tagged = new ArrayList<>();
+        for (int i = 0; i < batches; i++) {
+            Batch batch = built.remove(i);
+            rejected += batch.rejected;
+            for (String error : batch.errors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(error);
+                }
+            }
+            for (int row = 0; row < batch.questions.length; row++) {
+                QuestionInterface question = batch.questions[row];
+                if (question == null) {
+                    continue;
+                }
+                if (known.get(question.getQuestionId())) {
+                    duplicates++;
+                } else {
+                    known.set(question.getQuestionId());
+                    questions.get(batch.types[row]).add(question);
+                    imported++;
+                }
+            }
+            if (tagIndex != null) {
+                tagged.add(batch);
+            }
+        }
+        catalog.addAll(questions);
+        // Tags are added once the questions are in the catalog, so tag queries never return questions it does not hold
+        for (Batch batch : tagged) {
+            for (int row = 0; row < batch.questions.length; row++) {
+                if (batch.questions[row] != null && batch.tags[row] != null) {
+                    tagIndex.tag(batch.questions[row].getQuestionId(), Arrays.asList(batch.tags[row]));
+                }
+            }
+        }
+        return new QuestionImportReport(read, imported, duplicates, rejected, errors, System.nanoTime() - start);
+    }
+
+    private void build(BlockingQueue<Batch> queue, Map<Integer, Batch> built) {
+        while (true) {
+            Batch batch;
+            try {
+                batch = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (batch == END_OF_INPUT) {
+                return;
+            }
+            int size = batch.records.size();
+            batch.questions = new QuestionInterface[size];
+            batch.types = new QuestionType[size];
+            batch.tags = new String[size][];
+            for (int row = 0; row < size; row++) {
+                List<String> record = batch.records.get(row);
+                try {
+                    batch.types[row] = typeOf(record.get(0));
+                    batch.questions[row] = toQuestion(batch.types[row], record);
+                    if (record.size() == 4) {
+                        batch.tags[row] = tagsOf(record.get(3));
+                    }
+                } catch (RuntimeException e) {
+                    batch.rejected++;
+                    if (batch.errors.size() < MAX_REPORTED_ERRORS) {
+                        batch.errors.add("line " + batch.lines[row] + ": " + e.getMessage());
+                    }
+                }
+            }
+            // Only the questions are kept until the import is published, not the text they were read from
+            batch.records = null;
+            batch.lines = null;
+            built.put(batch.index, batch);
+        }
+    }
+
+    private static QuestionInterface toQuestion(QuestionType questionType, List<String> record) {
+        if (record.size() != 3 && record.size() != 4) {
+            throw new IllegalArgumentException("Expected 3 or 4 fields but found " + record.size());
+        }
+        String formula = record.get(1).trim();
+        String answer = record.get(2).trim();
+        if (formula.isEmpty() || answer.isEmpty()) {
+            throw new IllegalArgumentException("Question formula and answer can not be empty");
+        }
+        return AbstractQuestion.getQuestionInstance(questionType, formula, answer);
+    }
+
+    private static QuestionType typeOf(String field) {
+        String type = field.trim().toUpperCase(Locale.ROOT);
+        switch (type) {
+            case "F":
+                return QuestionType.FREE_RESPONSE_QUESTION;
+            case "M":
+                return QuestionType.MULTIPLE_CHOICE_QUESTION;
+            default:
+                try {
+                    return QuestionType.valueOf(type);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown question type " + field.trim());
+                }
+        }
+    }
+
+    private static String[] tagsOf(String field) {
+        List<String> tags = new ArrayList<>();
+        for (String tag : field.split(";")) {
+            if (!tag.isBlank()) {
+                tags.add(TagIndex.normalize(tag));
+            }
+        }
+        return tags.isEmpty() ? null : tags.toArray(new String[0]);
+    }
+
+    private static boolean isHeader(List<String> record) {
+        return record.get(0).trim().equalsIgnoreCase("type");
+    }
+
+    private static void putUninterruptibly(BlockingQueue<Batch> queue, Batch batch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(batch);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void joinUninterruptibly(Thread thread) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                thread.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A run of consecutive rows, and once built, the question or the error of each row.
+     */
+    private static final class Batch {
+        private final int index;
+        private List<List<String>> records = new ArrayList<>(BATCH_SIZE);
+        private long[] lines = new long[BATCH_SIZE];
+        private QuestionInterface[] questions;
+        private QuestionType[] types;
+        private String[][] tags;
+        private int rejected;
+        private final List<String> errors = new ArrayList<>();
+
+        private Batch(int index) {
+            this.index = index;
+        }
+
+        private void add(List<String> record, long line) {
+            lines[records.size()] = line;
+            records.add(record);
+        }
+    }
+}
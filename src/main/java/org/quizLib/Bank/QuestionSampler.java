@@ -0,0 +1,97 @@
+package org.quizLib.Bank;
+
+import org.enums.QuestionType;
+import org.quizLib.Questions.QuestionInterface;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * The {@code QuestionSampler} class picks distinct questions from a {@link QuestionBank} without copying it.
+ * It runs a partial Fisher-Yates shuffle over the virtual index range {@code [0, size)}, remembering only the
+ * positions that were swapped, so drawing {@code k} questions costs O(k) time and memory whatever the bank size.
+ */
+public final class QuestionSampler {
+
+    private QuestionSampler() {
+    }
+
+    /**
+     * Draws {@code count} distinct indexes uniformly at random from {@code [0, bound)}.
+     * If {@code count} is larger than {@code bound}, every index is returned in random order.
+     *
+     * @param bound the exclusive upper bound of the index range
+     * @param count the number of indexes to draw
+     * @param random the source of randomness
+     * @return an array of distinct indexes
+     */
+    public static int[] sampleIndexes(int bound, int count, RandomGenerator random) {
+        int k = Math.max(0, Math.min(count, bound));
+        int[] picked = new int[k];
+        // Positions displaced by earlier swaps; any position not in the map still holds its own index.
+        Map<Integer, Integer> swapped = new HashMap<>(k * 2);
+        for (int i = 0; i < k; i++) {
+            int j = i + random.nextInt(bound - i);
+            int atJ = swapped.getOrDefault(j, j);
+            int atI = swapped.getOrDefault(i, i);
+            picked[i] = atJ;
+            swapped.put(j, atI);
+        }
+        return picked;
+    }
+
+    /**
+     * Picks {@code count} set bits of a bitset uniformly at random, without walking every set bit.
+     * Random ranks are drawn among the set bits and located word by word with popcounts, so the cost is
+     * O(words + k log k). If fewer than {@code count} bits are set, all of them are returned.
+     *
+     * @param bits the bitset to pick from
+     * @param count the number of bits to pick
+     * @param random the source of randomness
+     * @return the indexes of the picked bits, in ascending order
+     */
+    public static int[] sampleSetBits(BitSet bits, int count, RandomGenerator random) {
+        long[] words = bits.toLongArray();
+        int total = 0;
+        for (long word : words) {
+            total += Long.bitCount(word);
+        }
+        int[] ranks = sampleIndexes(total, count, random);
+        Arrays.sort(ranks);
+        int[] picked = new int[ranks.length];
+        int next = 0;
+        int seen = 0;
+        for (int w = 0; w < words.length && next < ranks.length; w++) {
+            int inWord = Long.bitCount(words[w]);
+            while (next < ranks.length && ranks[next] < seen + inWord) {
+                long word = words[w];
+                for (int skip = ranks[next] - seen; skip > 0; skip--) {
+                    word &= word - 1;
+                }
+                picked[next++] = w * Long.SIZE + Long.numberOfTrailingZeros(word);
+            }
+            seen += inWord;
+        }
+        return picked;
+    }
+
+    /**
+     * Draws up to {@code count} distinct questions of the given type from the bank and adds them to the target collection.
+     *
+     * @param bank the question bank to draw from
+     * @param questionType the type of question to draw
+     * @param count the number of questions to draw
+     * @param target the collection receiving the drawn questions
+     * @param random the source of randomness
+     */
+    public static void sample(QuestionBank bank, QuestionType questionType, int count,
+                              Collection<? super QuestionInterface> target, RandomGenerator random) {
+        for (int index : sampleIndexes(bank.size(questionType), count, random)) {
+            target.add(bank.get(questionType, index));
+        }
+    }
+}
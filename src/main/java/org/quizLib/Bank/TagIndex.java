@@ -0,0 +1,232 @@
+package org.quizLib.Bank;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code TagIndex} class is an inverted index from tags (topics, levels such as {@code difficulty:2}) to the ids
+ * of the questions carrying them, so quizzes can be drawn from a topic without scanning the bank. Tags are
+ * compared ignoring case and surrounding spaces.
+ * <p>
+ * Each tag has a posting list: a sorted array of question ids. Ids are handed out in increasing order, so tagging new
+ * questions appends to the array, which is shared with readers the same way as in {@link QuestionCatalog}: readers never
+ * lock and see an immutable snapshot of the array and its size. {@link #matching(TagQuery)} merges the posting lists of
+ * each group of alternatives and intersects the groups starting from the smallest, galloping through the larger ones,
+ * so the cost depends on the posting lists involved rather than on the size of the bank.
+ */
+public class TagIndex {
+    private final Map<String, PostingList> postings = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+
+    /**
+     * Constructs an empty {@code TagIndex}.
+     */
+    public TagIndex() {
+    }
+
+    /**
+     * Adds tags to a question.
+     *
+     * @param questionId the id of the question, see {@code QuestionIds}
+     * @param tags the tags of the question
+     * @throws IllegalArgumentException if a tag is blank
+     */
+    public void tag(int questionId, Collection<String> tags) {
+        List<String> normalized = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+            normalized.add(normalize(tag));
+        }
+        synchronized (writeLock) {
+            for (String tag : normalized) {
+                postings.computeIfAbsent(tag, key -> new PostingList()).add(questionId);
+            }
+        }
+    }
+
+    /**
+     * Returns the ids of the questions carrying the tag.
+     *
+     * @param tag the tag
+     * @return a new sorted array of question ids
+     */
+    public int[] questionIds(String tag) {
+        PostingList list = postings.get(normalize(tag));
+        if (list == null) {
+            return new int[0];
+        }
+        Snapshot snapshot = list.snapshot;
+        return Arrays.copyOf(snapshot.ids, snapshot.size);
+    }
+
+    /**
+     * Returns the number of questions carrying the tag.
+     *
+     * @param tag the tag
+     * @return the size of the tag's posting list
+     */
+    public int count(String tag) {
+        PostingList list = postings.get(normalize(tag));
+        return list == null ? 0 : list.snapshot.size;
+    }
+
+    /**
+     * Returns every tag in the index.
+     *
+     * @return an unmodifiable set of normalized tags
+     */
+    public Set<String> tags() {
+        return Set.copyOf(postings.keySet());
+    }
+
+    /**
+     * Returns the ids of the questions matching the query.
+     *
+     * @param query the tag condition
+     * @return a new sorted array of question ids
+     */
+    public int[] matching(TagQuery query) {
+        List<List<String>> groups = query.getGroups();
+        if (groups.isEmpty()) {
+            return new int[0];
+        }
+        List<int[]> candidates = new ArrayList<>(groups.size());
+        for (List<String> group : groups) {
+            int[] ids = union(group);
+            if (ids.length == 0) {
+                return ids;
+            }
+            candidates.add(ids);
+        }
+        candidates.sort(Comparator.comparingInt(ids -> ids.length));
+        int[] result = candidates.get(0);
+        for (int i = 1; i < candidates.size() && result.length > 0; i++) {
+            result = intersect(result, candidates.get(i));
+        }
+        return result;
+    }
+
+    static String normalize(String tag) {
+        String normalized = tag == null ? "" : tag.trim().toLowerCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("Tag can not be blank");
+        }
+        return normalized;
+    }
+
+    private int[] union(List<String> group) {
+        int[] result = new int[0];
+        for (String tag : group) {
+            PostingList list = postings.get(tag);
+            if (list == null) {
+                continue;
+            }
+            Snapshot snapshot = list.snapshot;
+            result = merge(result, result.length, snapshot.ids, snapshot.size);
+        }
+        return result;
+    }
+
+    private static int[] merge(int[] a, int aSize, int[] b, int bSize) {
+        if (aSize == 0) {
+            return Arrays.copyOf(b, bSize);
+        }
+        int[] merged = new int[aSize + bSize];
+        int i = 0, j = 0, size = 0;
+        while (i < aSize && j < bSize) {
+            if (a[i] < b[j]) {
+                merged[size++] = a[i++];
+            } else if (a[i] > b[j]) {
+                merged[size++] = b[j++];
+            } else {
+                merged[size++] = a[i++];
+                j++;
+            }
+        }
+        while (i < aSize) {
+            merged[size++] = a[i++];
+        }
+        while (j < bSize) {
+            merged[size++] = b[j++];
+        }
+        return size == merged.length ? merged : Arrays.copyOf(merged, size);
+    }
+
+    /**
+     * Intersects a short sorted array with a longer one, finding each id of the short one by galloping search.
+     */
+    private static int[] intersect(int[] small, int[] large) {
+        int[] result = new int[small.length];
+        int size = 0;
+        int from = 0;
+        for (int id : small) {
+            int step = 1;
+            int to = from;
+            while (to < large.length && large[to] < id) {
+                from = to + 1;
+                to += step;
+                step <<= 1;
+            }
+            int found = Arrays.binarySearch(large, from, Math.min(to + 1, large.length), id);
+            if (found >= 0) {
+                result[size++] = id;
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+            if (from >= large.length) {
+                break;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * A sorted, growable array of question ids, written under the index's write lock.
+     */
+    private static final class PostingList {
+        private volatile Snapshot snapshot = new Snapshot(new int[4], 0);
+
+        void add(int questionId) {
+            Snapshot current = snapshot;
+            int size = current.size;
+            int[] ids = current.ids;
+            if (size > 0 && questionId <= ids[size - 1]) {
+                int index = Arrays.binarySearch(ids, 0, size, questionId);
+                if (index >= 0) {
+                    return;
+                }
+                // Out of order: readers may hold the current array, so build a new one
+                int insert = -index - 1;
+                int[] copy = new int[Math.max(ids.length, size + 1)];
+                System.arraycopy(ids, 0, copy, 0, insert);
+                copy[insert] = questionId;
+                System.arraycopy(ids, insert, copy, insert + 1, size - insert);
+                snapshot = new Snapshot(copy, size + 1);
+                return;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            // The slot beyond the published size is invisible to readers until the new size is published
+            ids[size] = questionId;
+            snapshot = new Snapshot(ids, size + 1);
+        }
+    }
+
+    private static final class Snapshot {
+        private final int[] ids;
+        private final int size;
+
+        private Snapshot(int[] ids, int size) {
+            this.ids = ids;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.quizLib.Bank;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code TagQuery} class is a condition on the tags of a question, evaluated by {@link TagIndex#matching(TagQuery)}.
+ * A query is a list of groups: a question matches when it has at least one tag of every group. For example
+ * "biology, difficulty 2 to 3" is {@code TagQuery.allOf("biology").andAnyOf("difficulty:2", "difficulty:3")}.
+ * Queries are immutable; each method returns a new query.
+ */
+public final class TagQuery {
+    private final List<List<String>> groups;
+
+    private TagQuery(List<List<String>> groups) {
+        this.groups = groups;
+    }
+
+    /**
+     * Returns a query for questions that have every given tag.
+     *
+     * @param tags the required tags
+     * @return the query
+     */
+    public static TagQuery allOf(String... tags) {
+        return new TagQuery(List.of()).andAllOf(tags);
+    }
+
+    /**
+     * Returns a query for questions that have at least one of the given tags.
+     *
+     * @param tags the alternative tags
+     * @return the query
+     */
+    public static TagQuery anyOf(String... tags) {
+        return new TagQuery(List.of()).andAnyOf(tags);
+    }
+
+    /**
+     * Returns a query that also requires every given tag.
+     *
+     * @param tags the required tags
+     * @return the new query
+     */
+    public TagQuery andAllOf(String... tags) {
+        List<List<String>> added = new ArrayList<>(groups);
+        for (String tag : tags) {
+            added.add(List.of(TagIndex.normalize(tag)));
+        }
+        return new TagQuery(List.copyOf(added));
+    }
+
+    /**
+     * Returns a query that also requires at least one of the given tags.
+     *
+     * @param tags the alternative tags
+     * @return the new query
+     * @throws IllegalArgumentException if no tag is given
+     */
+    public TagQuery andAnyOf(String... tags) {
+        if (tags.length == 0) {
+            throw new IllegalArgumentException("At least one tag is required");
+        }
+        List<String> group = new ArrayList<>(tags.length);
+        for (String tag : tags) {
+            group.add(TagIndex.normalize(tag));
+        }
+        List<List<String>> added = new ArrayList<>(groups);
+        added.add(List.copyOf(group));
+        return new TagQuery(List.copyOf(added));
+    }
+
+    List<List<String>> getGroups() {
+        return groups;
+    }
+
+    /**
+     * Returns a string representation of the query.
+     * @return the groups joined by {@code AND}, the tags of a group by {@code OR}
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (List<String> group : groups) {
+            if (builder.length() > 0) {
+                builder.append(" AND ");
+            }
+            builder.append(group.size() == 1 ? group.get(0) : "(" + String.join(" OR ", group) + ")");
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,155 @@
+package org.quizLib.Bank;
+
+import org.enums.QuestionType;
+import org.quizLib.Questions.QuestionInterface;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * The {@code WeightedQuestionSampler} class draws distinct questions from a {@link QuestionBank} with probability
+ * proportional to their measured {@link QuestionDifficulty difficulty}, so harder questions come up more often.
+ * <p>
+ * The sampler works from a table of cumulative weights per question type. {@link #refresh()} rebuilds the table from
+ * the current counters in O(bank) and publishes it with a single volatile write; papers being generated keep using
+ * the table they started with, so refreshing never blocks generation. Questions added to the bank after the last
+ * refresh are not drawn until the next one. Each draw is a binary search, so a paper of {@code k} questions costs
+ * O(k log bank), in expectation when draws repeat questions already picked.
+ */
+public class WeightedQuestionSampler {
+    private static final int MAX_REJECTIONS_PER_QUESTION = 32;
+    private final QuestionBank questionBank;
+    private final QuestionDifficulty difficulty;
+    private volatile double[][] cumulativeWeights;
+
+    /**
+     * Constructs a sampler over the given bank, weighted by the shared difficulty counters.
+     *
+     * @param questionBank the bank to draw from
+     */
+    public WeightedQuestionSampler(QuestionBank questionBank) {
+        this(questionBank, QuestionDifficulty.shared());
+    }
+
+    /**
+     * Constructs a sampler over the given bank and builds its first weight table.
+     *
+     * @param questionBank the bank to draw from
+     * @param difficulty the counters the weights are computed from
+     */
+    public WeightedQuestionSampler(QuestionBank questionBank, QuestionDifficulty difficulty) {
+        this.questionBank = questionBank;
+        this.difficulty = difficulty;
+        rebuildTable();
+    }
+
+    /**
+     * Returns the bank this sampler draws from.
+     *
+     * @return the question bank
+     */
+    public QuestionBank getQuestionBank() {
+        return questionBank;
+    }
+
+    /**
+     * Rebuilds the weight table from the current difficulty counters and publishes it.
+     */
+    public void refresh() {
+        rebuildTable();
+    }
+
+    private void rebuildTable() {
+        QuestionType[] types = QuestionType.values();
+        double[][] table = new double[types.length][];
+        for (QuestionType questionType : types) {
+            int size = questionBank.size(questionType);
+            double[] cumulative = new double[size];
+            double total = 0.0;
+            for (int i = 0; i < size; i++) {
+                total += difficulty.getDifficulty(questionBank.questionId(questionType, i));
+                cumulative[i] = total;
+            }
+            table[questionType.ordinal()] = cumulative;
+        }
+        cumulativeWeights = table;
+    }
+
+    /**
+     * Refreshes the weight table periodically on the given executor.
+     *
+     * @param executor the executor running the refreshes
+     * @param period the time between refreshes
+     * @param unit the unit of the period
+     * @return the scheduled task, which can be cancelled to stop refreshing
+     */
+    public ScheduledFuture<?> scheduleRefresh(ScheduledExecutorService executor, long period, TimeUnit unit) {
+        return executor.scheduleWithFixedDelay(this::refresh, period, period, unit);
+    }
+
+    /**
+     * Draws up to {@code count} distinct questions of the given type, weighted by difficulty, and adds them to the target.
+     *
+     * @param questionType the type of question to draw
+     * @param count the number of questions to draw
+     * @param target the collection receiving the drawn questions
+     * @param random the source of randomness
+     */
+    public void sample(QuestionType questionType, int count, Collection<? super QuestionInterface> target, RandomGenerator random) {
+        double[] cumulative = cumulativeWeights[questionType.ordinal()];
+        int size = cumulative.length;
+        int k = Math.max(0, Math.min(count, size));
+        if (k == 0) {
+            return;
+        }
+        double total = cumulative[size - 1];
+        Set<Integer> picked = new HashSet<>(k * 2);
+        int rejections = 0;
+        while (picked.size() < k && rejections < MAX_REJECTIONS_PER_QUESTION * k) {
+            int index = search(cumulative, random.nextDouble() * total);
+            if (picked.add(index)) {
+                target.add(questionBank.get(questionType, index));
+            } else {
+                rejections++;
+            }
+        }
+        // Very skewed weights or k close to the bank size: finish with a uniform draw over what is left
+        if (picked.size() < k && size <= 2 * k) {
+            // At least half the bank is wanted, so shuffling all of it is still O(k)
+            for (int index : QuestionSampler.sampleIndexes(size, size, random)) {
+                if (picked.size() == k) {
+                    break;
+                }
+                if (picked.add(index)) {
+                    target.add(questionBank.get(questionType, index));
+                }
+            }
+        }
+        while (picked.size() < k) {
+            // Less than half the bank is picked, so each uniform draw is new with probability over one half
+            int index = random.nextInt(size);
+            if (picked.add(index)) {
+                target.add(questionBank.get(questionType, index));
+            }
+        }
+    }
+
+    private static int search(double[] cumulative, double point) {
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulative[middle] > point) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+}
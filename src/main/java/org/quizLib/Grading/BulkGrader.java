@@ -0,0 +1,327 @@
+package org.quizLib.Grading;
+
+import org.enums.QuestionType;
+import org.enums.VerdictEnum;
+import org.quizLib.Bank.QuestionBank;
+import org.quizLib.Io.CsvReader;
+import org.quizLib.Objects.Student;
+import org.quizLib.Objects.StudentRegistry;
+import org.quizLib.Questions.QuestionInterface;
+import org.quizLib.Quiz.Quiz;
+import org.quizLib.Quiz.RegularQuiz;
+import org.quizLib.Quiz.RevisionQuiz;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The {@code BulkGrader} class grades a file of submitted answer sheets in parallel.
+ * <p>
+ * Each CSV record has the form {@code name,dateOfBirth,quizType,questionRef,answer[,questionRef,answer...]} where
+ * {@code dateOfBirth} is an ISO date ({@code 1999-02-26}), {@code quizType} is {@code REGULAR} or {@code REVISION} and a
+ * question reference is {@code F} (free response) or {@code M} (multiple choice) followed by the question's index in the
+ * bank, for example {@code F12}. Answers containing commas must be quoted, e.g. {@code "b,c"}.
+ * <p>
+ * Records are streamed from the file and routed to a fixed worker by student, through bounded queues. Every submission
+ * of one student is therefore graded and applied to their {@code Statistics} by the same thread, in file order, while
+ * different students are graded on all cores. Memory use is bounded by the queue sizes and the roster, not the file size.
+ * <p>
+ * If a worker fails, the reader stops handing out submissions instead of waiting on that worker's full queue, the other
+ * workers stop after their current submission, and {@link #grade(Reader)} throws with the worker's failure as cause.
+ */
+public class BulkGrader {
+    private static final Submission END_OF_INPUT = new Submission(null, null, null, null, null);
+    private static final long LIVENESS_CHECK_MILLIS = 100;
+    private final QuestionBank questionBank;
+    private final int workers;
+    private final int queueCapacity;
+    private final Quiz regularQuiz;
+    private final Quiz revisionQuiz;
+    private final StudentRegistry roster;
+
+    /**
+     * Constructs a {@code BulkGrader} using one worker per available processor.
+     *
+     * @param questionBank the bank that question references point into
+     */
+    public BulkGrader(QuestionBank questionBank) {
+        this(questionBank, new StudentRegistry(), Runtime.getRuntime().availableProcessors(), 1024);
+    }
+
+    /**
+     * Constructs a {@code BulkGrader}.
+     *
+     * @param questionBank the bank that question references point into
+     * @param roster the registry students are looked up in and registered to
+     * @param workers the number of grading threads
+     * @param queueCapacity the number of pending submissions buffered per worker
+     */
+    public BulkGrader(QuestionBank questionBank, StudentRegistry roster, int workers, int queueCapacity) {
+        if (workers < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Workers and queue capacity must be positive");
+        }
+        this.questionBank = questionBank;
+        this.roster = roster;
+        this.workers = workers;
+        this.queueCapacity = queueCapacity;
+        this.regularQuiz = new RegularQuiz(questionBank);
+        this.revisionQuiz = new RevisionQuiz(questionBank);
+    }
+
+    /**
+     * Returns the student with the given name and date of birth, registering them on first use.
+     *
+     * @param name the student's name
+     * @param dateOfBirth the student's date of birth
+     * @return the student known to this grader
+     */
+    public Student getStudent(String name, LocalDate dateOfBirth) {
+        return roster.register(name, Date.from(dateOfBirth.atStartOfDay(ZoneId.systemDefault()).toInstant()));
+    }
+
+    /**
+     * Grades every submission in the given CSV file and applies the results to the students' statistics.
+     *
+     * @param submissions the CSV file of submissions
+     * @return a report of the run
+     * @throws IOException if the file can not be read
+     */
+    public BulkGradingReport grade(Path submissions) throws IOException {
+        try (Reader reader = Files.newBufferedReader(submissions, StandardCharsets.UTF_8)) {
+            return grade(reader);
+        }
+    }
+
+    /**
+     * Grades every submission read from the given CSV stream and applies the results to the students' statistics.
+     *
+     * @param reader the CSV stream of submissions
+     * @return a report of the run
+     * @throws IOException if the stream can not be read, or a grading worker failed
+     */
+    public BulkGradingReport grade(Reader reader) throws IOException {
+        long start = System.nanoTime();
+        AtomicLong graded = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong malformed = new AtomicLong();
+        List<BlockingQueue<Submission>> queues = new ArrayList<>(workers);
+        List<Thread> threads = new ArrayList<>(workers);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        for (int i = 0; i < workers; i++) {
+            BlockingQueue<Submission> queue = new ArrayBlockingQueue<>(queueCapacity);
+            Thread thread = new Thread(() -> {
+                try {
+                    drain(queue, graded, rejected, malformed, failure);
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }, "bulk-grader-" + i);
+            queues.add(queue);
+            threads.add(thread);
+            thread.start();
+        }
+        long read = 0;
+        try {
+            CsvReader csv = new CsvReader(reader);
+            List<String> record;
+            while ((record = csv.next()) != null) {
+                read++;
+                Submission submission = parse(record);
+                if (submission == null) {
+                    malformed.incrementAndGet();
+                    continue;
+                }
+                int worker = Math.floorMod(submission.studentKey.hashCode(), workers);
+                if (!enqueue(queues.get(worker), submission, threads.get(worker), failure)) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while grading submissions", e);
+        } finally {
+            for (int i = 0; i < workers; i++) {
+                endUninterruptibly(queues.get(i), threads.get(i));
+            }
+            for (Thread thread : threads) {
+                joinUninterruptibly(thread);
+            }
+        }
+        if (failure.get() != null) {
+            throw new IOException("A grading worker failed after " + read + " submissions were read", failure.get());
+        }
+        return new BulkGradingReport(read, graded.get(), rejected.get(), malformed.get(), System.nanoTime() - start);
+    }
+
+    private void drain(BlockingQueue<Submission> queue, AtomicLong graded, AtomicLong rejected, AtomicLong malformed,
+                       AtomicReference<Throwable> failure) {
+        while (true) {
+            Submission submission;
+            try {
+                submission = queue.take();
+            } catch (InterruptedException e) {
+                // Submissions left in the queue would be lost, so the run must not report success
+                failure.compareAndSet(null, e);
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (submission == END_OF_INPUT || failure.get() != null) {
+                return;
+            }
+            List<QuestionInterface> questions = resolve(submission.questionRefs);
+            if (questions == null) {
+                malformed.incrementAndGet();
+                continue;
+            }
+            Student student = getStudent(submission.name, submission.dateOfBirth);
+            Quiz quiz = submission.quizType == VerdictEnum.REGULAR ? regularQuiz : revisionQuiz;
+            try {
+                quiz.takeQuiz(student, questions, submission.answers);
+                graded.incrementAndGet();
+            } catch (RuntimeException e) {
+                // Ineligible students and unacceptable answers are refused without stopping the worker
+                rejected.incrementAndGet();
+            }
+        }
+    }
+
+    private Submission parse(List<String> record) {
+        if (record.size() < 5 || record.size() % 2 == 0) {
+            return null;
+        }
+        try {
+            String name = record.get(0).trim();
+            LocalDate dateOfBirth = LocalDate.parse(record.get(1).trim());
+            VerdictEnum quizType = VerdictEnum.valueOf(record.get(2).trim().toUpperCase(Locale.ROOT));
+            if (name.isEmpty() || (quizType != VerdictEnum.REGULAR && quizType != VerdictEnum.REVISION)) {
+                return null;
+            }
+            int count = (record.size() - 3) / 2;
+            List<String> questionRefs = new ArrayList<>(count);
+            List<String> answers = new ArrayList<>(count);
+            for (int i = 3; i < record.size(); i += 2) {
+                questionRefs.add(record.get(i).trim());
+                answers.add(record.get(i + 1));
+            }
+            return new Submission(name, dateOfBirth, quizType, questionRefs, answers);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private List<QuestionInterface> resolve(List<String> questionRefs) {
+        List<QuestionInterface> questions = new ArrayList<>(questionRefs.size());
+        for (String ref : questionRefs) {
+            if (ref.length() < 2) {
+                return null;
+            }
+            QuestionType questionType;
+            switch (Character.toUpperCase(ref.charAt(0))) {
+                case 'F':
+                    questionType = QuestionType.FREE_RESPONSE_QUESTION;
+                    break;
+                case 'M':
+                    questionType = QuestionType.MULTIPLE_CHOICE_QUESTION;
+                    break;
+                default:
+                    return null;
+            }
+            try {
+                int index = Integer.parseInt(ref.substring(1));
+                if (index < 0 || index >= questionBank.size(questionType)) {
+                    return null;
+                }
+                questions.add(questionBank.get(questionType, index));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return questions;
+    }
+
+    private static String studentKey(String name, LocalDate dateOfBirth) {
+        return name.toLowerCase(Locale.ROOT) + '|' + dateOfBirth;
+    }
+
+    /**
+     * Hands a submission to a worker, waiting for room in its queue only while the worker is alive.
+     *
+     * @return {@code false} if the worker died or some worker failed, in which case reading should stop
+     */
+    private static boolean enqueue(BlockingQueue<Submission> queue, Submission submission, Thread worker,
+                                   AtomicReference<Throwable> failure) throws InterruptedException {
+        while (!queue.offer(submission, LIVENESS_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (failure.get() != null || !worker.isAlive()) {
+                return false;
+            }
+        }
+        return failure.get() == null;
+    }
+
+    private static void endUninterruptibly(BlockingQueue<Submission> queue, Thread worker) {
+        boolean interrupted = false;
+        while (worker.isAlive()) {
+            try {
+                if (queue.offer(END_OF_INPUT, LIVENESS_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void joinUninterruptibly(Thread thread) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                thread.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * One parsed answer sheet waiting to be graded.
+     */
+    private static final class Submission {
+        private final String name;
+        private final LocalDate dateOfBirth;
+        private final VerdictEnum quizType;
+        private final String studentKey;
+        private final List<String> questionRefs;
+        private final List<String> answers;
+
+        private Submission(String name, LocalDate dateOfBirth, VerdictEnum quizType, List<String> questionRefs, List<String> answers) {
+            this.name = name;
+            this.dateOfBirth = dateOfBirth;
+            this.quizType = quizType;
+            this.studentKey = name == null ? "" : studentKey(name, dateOfBirth);
+            this.questionRefs = questionRefs;
+            this.answers = answers;
+        }
+    }
+}
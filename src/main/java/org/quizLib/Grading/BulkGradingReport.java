@@ -0,0 +1,86 @@
+package org.quizLib.Grading;
+
+/**
+ * The {@code BulkGradingReport} class summarises one run of the {@link BulkGrader}:
+ * how many submissions were read, graded, rejected or malformed, and how fast they were processed.
+ */
+public final class BulkGradingReport {
+    private final long submissionsRead;
+    private final long graded;
+    private final long rejected;
+    private final long malformed;
+    private final long elapsedNanos;
+
+    BulkGradingReport(long submissionsRead, long graded, long rejected, long malformed, long elapsedNanos) {
+        this.submissionsRead = submissionsRead;
+        this.graded = graded;
+        this.rejected = rejected;
+        this.malformed = malformed;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of submission records read from the input.
+     * @return the number of submissions read
+     */
+    public long getSubmissionsRead() {
+        return submissionsRead;
+    }
+
+    /**
+     * Returns the number of submissions that were graded and applied to student statistics.
+     * @return the number of graded submissions
+     */
+    public long getGraded() {
+        return graded;
+    }
+
+    /**
+     * Returns the number of well-formed submissions that were refused, for example because the student
+     * already has a final verdict or an answer was not acceptable for its question.
+     * @return the number of rejected submissions
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Returns the number of records that could not be parsed or referenced unknown questions.
+     * @return the number of malformed records
+     */
+    public long getMalformed() {
+        return malformed;
+    }
+
+    /**
+     * Returns the wall-clock duration of the run in nanoseconds.
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the number of submissions read per second over the whole run.
+     * @return the throughput in submissions per second
+     */
+    public double getThroughputPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : submissionsRead * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Returns a string representation of the report.
+     * @return a string containing the counters, elapsed time and throughput
+     */
+    @Override
+    public String toString() {
+        return "BulkGradingReport{" +
+                "submissionsRead=" + submissionsRead +
+                ", graded=" + graded +
+                ", rejected=" + rejected +
+                ", malformed=" + malformed +
+                ", elapsedMillis=" + elapsedNanos / 1_000_000 +
+                ", throughputPerSecond=" + String.format("%.1f", getThroughputPerSecond()) +
+                '}';
+    }
+}
@@ -0,0 +1,218 @@
+package org.quizLib.Grading;
+
+import org.quizLib.Questions.QuestionInterface;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The {@code GradingCache} class remembers whether a raw answer to a question was correct, so that the many students
+ * of a cohort who type the same answer do not each pay for {@code normalizeAnswer} and the comparison. Entries are
+ * keyed by question id and the answer exactly as submitted; questions never change their answers, so entries stay valid.
+ * <p>
+ * The cache holds at most the given number of entries and evicts the least recently used. It is split into
+ * independently locked segments so grading threads rarely wait on each other, and the answer is checked outside the
+ * segment lock. Answers that make {@code checkQuestionAnswer} throw are not cached.
+ * Hit, miss and eviction counts are kept so the saving can be measured on real answer distributions.
+ */
+public class GradingCache {
+    private final Segment[] segments;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs a cache holding at most {@code maximumSize} answers.
+     *
+     * @param maximumSize the maximum number of cached answers
+     */
+    public GradingCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        int count = Integer.highestOneBit(Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 4, maximumSize / 16)));
+        segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            // Spread the bound over the segments, giving the remainder to the first ones
+            segments[i] = new Segment(maximumSize / count + (i < maximumSize % count ? 1 : 0));
+        }
+        mask = count - 1;
+    }
+
+    /**
+     * Returns whether the answer is correct, from the cache if it was checked before.
+     *
+     * @param question the question answered
+     * @param answer the answer as submitted
+     * @return {@code true} if the answer is correct
+     */
+    public boolean check(QuestionInterface question, String answer) {
+        Key key = new Key(question.getQuestionId(), answer);
+        Segment segment = segments[spread(key.hashCode()) & mask];
+        Boolean cached = segment.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        boolean correct = question.checkQuestionAnswer(answer);
+        segment.put(key, correct);
+        return correct;
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that had to check the answer.
+     * @return the number of misses
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the fraction of lookups answered from the cache, or {@code NaN} before the first lookup.
+     * @return the hit rate
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? Double.NaN : (double) hitCount / total;
+    }
+
+    /**
+     * Returns the number of entries evicted to stay within the size bound.
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the number of cached answers.
+     * @return the number of entries
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Removes every entry. The counters are kept.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Returns a string representation of the cache's counters.
+     * @return a string containing the size, hits, misses, hit rate and evictions
+     */
+    @Override
+    public String toString() {
+        return "GradingCache{" +
+                "size=" + size() +
+                ", hits=" + getHitCount() +
+                ", misses=" + getMissCount() +
+                ", hitRate=" + getHitRate() +
+                ", evictions=" + getEvictionCount() +
+                '}';
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Key, Boolean> entries;
+
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Boolean> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        Boolean get(Key key) {
+            lock.lock();
+            try {
+                return entries.get(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(Key key, boolean correct) {
+            lock.lock();
+            try {
+                entries.put(key, correct);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                entries.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static final class Key {
+        final int questionId;
+        final String answer;
+        final int hash;
+
+        Key(int questionId, String answer) {
+            this.questionId = questionId;
+            this.answer = answer;
+            this.hash = 31 * questionId + answer.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            return questionId == other.questionId && answer.equals(other.answer);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.quizLib.Grading;
+
+/**
+ * Compares a column-major matrix of selected-option bitmasks with the answer keys, one question per column.
+ * For every student it adds up the questions answered exactly, the correct options selected and the incorrect
+ * options selected. Negative selections, such as {@code MultipleChoiceQuestion.INVALID_OPTIONS}, count as selecting nothing.
+ */
+interface MaskKernel {
+    void grade(long[] answerKeys, long[] selections, int students, int[] correct, int[] correctOptions, int[] incorrectOptions);
+}
@@ -0,0 +1,125 @@
+package org.quizLib.Grading;
+
+import org.quizLib.Questions.MultipleChoiceQuestion;
+
+import java.util.List;
+
+/**
+ * The {@code MultipleChoiceBatchGrader} class grades the multiple choice answers of many students at once, for example
+ * a whole exam hall. Answers are first encoded as option bitmasks ({@link MultipleChoiceQuestion#parseOptions}) in a
+ * column-major matrix, one column of students per question, and then compared with the answer keys in a single pass
+ * that counts, per student, the questions answered exactly and the correct and incorrect options selected.
+ * <p>
+ * Where the {@code jdk.incubator.vector} module is available (the build adds it with {@code --add-modules}), the pass
+ * compares as many students per instruction as the processor's vectors hold. The vector code is loaded reflectively,
+ * so without the module the same results come from a scalar loop. Instances are stateless and thread-safe.
+ */
+public final class MultipleChoiceBatchGrader {
+    private static final MaskKernel VECTOR_KERNEL = loadVectorKernel();
+    private final MaskKernel kernel;
+
+    private MultipleChoiceBatchGrader(MaskKernel kernel) {
+        this.kernel = kernel;
+    }
+
+    /**
+     * Returns a grader using the Vector API when it is available and the scalar loop otherwise.
+     *
+     * @return the fastest available grader
+     */
+    public static MultipleChoiceBatchGrader create() {
+        return new MultipleChoiceBatchGrader(VECTOR_KERNEL != null ? VECTOR_KERNEL : new ScalarMaskKernel());
+    }
+
+    /**
+     * Returns a grader that always uses the scalar loop.
+     *
+     * @return the scalar grader
+     */
+    public static MultipleChoiceBatchGrader scalar() {
+        return new MultipleChoiceBatchGrader(new ScalarMaskKernel());
+    }
+
+    /**
+     * Returns whether this grader uses the Vector API.
+     *
+     * @return {@code true} if the pass is vectorised
+     */
+    public boolean isVectorized() {
+        return !(kernel instanceof ScalarMaskKernel);
+    }
+
+    /**
+     * Encodes answer sheets as a column-major matrix of option bitmasks.
+     *
+     * @param questions the questions of the exam
+     * @param answerSheets one list of answers per student, in question order
+     * @return the bitmask of student {@code s} for question {@code q} at index {@code q * students + s};
+     *         answers that can not be parsed are {@link MultipleChoiceQuestion#INVALID_OPTIONS}
+     * @throws IllegalArgumentException if an answer sheet does not have one answer per question
+     */
+    public static long[] encode(List<MultipleChoiceQuestion> questions, List<List<String>> answerSheets) {
+        int students = answerSheets.size();
+        long[] selections = new long[questions.size() * students];
+        for (int student = 0; student < students; student++) {
+            List<String> answers = answerSheets.get(student);
+            if (answers.size() != questions.size()) {
+                throw new IllegalArgumentException("Answer sheet " + student + " has " + answers.size()
+                        + " answers for " + questions.size() + " questions");
+            }
+            for (int question = 0; question < answers.size(); question++) {
+                selections[question * students + student] = MultipleChoiceQuestion.parseOptions(answers.get(question));
+            }
+        }
+        return selections;
+    }
+
+    /**
+     * Grades answer sheets against the questions.
+     *
+     * @param questions the questions of the exam
+     * @param answerSheets one list of answers per student, in question order
+     * @return the counts per student
+     * @throws IllegalArgumentException if an answer sheet does not have one answer per question
+     */
+    public MultipleChoiceBatchResult grade(List<MultipleChoiceQuestion> questions, List<List<String>> answerSheets) {
+        long[] answerKeys = new long[questions.size()];
+        for (int question = 0; question < answerKeys.length; question++) {
+            answerKeys[question] = questions.get(question).getAnswerMask();
+        }
+        return grade(answerKeys, encode(questions, answerSheets), answerSheets.size());
+    }
+
+    /**
+     * Grades an encoded matrix of selections against the answer keys.
+     *
+     * @param answerKeys the answer mask of each question, see {@link MultipleChoiceQuestion#getAnswerMask()}
+     * @param selections the selections as returned by {@link #encode}
+     * @param students the number of students
+     * @return the counts per student
+     * @throws IllegalArgumentException if the matrix does not have one selection per student and question
+     */
+    public MultipleChoiceBatchResult grade(long[] answerKeys, long[] selections, int students) {
+        if (students < 0 || (long) answerKeys.length * students != selections.length) {
+            throw new IllegalArgumentException("Expected " + answerKeys.length + " x " + students + " selections but got " + selections.length);
+        }
+        int[] correct = new int[students];
+        int[] correctOptions = new int[students];
+        int[] incorrectOptions = new int[students];
+        if (answerKeys.length > 0) {
+            kernel.grade(answerKeys, selections, students, correct, correctOptions, incorrectOptions);
+        }
+        return new MultipleChoiceBatchResult(answerKeys.length, correct, correctOptions, incorrectOptions);
+    }
+
+    private static MaskKernel loadVectorKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            return (MaskKernel) Class.forName("org.quizLib.Grading.VectorMaskKernel").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.quizLib.Grading;
+
+/**
+ * The {@code MultipleChoiceBatchResult} class holds the per-student counts of one {@link MultipleChoiceBatchGrader}
+ * pass. Students are numbered in the order of the answer sheets.
+ */
+public final class MultipleChoiceBatchResult {
+    private final int questions;
+    private final int[] correct;
+    private final int[] correctOptions;
+    private final int[] incorrectOptions;
+
+    MultipleChoiceBatchResult(int questions, int[] correct, int[] correctOptions, int[] incorrectOptions) {
+        this.questions = questions;
+        this.correct = correct;
+        this.correctOptions = correctOptions;
+        this.incorrectOptions = incorrectOptions;
+    }
+
+    /**
+     * Returns the number of questions graded.
+     * @return the number of questions
+     */
+    public int getQuestions() {
+        return questions;
+    }
+
+    /**
+     * Returns the number of students graded.
+     * @return the number of students
+     */
+    public int getStudents() {
+        return correct.length;
+    }
+
+    /**
+     * Returns the number of questions the student answered exactly.
+     * @param student the index of the student's answer sheet
+     * @return the number of correct answers
+     */
+    public int getCorrect(int student) {
+        return correct[student];
+    }
+
+    /**
+     * Returns the number of correct options the student selected, over all questions.
+     * @param student the index of the student's answer sheet
+     * @return the popcount of selected correct options
+     */
+    public int getCorrectOptions(int student) {
+        return correctOptions[student];
+    }
+
+    /**
+     * Returns the number of incorrect options the student selected, over all questions.
+     * @param student the index of the student's answer sheet
+     * @return the popcount of selected incorrect options
+     */
+    public int getIncorrectOptions(int student) {
+        return incorrectOptions[student];
+    }
+}
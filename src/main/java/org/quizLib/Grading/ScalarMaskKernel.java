@@ -0,0 +1,28 @@
+package org.quizLib.Grading;
+
+import org.quizLib.Questions.MultipleChoiceQuestion;
+
+/**
+ * The portable {@link MaskKernel}: one student at a time with {@link Long#bitCount}, which the JIT turns into a
+ * single popcount instruction where the processor has one.
+ */
+final class ScalarMaskKernel implements MaskKernel {
+    @Override
+    public void grade(long[] answerKeys, long[] selections, int students, int[] correct, int[] correctOptions, int[] incorrectOptions) {
+        for (int question = 0; question < answerKeys.length; question++) {
+            long key = answerKeys[question];
+            int offset = question * students;
+            for (int student = 0; student < students; student++) {
+                long selected = selections[offset + student];
+                if (!MultipleChoiceQuestion.isValidOptions(selected)) {
+                    continue;
+                }
+                if (selected == key) {
+                    correct[student]++;
+                }
+                correctOptions[student] += Long.bitCount(selected & key);
+                incorrectOptions[student] += Long.bitCount(selected & ~key);
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.quizLib.Grading;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The {@link MaskKernel} using the Vector API: a block of students as wide as the processor's preferred vector is
+ * graded against every question while the three counts stay in vector registers, and written out once per block.
+ * Students left over after the last full block are graded by the scalar kernel.
+ * <p>
+ * This class needs the {@code jdk.incubator.vector} module and is only loaded through
+ * {@link MultipleChoiceBatchGrader} when that module is present.
+ */
+final class VectorMaskKernel implements MaskKernel {
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+    private final MaskKernel tail = new ScalarMaskKernel();
+
+    @Override
+    public void grade(long[] answerKeys, long[] selections, int students, int[] correct, int[] correctOptions, int[] incorrectOptions) {
+        int lanes = SPECIES.length();
+        int vectorStudents = SPECIES.loopBound(students);
+        long[] counts = new long[lanes];
+        for (int first = 0; first < vectorStudents; first += lanes) {
+            LongVector exact = LongVector.zero(SPECIES);
+            LongVector hits = LongVector.zero(SPECIES);
+            LongVector misses = LongVector.zero(SPECIES);
+            for (int question = 0; question < answerKeys.length; question++) {
+                long key = answerKeys[question];
+                LongVector selected = LongVector.fromArray(SPECIES, selections, question * students + first);
+                // Valid masks never have the sign bit set, so every negative lane is INVALID_OPTIONS
+                VectorMask<Long> invalid = selected.lt(0L);
+                selected = selected.blend(0L, invalid);
+                exact = exact.add(1L, selected.eq(key));
+                hits = hits.add(selected.and(key).lanewise(VectorOperators.BIT_COUNT));
+                misses = misses.add(selected.and(~key).lanewise(VectorOperators.BIT_COUNT));
+            }
+            exact.intoArray(counts, 0);
+            addInto(correct, first, counts);
+            hits.intoArray(counts, 0);
+            addInto(correctOptions, first, counts);
+            misses.intoArray(counts, 0);
+            addInto(incorrectOptions, first, counts);
+        }
+        if (vectorStudents < students) {
+            gradeTail(answerKeys, selections, students, vectorStudents, correct, correctOptions, incorrectOptions);
+        }
+    }
+
+    private void gradeTail(long[] answerKeys, long[] selections, int students, int from,
+                           int[] correct, int[] correctOptions, int[] incorrectOptions) {
+        int rest = students - from;
+        long[] restSelections = new long[answerKeys.length * rest];
+        for (int question = 0; question < answerKeys.length; question++) {
+            System.arraycopy(selections, question * students + from, restSelections, question * rest, rest);
+        }
+        int[] restCorrect = new int[rest];
+        int[] restCorrectOptions = new int[rest];
+        int[] restIncorrectOptions = new int[rest];
+        tail.grade(answerKeys, restSelections, rest, restCorrect, restCorrectOptions, restIncorrectOptions);
+        for (int i = 0; i < rest; i++) {
+            correct[from + i] += restCorrect[i];
+            correctOptions[from + i] += restCorrectOptions[i];
+            incorrectOptions[from + i] += restIncorrectOptions[i];
+        }
+    }
+
+    private static void addInto(int[] target, int first, long[] counts) {
+        for (int lane = 0; lane < counts.length; lane++) {
+            target[first + lane] += (int) counts[lane];
+        }
+    }
+}
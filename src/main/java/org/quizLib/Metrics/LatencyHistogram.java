@@ -0,0 +1,161 @@
+package org.quizLib.Metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code LatencyHistogram} class counts latencies in log-scaled buckets, in the manner of an HDR histogram: values
+ * below {@value #SUB_BUCKETS} nanoseconds have a bucket each, and every further power of two is split into
+ * {@value #SUB_BUCKETS} equal buckets, so any recorded value is known to within about 6% of itself, from nanoseconds
+ * to centuries, in under a thousand counters.
+ * <p>
+ * Recording is lock-free: three {@link LongAdder} updates, one of them the value's bucket. Each bucket is a
+ * {@code LongAdder} of its own, created when first used, so threads recording similar latencies at the same time
+ * spread over the adder's cells instead of contending on one counter. Reads may observe a recording in progress,
+ * which only matters for an exact count taken while values are being recorded.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 4;
+    /** Number of buckets per power of two. */
+    public static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicReferenceArray<LongAdder> counts = new AtomicReferenceArray<>(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos the latency in nanoseconds; negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        bucket(bucketOf(value)).increment();
+        count.increment();
+        total.add(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     * @return the count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the mean latency, or 0 if nothing was recorded.
+     * @return the mean in nanoseconds
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : (double) total.sum() / n;
+    }
+
+    /**
+     * Returns the largest recorded latency.
+     * @return the maximum in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns an upper bound of the given percentile: at least that fraction of latencies are at or below it, and it is
+     * within a bucket's width (about 6%) of the true value.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the percentile in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        long[] snapshot = new long[BUCKETS];
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            LongAdder bucket = counts.get(i);
+            snapshot[i] = bucket == null ? 0 : bucket.sum();
+            n += snapshot[i];
+        }
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Removes every recorded latency. Latencies recorded concurrently with the reset may be partly kept.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            LongAdder bucket = counts.get(i);
+            if (bucket != null) {
+                bucket.reset();
+            }
+        }
+        count.reset();
+        total.reset();
+        max.set(0);
+    }
+
+    private LongAdder bucket(int index) {
+        LongAdder bucket = counts.get(index);
+        if (bucket == null) {
+            LongAdder created = new LongAdder();
+            bucket = counts.compareAndExchange(index, null, created);
+            if (bucket == null) {
+                bucket = created;
+            }
+        }
+        return bucket;
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) - SUB_BUCKETS;
+        return SUB_BUCKETS + (exponent - SUB_BITS) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BITS;
+        long sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << (exponent - SUB_BITS)) - 1;
+    }
+
+    /**
+     * Returns a string representation of the histogram.
+     * @return a string containing the count, mean, median, 99th percentile and maximum in nanoseconds
+     */
+    @Override
+    public String toString() {
+        return "LatencyHistogram{" +
+                "count=" + getCount() +
+                ", mean=" + getMean() +
+                ", p50=" + getPercentile(50) +
+                ", p99=" + getPercentile(99) +
+                ", max=" + getMax() +
+                '}';
+    }
+}
@@ -0,0 +1,54 @@
+package org.quizLib.Metrics;
+
+/**
+ * Management interface of one operation's latencies, registered by {@link QuizMetrics#registerMBeans()}.
+ * Times are reported in microseconds.
+ */
+public interface LatencyMXBean {
+    /**
+     * Returns the number of recorded calls.
+     * @return the count
+     */
+    long getCount();
+
+    /**
+     * Returns the mean latency.
+     * @return the mean in microseconds
+     */
+    double getMeanMicros();
+
+    /**
+     * Returns the median latency.
+     * @return the 50th percentile in microseconds
+     */
+    double getP50Micros();
+
+    /**
+     * Returns the 90th percentile latency.
+     * @return the 90th percentile in microseconds
+     */
+    double getP90Micros();
+
+    /**
+     * Returns the 99th percentile latency.
+     * @return the 99th percentile in microseconds
+     */
+    double getP99Micros();
+
+    /**
+     * Returns the 99.9th percentile latency.
+     * @return the 99.9th percentile in microseconds
+     */
+    double getP999Micros();
+
+    /**
+     * Returns the largest latency.
+     * @return the maximum in microseconds
+     */
+    double getMaxMicros();
+
+    /**
+     * Removes every recorded latency.
+     */
+    void reset();
+}
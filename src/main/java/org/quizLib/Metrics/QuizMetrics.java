@@ -0,0 +1,247 @@
+package org.quizLib.Metrics;
+
+import org.enums.QuizOperation;
+import org.enums.VerdictEnum;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * The {@code QuizMetrics} class holds a {@link LatencyHistogram} for every {@link QuizOperation} and quiz type
+ * ({@code REGULAR} or {@code REVISION}), recorded by the quizzes as they run. Recording is lock-free and can be
+ * switched off with {@link #setEnabled(boolean)}, which leaves a single volatile read on each operation.
+ * <p>
+ * {@link QuizOperation#CHECK_ANSWER} runs once per answer, so timing it costs two clock reads and a histogram update
+ * per answer graded. It is off by default and switched on separately with {@link #setAnswerTimingEnabled(boolean)}.
+ * <p>
+ * {@link #registerMBeans()} publishes every histogram as a platform MBean named
+ * {@code org.quizLib:type=QuizMetrics,operation=<operation>,quizType=<type>}, so JMX tools such as JConsole or a
+ * JMX exporter can read the counts and percentiles.
+ */
+public final class QuizMetrics {
+    private static final String DOMAIN = "org.quizLib";
+    private static final LatencyHistogram[][] histograms = new LatencyHistogram[QuizOperation.values().length][2];
+    private static volatile boolean enabled = true;
+    private static volatile boolean answerTiming;
+
+    static {
+        for (LatencyHistogram[] byType : histograms) {
+            byType[0] = new LatencyHistogram();
+            byType[1] = new LatencyHistogram();
+        }
+    }
+
+    private QuizMetrics() {
+    }
+
+    /**
+     * Returns whether latencies are being recorded.
+     *
+     * @return {@code true} if recording is on, which is the default
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Switches recording on or off.
+     *
+     * @param on {@code true} to record latencies
+     */
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    /**
+     * Returns whether each answer checked is timed as {@link QuizOperation#CHECK_ANSWER}.
+     *
+     * @return {@code true} if answers are timed; {@code false} by default
+     */
+    public static boolean isAnswerTimingEnabled() {
+        return answerTiming;
+    }
+
+    /**
+     * Switches timing of each answer checked on or off. Has no effect while recording is off.
+     *
+     * @param on {@code true} to time answers
+     */
+    public static void setAnswerTimingEnabled(boolean on) {
+        answerTiming = on;
+    }
+
+    /**
+     * Returns the start time to pass to {@link #record} for {@link QuizOperation#CHECK_ANSWER}, or 0 when recording or
+     * answer timing is off so no clock is read.
+     *
+     * @return the current {@link System#nanoTime()}, or 0
+     */
+    public static long startAnswer() {
+        return enabled && answerTiming ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Returns the start time to pass to {@link #record}, or 0 when recording is off so no clock is read.
+     *
+     * @return the current {@link System#nanoTime()}, or 0
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos} for an operation.
+     *
+     * @param operation the operation that ran
+     * @param quizType the type of quiz, {@code REGULAR} or {@code REVISION}
+     * @param startNanos the value returned by {@link #start()} when the operation began
+     */
+    public static void record(QuizOperation operation, VerdictEnum quizType, long startNanos) {
+        if (startNanos != 0L && enabled) {
+            histogram(operation, quizType).record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Returns the histogram of an operation for a quiz type.
+     *
+     * @param operation the operation
+     * @param quizType the type of quiz, {@code REGULAR} or {@code REVISION}
+     * @return the live histogram
+     */
+    public static LatencyHistogram histogram(QuizOperation operation, VerdictEnum quizType) {
+        return histograms[operation.ordinal()][typeIndex(quizType)];
+    }
+
+    /**
+     * Registers one MBean per operation and quiz type with the platform MBean server. Names already registered are
+     * left as they are, so calling this again is harmless.
+     *
+     * @throws IllegalStateException if the MBeans can not be registered
+     */
+    public static void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (QuizOperation operation : QuizOperation.values()) {
+                for (VerdictEnum quizType : new VerdictEnum[]{VerdictEnum.REGULAR, VerdictEnum.REVISION}) {
+                    try {
+                        server.registerMBean(new LatencyMetrics(histogram(operation, quizType)), objectName(operation, quizType));
+                    } catch (InstanceAlreadyExistsException e) {
+                        // registered by an earlier call
+                    }
+                }
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register quiz metrics MBeans", e);
+        }
+    }
+
+    /**
+     * Unregisters the MBeans registered by {@link #registerMBeans()}.
+     *
+     * @throws IllegalStateException if the MBeans can not be unregistered
+     */
+    public static void unregisterMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (QuizOperation operation : QuizOperation.values()) {
+                for (VerdictEnum quizType : new VerdictEnum[]{VerdictEnum.REGULAR, VerdictEnum.REVISION}) {
+                    try {
+                        server.unregisterMBean(objectName(operation, quizType));
+                    } catch (InstanceNotFoundException e) {
+                        // never registered
+                    }
+                }
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not unregister quiz metrics MBeans", e);
+        }
+    }
+
+    /**
+     * Returns the JMX name of an operation's MBean for a quiz type.
+     *
+     * @param operation the operation
+     * @param quizType the type of quiz, {@code REGULAR} or {@code REVISION}
+     * @return the object name
+     * @throws JMException if the name is malformed
+     */
+    public static ObjectName objectName(QuizOperation operation, VerdictEnum quizType) throws JMException {
+        typeIndex(quizType);
+        return new ObjectName(DOMAIN + ":type=QuizMetrics,operation=" + operation + ",quizType=" + quizType);
+    }
+
+    /**
+     * Removes every recorded latency from every histogram.
+     */
+    public static void reset() {
+        for (LatencyHistogram[] byType : histograms) {
+            byType[0].reset();
+            byType[1].reset();
+        }
+    }
+
+    private static int typeIndex(VerdictEnum quizType) {
+        switch (quizType) {
+            case REGULAR:
+                return 0;
+            case REVISION:
+                return 1;
+            default:
+                throw new IllegalArgumentException("Quiz type must be REGULAR or REVISION");
+        }
+    }
+
+    /** Adapts a histogram to {@link LatencyMXBean}. */
+    private static final class LatencyMetrics implements LatencyMXBean {
+        private final LatencyHistogram histogram;
+
+        LatencyMetrics(LatencyHistogram histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override
+        public long getCount() {
+            return histogram.getCount();
+        }
+
+        @Override
+        public double getMeanMicros() {
+            return histogram.getMean() / 1_000.0;
+        }
+
+        @Override
+        public double getP50Micros() {
+            return histogram.getPercentile(50) / 1_000.0;
+        }
+
+        @Override
+        public double getP90Micros() {
+            return histogram.getPercentile(90) / 1_000.0;
+        }
+
+        @Override
+        public double getP99Micros() {
+            return histogram.getPercentile(99) / 1_000.0;
+        }
+
+        @Override
+        public double getP999Micros() {
+            return histogram.getPercentile(99.9) / 1_000.0;
+        }
+
+        @Override
+        public double getMaxMicros() {
+            return histogram.getMax() / 1_000.0;
+        }
+
+        @Override
+        public void reset() {
+            histogram.reset();
+        }
+    }
+}
@@ -0,0 +1,350 @@
+package org.quizLib.Objects;
+
+import org.quizLib.Bank.QuestionSampler;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntConsumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * The {@code QuestionIdSet} class is a compressed set of question ids used for a student's seen and incorrect
+ * questions. It follows the layout of roaring bitmaps: ids are grouped by their upper 16 bits, and each group is
+ * stored either as a sorted {@code char} array of the lower 16 bits (2 bytes per id, while the group holds at most
+ * {@value #ARRAY_LIMIT} ids) or as a fixed 8 KB bitmap once it grows beyond that.
+ * <p>
+ * A student who has seen a few hundred questions scattered over a bank of millions therefore costs a few hundred
+ * bytes, compared with a hash set entry per question or a bitset as long as the largest id.
+ * The class is not thread-safe; {@link Student} guards its sets with the student's lock.
+ */
+public final class QuestionIdSet {
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;
+    private static final char[] NO_KEYS = new char[0];
+    private char[] keys = NO_KEYS;
+    private Object[] containers = new Object[0];
+    private int[] cardinalities = new int[0];
+    private int size;
+
+    /**
+     * Adds an id to the set.
+     *
+     * @param id the id to add, which must not be negative
+     * @return {@code true} if the id was not already present
+     */
+    public boolean add(int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Question id can not be negative");
+        }
+        char high = (char) (id >>> 16);
+        char low = (char) id;
+        int index = Arrays.binarySearch(keys, 0, size, high);
+        if (index < 0) {
+            index = -index - 1;
+            insertContainer(index, high);
+        }
+        Object container = containers[index];
+        if (container instanceof long[]) {
+            long[] bitmap = (long[]) container;
+            long bit = 1L << low;
+            if ((bitmap[low >>> 6] & bit) != 0) {
+                return false;
+            }
+            bitmap[low >>> 6] |= bit;
+            cardinalities[index]++;
+            return true;
+        }
+        char[] values = (char[]) container;
+        int cardinality = cardinalities[index];
+        int position = Arrays.binarySearch(values, 0, cardinality, low);
+        if (position >= 0) {
+            return false;
+        }
+        position = -position - 1;
+        if (cardinality == ARRAY_LIMIT) {
+            long[] bitmap = new long[BITMAP_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                bitmap[values[i] >>> 6] |= 1L << values[i];
+            }
+            bitmap[low >>> 6] |= 1L << low;
+            containers[index] = bitmap;
+        } else {
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, Math.max(4, cardinality + (cardinality >> 1))));
+                containers[index] = values;
+            }
+            System.arraycopy(values, position, values, position + 1, cardinality - position);
+            values[position] = low;
+        }
+        cardinalities[index]++;
+        return true;
+    }
+
+    /**
+     * Returns whether the set contains an id.
+     *
+     * @param id the id to look up
+     * @return {@code true} if the id is present
+     */
+    public boolean contains(int id) {
+        if (id < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, 0, size, (char) (id >>> 16));
+        if (index < 0) {
+            return false;
+        }
+        char low = (char) id;
+        Object container = containers[index];
+        if (container instanceof long[]) {
+            return (((long[]) container)[low >>> 6] & (1L << low)) != 0;
+        }
+        return Arrays.binarySearch((char[]) container, 0, cardinalities[index], low) >= 0;
+    }
+
+    /**
+     * Returns the number of ids in the set.
+     *
+     * @return the number of ids
+     */
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += cardinalities[i];
+        }
+        return total;
+    }
+
+    /**
+     * Returns whether the set is empty.
+     *
+     * @return {@code true} if the set holds no ids
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Calls the action for every id in the set, in ascending order.
+     *
+     * @param action the action to call
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            int base = keys[i] << 16;
+            Object container = containers[i];
+            if (container instanceof long[]) {
+                long[] bitmap = (long[]) container;
+                for (int w = 0; w < bitmap.length; w++) {
+                    for (long word = bitmap[w]; word != 0; word &= word - 1) {
+                        action.accept(base | (w << 6) | Long.numberOfTrailingZeros(word));
+                    }
+                }
+            } else {
+                char[] values = (char[]) container;
+                for (int v = 0; v < cardinalities[i]; v++) {
+                    action.accept(base | values[v]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Clears every id of this set from the given bitset.
+     *
+     * @param target the bitset to remove this set's ids from
+     */
+    public void removeFrom(BitSet target) {
+        forEach(target::clear);
+    }
+
+    /**
+     * Picks up to {@code count} distinct ids from the set uniformly at random.
+     *
+     * @param count the number of ids to pick
+     * @param random the source of randomness
+     * @return the picked ids in ascending order
+     */
+    public int[] sample(int count, RandomGenerator random) {
+        int total = cardinality();
+        // Random ranks among the ids, located in one sorted pass over the containers
+        int[] ranks = QuestionSampler.sampleIndexes(total, count, random);
+        int k = ranks.length;
+        Arrays.sort(ranks);
+        int[] picked = new int[k];
+        int next = 0;
+        int seen = 0;
+        for (int i = 0; i < size && next < k; i++) {
+            int base = keys[i] << 16;
+            Object container = containers[i];
+            while (next < k && ranks[next] < seen + cardinalities[i]) {
+                int rank = ranks[next] - seen;
+                if (container instanceof long[]) {
+                    picked[next++] = base | select((long[]) container, rank);
+                } else {
+                    picked[next++] = base | ((char[]) container)[rank];
+                }
+            }
+            seen += cardinalities[i];
+        }
+        return picked;
+    }
+
+    /**
+     * Returns an independent copy of this set.
+     *
+     * @return a copy of the set
+     */
+    public QuestionIdSet copy() {
+        QuestionIdSet copy = new QuestionIdSet();
+        copy.size = size;
+        copy.keys = Arrays.copyOf(keys, size);
+        copy.cardinalities = Arrays.copyOf(cardinalities, size);
+        copy.containers = new Object[size];
+        for (int i = 0; i < size; i++) {
+            Object container = containers[i];
+            copy.containers[i] = container instanceof long[]
+                    ? ((long[]) container).clone()
+                    : Arrays.copyOf((char[]) container, cardinalities[i]);
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the set as a bitset.
+     *
+     * @return a new bitset with one bit set per id
+     */
+    public BitSet toBitSet() {
+        BitSet bits = new BitSet();
+        forEach(bits::set);
+        return bits;
+    }
+
+    /**
+     * Returns an estimate of the heap used by the set's arrays, in bytes.
+     *
+     * @return the estimated size in bytes
+     */
+    public long estimatedSizeInBytes() {
+        long bytes = 16L + keys.length * 2L + containers.length * 4L + cardinalities.length * 4L + 3 * 16L;
+        for (int i = 0; i < size; i++) {
+            Object container = containers[i];
+            bytes += 16L + (container instanceof long[] ? BITMAP_WORDS * 8L : ((char[]) container).length * 2L);
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the number of bytes {@link #writeTo(ByteBuffer)} writes for this set.
+     *
+     * @return the encoded size in bytes
+     */
+    public int encodedSize() {
+        int bytes = 4;
+        for (int i = 0; i < size; i++) {
+            bytes += 2 + 4 + (containers[i] instanceof long[] ? BITMAP_WORDS * 8 : cardinalities[i] * 2);
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes the set to the buffer in its compressed layout: the number of groups, then for each group its key,
+     * its cardinality and either the sorted lower 16 bits of its ids or its bitmap.
+     *
+     * @param buffer the buffer to write to, with at least {@link #encodedSize()} bytes remaining
+     */
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putInt(size);
+        for (int i = 0; i < size; i++) {
+            buffer.putChar(keys[i]).putInt(cardinalities[i]);
+            Object container = containers[i];
+            if (container instanceof long[]) {
+                for (long word : (long[]) container) {
+                    buffer.putLong(word);
+                }
+            } else {
+                char[] values = (char[]) container;
+                for (int v = 0; v < cardinalities[i]; v++) {
+                    buffer.putChar(values[v]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a set written by {@link #writeTo(ByteBuffer)}.
+     *
+     * @param buffer the buffer to read from
+     * @return the set that was written
+     */
+    public static QuestionIdSet readFrom(ByteBuffer buffer) {
+        QuestionIdSet set = new QuestionIdSet();
+        int groups = buffer.getInt();
+        set.keys = new char[groups];
+        set.containers = new Object[groups];
+        set.cardinalities = new int[groups];
+        for (int i = 0; i < groups; i++) {
+            set.keys[i] = buffer.getChar();
+            int cardinality = buffer.getInt();
+            set.cardinalities[i] = cardinality;
+            // Groups are written as bitmaps exactly when they outgrew the array limit
+            if (cardinality > ARRAY_LIMIT) {
+                long[] bitmap = new long[BITMAP_WORDS];
+                buffer.asLongBuffer().get(bitmap);
+                buffer.position(buffer.position() + BITMAP_WORDS * 8);
+                set.containers[i] = bitmap;
+            } else {
+                char[] values = new char[cardinality];
+                buffer.asCharBuffer().get(values);
+                buffer.position(buffer.position() + cardinality * 2);
+                set.containers[i] = values;
+            }
+        }
+        set.size = groups;
+        return set;
+    }
+
+    private static int select(long[] bitmap, int rank) {
+        for (int w = 0; w < bitmap.length; w++) {
+            int count = Long.bitCount(bitmap[w]);
+            if (rank < count) {
+                long word = bitmap[w];
+                for (; rank > 0; rank--) {
+                    word &= word - 1;
+                }
+                return (w << 6) | Long.numberOfTrailingZeros(word);
+            }
+            rank -= count;
+        }
+        throw new IllegalStateException("Rank beyond container cardinality");
+    }
+
+    private void insertContainer(int index, char high) {
+        if (size == keys.length) {
+            int capacity = Math.max(1, size * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+            cardinalities = Arrays.copyOf(cardinalities, capacity);
+        }
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        System.arraycopy(cardinalities, index, cardinalities, index + 1, size - index);
+        keys[index] = high;
+        containers[index] = new char[4];
+        cardinalities[index] = 0;
+        size++;
+    }
+
+    /**
+     * Returns a string representation of the set.
+     * @return the ids in ascending order
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        forEach(id -> builder.append(builder.length() > 1 ? ", " : "").append(id));
+        return builder.append(']').toString();
+    }
+}
@@ -1,19 +1,25 @@
 package org.quizLib.Objects;
 
+import org.quizLib.Questions.QuestionIds;
 import org.quizLib.Questions.QuestionInterface;
 import org.quizLib.Statistics;
 
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
 /**
  * The {Student} class represents a student participating in the quiz system.
  * It stores the student's name, date of birth, quiz statistics, and the questions they have seen or answered incorrectly.
+ * Seen and incorrect questions are kept as compressed {@link QuestionIdSet}s of question ids (see {@code QuestionIds}),
+ * which costs about two bytes per question instead of a hash set entry per question. The questions themselves are
+ * {@link QuestionIds#retain retained}, so every id in a history keeps resolving to its question. They are read and updated while holding
+ * {@link StudentLocks#lockFor(Student)}, as are all compound updates of a student's state.
  */
 public class Student {
     private String name;
     private Date dateOfBirth;
     private final Statistics statistics;
-    private final Set<QuestionInterface> questionsSeen;
-    private final Set<QuestionInterface> incorrectQuestions;
+    private final QuestionIdSet questionsSeen;
+    private final QuestionIdSet incorrectQuestions;
     /**
      * Constructs a new {@code Student} with the specified name and date of birth.
      * @param name         the student's name
@@ -24,8 +30,8 @@ public class Student {
         this.name = name;
         this.dateOfBirth = dateOfBirth;
         this.statistics = new Statistics();
-        this.questionsSeen = new HashSet<>();
-        this.incorrectQuestions = new HashSet<>();
+        this.questionsSeen = new QuestionIdSet();
+        this.incorrectQuestions = new QuestionIdSet();
 
     }
 
@@ -68,8 +74,8 @@ public class Student {
                 "dateOfBirth=" + dateOfBirth +
                 ", name='" + name + '\'' +
                 ", statistics=" + statistics +
-                ", questionsSeen=" + questionsSeen +
-                ", incorrectQuestions=" + incorrectQuestions +
+                ", questionsSeen=" + getQuestionsSeen() +
+                ", incorrectQuestions=" + getIncorrectQuestions() +
                 '}';
     }
     /**
@@ -94,7 +100,7 @@ public class Student {
     public int hashCode() {
         int hc = 3; //prime numbers
         //41 prime number
-        hc = 41 * hc + (name == null ? 0 : name.hashCode());
+        hc = 41 * hc + (name == null ? 0 : name.toLowerCase(Locale.ROOT).hashCode());//names are compared ignoring case
         hc = 41 * hc + (dateOfBirth == null ? 0 : dateOfBirth.hashCode());//how to override hashcode for date functions
         return hc;
     }
@@ -106,31 +112,94 @@ public class Student {
         return statistics;
     }
     /**
-     * Adds a question to the set of questions the student has seen.
+     * Adds a question to the set of questions the student has seen, and retains it with {@link QuestionIds} so it
+     * can be resolved from the id later.
      * @param question the question the student has seen
      */
     public void addQuestionAsSeen(QuestionInterface question) {
-            questionsSeen.add(question);
+        QuestionIds.retain(question);
+        ReentrantLock lock = StudentLocks.lockFor(this);
+        lock.lock();
+        try {
+            questionsSeen.add(question.getQuestionId());
+        } finally {
+            lock.unlock();
+        }
     }
     /**
      * Adds a question to the set of questions the student answered incorrectly.
      * @param question the question the student answered incorrectly
      */
     public void addIncorrectQuestion(QuestionInterface question) {
-        incorrectQuestions.add(question);
+        QuestionIds.retain(question);
+        ReentrantLock lock = StudentLocks.lockFor(this);
+        lock.lock();
+        try {
+            incorrectQuestions.add(question.getQuestionId());
+        } finally {
+            lock.unlock();
+        }
+    }
+    /**
+     * Returns whether the student has seen the given question.
+     * @param question the question to look up
+     * @return {@code true} if the question was added as seen
+     */
+    public boolean hasSeenQuestion(QuestionInterface question) {
+        ReentrantLock lock = StudentLocks.lockFor(this);
+        lock.lock();
+        try {
+            return questionsSeen.contains(question.getQuestionId());
+        } finally {
+            lock.unlock();
+        }
+    }
+    /**
+     * Returns a copy of the ids of the questions the student has seen.
+     * @return a new set of seen question ids
+     */
+    public QuestionIdSet getQuestionsSeenIds() {
+        ReentrantLock lock = StudentLocks.lockFor(this);
+        lock.lock();
+        try {
+            return questionsSeen.copy();
+        } finally {
+            lock.unlock();
+        }
+    }
+    /**
+     * Returns a copy of the ids of the questions the student answered incorrectly.
+     * @return a new set of incorrectly answered question ids
+     */
+    public QuestionIdSet getIncorrectQuestionIds() {
+        ReentrantLock lock = StudentLocks.lockFor(this);
+        lock.lock();
+        try {
+            return incorrectQuestions.copy();
+        } finally {
+            lock.unlock();
+        }
     }
     /**
      * Returns the set of questions the student has seen.
+     * The set is a new copy built from the question ids; it holds every question added, since they are retained.
      * @return a set of QuestionInterface type questions the student has seen
      */
     public Set<QuestionInterface> getQuestionsSeen() {
-        return questionsSeen;
+        return toQuestions(getQuestionsSeenIds());
     }
     /**
      * Returns the set of questions the student answered incorrectly.
+     * The set is a new copy built from the question ids; it holds every question added, since they are retained.
      * @return a set of questions the student answered incorrectly
      */
     public Set<QuestionInterface> getIncorrectQuestions() {
-        return incorrectQuestions;
+        return toQuestions(getIncorrectQuestionIds());
+    }
+
+    private static Set<QuestionInterface> toQuestions(QuestionIdSet ids) {
+        Set<QuestionInterface> questions = new HashSet<>();
+        ids.forEach(id -> questions.add(QuestionIds.lookup(id)));
+        return questions;
     }
 }
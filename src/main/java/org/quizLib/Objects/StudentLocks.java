@@ -0,0 +1,38 @@
+package org.quizLib.Objects;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The {@code StudentLocks} class hands out the lock that guards a student's mutable state
+ * ({@code Statistics} and seen/incorrect questions). Locks are striped: a fixed table of locks is shared by all
+ * students, so memory does not grow with the roster, and attempts by different students rarely wait on each other.
+ */
+public final class StudentLocks {
+    private static final ReentrantLock[] STRIPES;
+    private static final int MASK;
+
+    static {
+        int stripes = Integer.highestOneBit(Math.max(64, Runtime.getRuntime().availableProcessors() * 16) - 1) << 1;
+        STRIPES = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            STRIPES[i] = new ReentrantLock();
+        }
+        MASK = stripes - 1;
+    }
+
+    private StudentLocks() {
+    }
+
+    /**
+     * Returns the lock guarding the given student's state. The same student always maps to the same lock.
+     * The lock is reentrant, so code already holding it may call other guarded methods.
+     *
+     * @param student the student whose state will be read or updated
+     * @return the lock for that student
+     */
+    public static ReentrantLock lockFor(Student student) {
+        int hash = System.identityHashCode(student);
+        hash ^= hash >>> 16;
+        return STRIPES[hash & MASK];
+    }
+}
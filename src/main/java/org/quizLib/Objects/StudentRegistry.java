@@ -0,0 +1,109 @@
+package org.quizLib.Objects;
+
+import org.quizLib.Statistics;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The {@code StudentRegistry} class keeps one {@link Student} per name and date of birth so that every part of the
+ * application works on the same {@code Statistics}. Lookups and registration are lock-free and safe to call from
+ * many threads; updates to a student's state are guarded by {@link StudentLocks}.
+ * <p>
+ * Each registry has its own {@link Statistics.ScoreObserver}s, which are notified of score and verdict changes of its
+ * students only.
+ */
+public class StudentRegistry {
+    private final Map<String, Student> students = new ConcurrentHashMap<>();
+    private final List<Statistics.ScoreObserver> scoreObservers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Returns the student with the given name and date of birth, registering a new student if none exists.
+     * Names are compared ignoring case, as in {@link Student#equals(Object)}.
+     *
+     * @param name the student's name
+     * @param dateOfBirth the student's date of birth
+     * @return the registered student
+     */
+    public Student register(String name, Date dateOfBirth) {
+        if (name == null || dateOfBirth == null) {
+            throw new IllegalArgumentException("Student name and date of birth can not be null");
+        }
+        return students.computeIfAbsent(key(name, dateOfBirth), k -> observed(new Student(name, dateOfBirth)));
+    }
+
+    /**
+     * Adds an existing student to the registry unless an equal student is already registered.
+     *
+     * @param student the student to add
+     * @return the registered student, which is the given one unless an equal student was already present
+     */
+    public Student register(Student student) {
+        // Observed before it becomes visible, so no score added by another thread is missed, and only if it is added,
+        // so a student that loses to an equal one keeps its own observers
+        return students.computeIfAbsent(key(student.getName(), student.getDateOfBirth()), k -> observed(student));
+    }
+
+    /**
+     * Returns the student with the given name and date of birth.
+     *
+     * @param name the student's name
+     * @param dateOfBirth the student's date of birth
+     * @return the registered student, or {@code null} if there is none
+     */
+    public Student find(String name, Date dateOfBirth) {
+        return students.get(key(name, dateOfBirth));
+    }
+
+    /**
+     * Returns the number of registered students.
+     *
+     * @return the number of students
+     */
+    public int size() {
+        return students.size();
+    }
+
+    /**
+     * Returns a live, unmodifiable view of the registered students. Iteration is weakly consistent and never throws
+     * {@code ConcurrentModificationException}.
+     *
+     * @return the registered students
+     */
+    public Collection<Student> getStudents() {
+        return Collections.unmodifiableCollection(students.values());
+    }
+
+    /**
+     * Registers an observer notified of score and verdict changes of the students of this registry.
+     *
+     * @param observer the observer to register
+     */
+    public void addScoreObserver(Statistics.ScoreObserver observer) {
+        scoreObservers.add(observer);
+    }
+
+    /**
+     * Removes a previously registered score observer.
+     *
+     * @param observer the observer to remove
+     */
+    public void removeScoreObserver(Statistics.ScoreObserver observer) {
+        scoreObservers.remove(observer);
+    }
+
+    private Student observed(Student student) {
+        student.getStatistics().setScoreObservers(scoreObservers);
+        return student;
+    }
+
+    private static String key(String name, Date dateOfBirth) {
+        return name.toLowerCase(Locale.ROOT) + '|' + dateOfBirth.getTime();
+    }
+}
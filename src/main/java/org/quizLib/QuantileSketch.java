@@ -0,0 +1,149 @@
+package org.quizLib;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The {@code QuantileSketch} class estimates one quantile of a stream of values with the P-squared algorithm
+ * (Jain and Chlamtac, 1985). It keeps five markers whatever the number of values, and each update is O(1).
+ * The first five values are kept exactly, so small samples give exact answers.
+ * <p>
+ * The desired marker positions grow linearly with the count, so they are computed from it rather than stored. With
+ * compressed references a sketch takes about 136 bytes: 40 for the object, 56 for the marker heights and 40 for the
+ * marker positions.
+ */
+public class QuantileSketch {
+    private final double quantile;
+    private final double[] heights = new double[5];
+    private final int[] positions = {1, 2, 3, 4, 5};
+    private long count;
+
+    /**
+     * Constructs a sketch for the given quantile.
+     *
+     * @param quantile the quantile to estimate, between 0 and 1 (for example 0.5 for the median)
+     */
+    public QuantileSketch(double quantile) {
+        if (quantile < 0.0 || quantile > 1.0) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        this.quantile = quantile;
+    }
+
+    /**
+     * Adds a value to the sketch.
+     *
+     * @param value the value to add
+     */
+    public void add(double value) {
+        if (count < 5) {
+            heights[(int) count++] = value;
+            if (count == 5) {
+                Arrays.sort(heights);
+            }
+            return;
+        }
+        count++;
+        int cell;
+        if (value < heights[0]) {
+            heights[0] = value;
+            cell = 0;
+        } else if (value >= heights[4]) {
+            heights[4] = Math.max(heights[4], value);
+            cell = 3;
+        } else {
+            cell = 0;
+            while (value >= heights[cell + 1]) {
+                cell++;
+            }
+        }
+        for (int i = cell + 1; i < 5; i++) {
+            positions[i]++;
+        }
+        for (int i = 1; i < 4; i++) {
+            double offset = desired(i) - positions[i];
+            if ((offset >= 1 && positions[i + 1] - positions[i] > 1) || (offset <= -1 && positions[i - 1] - positions[i] < -1)) {
+                int step = offset >= 0 ? 1 : -1;
+                double candidate = parabolic(i, step);
+                if (heights[i - 1] < candidate && candidate < heights[i + 1]) {
+                    heights[i] = candidate;
+                } else {
+                    heights[i] = heights[i] + step * (heights[i + step] - heights[i]) / (positions[i + step] - positions[i]);
+                }
+                positions[i] += step;
+            }
+        }
+    }
+
+    /**
+     * Returns where the middle marker {@code i} should be after {@code count} values: 1 plus {@code count - 1} times
+     * its share of the distribution, {@code quantile / 2}, {@code quantile} or {@code (1 + quantile) / 2}.
+     */
+    private double desired(int i) {
+        double share = i == 1 ? quantile / 2 : i == 2 ? quantile : (1 + quantile) / 2;
+        return 1 + (count - 1) * share;
+    }
+
+    private double parabolic(int i, int step) {
+        double n = positions[i];
+        double nBelow = positions[i - 1];
+        double nAbove = positions[i + 1];
+        return heights[i] + step / (nAbove - nBelow) * (
+                (n - nBelow + step) * (heights[i + 1] - heights[i]) / (nAbove - n)
+                        + (nAbove - n - step) * (heights[i] - heights[i - 1]) / (n - nBelow));
+    }
+
+    /**
+     * Returns the current estimate of the quantile, or {@code NaN} if no value was added.
+     *
+     * @return the estimated quantile
+     */
+    public double getEstimate() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (count < 5) {
+            double[] sorted = Arrays.copyOf(heights, (int) count);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.round(quantile * (count - 1))];
+        }
+        return heights[2];
+    }
+
+    /**
+     * Returns the number of values added.
+     *
+     * @return the number of values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /** Number of bytes written by {@link #writeTo(ByteBuffer)}. */
+    static final int ENCODED_SIZE = 8 + 5 * (8 + 4);
+
+    void writeTo(ByteBuffer buffer) {
+        buffer.putLong(count);
+        for (int i = 0; i < 5; i++) {
+            buffer.putDouble(heights[i]).putInt(positions[i]);
+        }
+    }
+
+    void readFrom(ByteBuffer buffer) {
+        count = buffer.getLong();
+        for (int i = 0; i < 5; i++) {
+            heights[i] = buffer.getDouble();
+            positions[i] = buffer.getInt();
+        }
+    }
+
+    /**
+     * Removes every value from the sketch.
+     */
+    public void clear() {
+        count = 0;
+        for (int i = 0; i < 5; i++) {
+            positions[i] = i + 1;
+        }
+    }
+}
@@ -5,11 +5,41 @@ public abstract class AbstractQuestion implements QuestionInterface {
     /**
      * The formulation or text of the question.
      */
-    String questionFormula;
+    final String questionFormula;
+    /**
+     * The dense id of the question, see {@link QuestionIds}.
+     */
+    private final int questionId;
+
+    /**
+     * Constructs a question with the given formulation and allocates its id. The question is not resolvable through
+     * {@link QuestionIds#lookup} until it is registered, which the factory, question catalogs and students do once it
+     * is fully constructed.
+     * @param questionFormula the text or formulation of the question
+     */
+    protected AbstractQuestion(String questionFormula) {
+        this.questionFormula = questionFormula;
+        this.questionId = QuestionIds.allocate();
+    }
+
+    /**
+     * Constructs a question with the given formulation and an id previously reserved with {@link QuestionIds#reserve}.
+     * @param questionFormula the text or formulation of the question
+     * @param questionId the reserved id of the question
+     */
+    protected AbstractQuestion(String questionFormula, int questionId) {
+        this.questionFormula = questionFormula;
+        this.questionId = questionId;
+    }
     /**
      * Factory method to generate an instance of a specific type of question.
      * Based on the {@code QuestionType}, this method will return an instance of either
      * {@code FreeResponseQuestion} or {@code MultipleChoiceQuestion}.
+     * <p>
+     * Instances are interned: asking twice for the same type, formulation and answer returns the same immutable
+     * object, so it has one id and one heap copy however many banks or tests build it. Answers are compared in
+     * normalized form ("Paris" and " paris ") and multiple choice options in any order ("c,a" and "a,c").
+     * Questions built with {@code new} are not interned.
      * @param questionType    the type of question to create (either FREE_RESPONSE_QUESTION or MULTIPLE_CHOICE_QUESTION)
      * @param questionFormula the text or formulation of the question
      * @param answer          the correct answer for the question
@@ -17,12 +47,27 @@ public abstract class AbstractQuestion implements QuestionInterface {
      * @throws IllegalArgumentException if the provided {@code QuestionType} is not recognized
      */
     public static QuestionInterface getQuestionInstance(QuestionType questionType, String questionFormula, String answer) {
+        return QuestionInterner.intern(questionType, questionFormula, answer);
+    }
+
+    /**
+     * Factory method to generate an instance of a specific type of question with an id reserved through
+     * {@link QuestionIds#reserve}. Used by question banks that create their questions lazily.
+     * These instances are not interned, since each reserved id must map to its own question.
+     * @param questionType    the type of question to create (either FREE_RESPONSE_QUESTION or MULTIPLE_CHOICE_QUESTION)
+     * @param questionFormula the text or formulation of the question
+     * @param answer          the correct answer for the question
+     * @param questionId      the reserved id of the question
+     * @return a specific question instance based on the given {@code QuestionType}
+     * @throws IllegalArgumentException if the provided {@code QuestionType} is not recognized
+     */
+    public static QuestionInterface getQuestionInstance(QuestionType questionType, String questionFormula, String answer, int questionId) {
 
         switch (questionType) {
             case FREE_RESPONSE_QUESTION:
-                return new FreeResponseQuestion(questionFormula, answer);
+                return new FreeResponseQuestion(questionFormula, answer, questionId);
             case MULTIPLE_CHOICE_QUESTION:
-                return new MultipleChoiceQuestion(questionFormula, answer);
+                return new MultipleChoiceQuestion(questionFormula, answer, questionId);
             default :
                 throw new IllegalArgumentException("Question type not recognized");
         }
@@ -36,8 +81,12 @@ public abstract class AbstractQuestion implements QuestionInterface {
      */
     @Override
     public String normalizeAnswer(String answer) {
-        return answer.trim().toLowerCase().replaceAll("\\s+", " ");
+        return normalize(answer);
+
+    }
 
+    static String normalize(String answer) {
+        return answer.trim().toLowerCase().replaceAll("\\s+", " ");
     }
     /**
      * Returns the formulation or text of the question.
@@ -47,5 +96,21 @@ public abstract class AbstractQuestion implements QuestionInterface {
     public String getQuestionFormula() {
         return this.questionFormula;
     }
+    /**
+     * Returns the correct answer in a canonical form, so that two questions accepting the same answers return the
+     * same string. Used by {@link QuestionIds#contentHash}; questions without an answer key return an empty string.
+     * @return the canonical answer
+     */
+    String canonicalAnswer() {
+        return "";
+    }
+    /**
+     * Returns the dense id of the question.
+     * @return the question's id
+     */
+    @Override
+    public int getQuestionId() {
+        return this.questionId;
+    }
 
 }
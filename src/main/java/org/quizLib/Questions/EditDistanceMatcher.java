@@ -0,0 +1,152 @@
+package org.quizLib.Questions;
+
+import java.util.Arrays;
+
+/**
+ * Decides whether a text is within a fixed number of edits (insertions, deletions, substitutions) of one precompiled
+ * pattern. Patterns of up to 64 characters use Myers' bit-parallel algorithm in Hyyrö's formulation for the global
+ * edit distance: one column of the dynamic programming table is a pair of 64-bit words, so each text character costs
+ * a handful of word operations. Longer patterns fall back to a band of width {@code 2k + 1} of the table.
+ * Both stop as soon as the distance can no longer come back under the bound.
+ * <p>
+ * Instances are immutable and safe to share between threads.
+ */
+final class EditDistanceMatcher {
+    private static final int WORD = 64;
+    private final String pattern;
+    private final int maxEdits;
+    private final long[] asciiMasks;
+    private final char[] otherChars;
+    private final long[] otherMasks;
+
+    EditDistanceMatcher(String pattern, int maxEdits) {
+        this.pattern = pattern;
+        this.maxEdits = maxEdits;
+        if (pattern.length() > WORD) {
+            asciiMasks = null;
+            otherChars = null;
+            otherMasks = null;
+            return;
+        }
+        // Peq: for every character, the bit positions at which it occurs in the pattern
+        long[] ascii = new long[128];
+        char[] chars = new char[0];
+        long[] masks = new long[0];
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c < 128) {
+                ascii[c] |= 1L << i;
+                continue;
+            }
+            int slot = indexOf(chars, c);
+            if (slot < 0) {
+                chars = Arrays.copyOf(chars, chars.length + 1);
+                masks = Arrays.copyOf(masks, masks.length + 1);
+                slot = chars.length - 1;
+                chars[slot] = c;
+            }
+            masks[slot] |= 1L << i;
+        }
+        asciiMasks = ascii;
+        otherChars = chars;
+        otherMasks = masks;
+    }
+
+    /**
+     * Returns whether the text is at most the configured number of edits away from the pattern.
+     */
+    boolean matches(String text) {
+        if (Math.abs(text.length() - pattern.length()) > maxEdits) {
+            return false;
+        }
+        return asciiMasks != null ? matchesBitParallel(text) : matchesBanded(text);
+    }
+
+    private boolean matchesBitParallel(String text) {
+        int m = pattern.length();
+        if (m == 0) {
+            return text.length() <= maxEdits;
+        }
+        long last = 1L << (m - 1);
+        long pv = m == WORD ? -1L : (1L << m) - 1;
+        long mv = 0;
+        int score = m;
+        int n = text.length();
+        for (int j = 0; j < n; j++) {
+            long eq = peq(text.charAt(j));
+            long xv = eq | mv;
+            long xh = (((eq & pv) + pv) ^ pv) | eq;
+            long ph = mv | ~(xh | pv);
+            long mh = pv & xh;
+            if ((ph & last) != 0) {
+                score++;
+            } else if ((mh & last) != 0) {
+                score--;
+            }
+            // Each remaining text character can lower the distance by at most one
+            if (score - (n - j - 1) > maxEdits) {
+                return false;
+            }
+            ph = (ph << 1) | 1;
+            mh <<= 1;
+            pv = mh | ~(xv | ph);
+            mv = ph & xv;
+        }
+        return score <= maxEdits;
+    }
+
+    private long peq(char c) {
+        if (c < 128) {
+            return asciiMasks[c];
+        }
+        int slot = indexOf(otherChars, c);
+        return slot < 0 ? 0 : otherMasks[slot];
+    }
+
+    private boolean matchesBanded(String text) {
+        int m = pattern.length();
+        int n = text.length();
+        int k = maxEdits;
+        int outside = k + 1;
+        int[] previous = new int[n + 1];
+        int[] current = new int[n + 1];
+        for (int j = 0; j <= n; j++) {
+            previous[j] = j <= k ? j : outside;
+        }
+        for (int i = 1; i <= m; i++) {
+            int from = Math.max(1, i - k);
+            int to = Math.min(n, i + k);
+            current[0] = i <= k ? i : outside;
+            if (from > 1) {
+                current[from - 1] = outside;
+            }
+            int best = current[0];
+            char c = pattern.charAt(i - 1);
+            for (int j = from; j <= to; j++) {
+                int substitution = previous[j - 1] + (c == text.charAt(j - 1) ? 0 : 1);
+                int value = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                current[j] = Math.min(value, outside);
+                best = Math.min(best, current[j]);
+            }
+            if (to < n) {
+                current[to + 1] = outside;
+            }
+            if (best > k) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[n] <= k;
+    }
+
+    private static int indexOf(char[] chars, char c) {
+        for (int i = 0; i < chars.length; i++) {
+            if (chars[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,28 +1,84 @@
 package org.quizLib.Questions;
 
+import java.util.ArrayList;
+import java.util.List;
 
 public class FreeResponseQuestion extends AbstractQuestion {
-    /**
-     * The text or formulation of the question.
-     */
-    private final String questionFormula;
     /**
      * The correct answer to the question.
      */
     private final String questionAnswer;
+    /**
+     * The normalized answers accepted exactly: the correct answer followed by its aliases.
+     */
+    private final String[] acceptedAnswers;
+    /**
+     * One precompiled matcher per accepted answer, or {@code null} when only exact answers are accepted.
+     */
+    private final EditDistanceMatcher[] matchers;
 
     public FreeResponseQuestion(String questionFormula, String questionAnswer) {
-        this.questionFormula = questionFormula;
-        this.questionAnswer = normalizeAnswer(questionAnswer);
+        super(questionFormula);
+        this.questionAnswer = normalize(questionAnswer);
+        this.acceptedAnswers = new String[]{this.questionAnswer};
+        this.matchers = null;
+    }
+
+    /**
+     * Constructs a free response question that also accepts the given aliases and, optionally, answers within a
+     * number of typing mistakes of an accepted answer. "Giraff" and "Pariss" are one edit (an insertion,
+     * deletion or substitution of a character) away from "giraffe" and "paris".
+     * <p>
+     * The allowed number of edits is also capped at a quarter of the length of each accepted answer, so short answers
+     * such as "bat" must still match exactly and can not be confused with "cat".
+     *
+     * @param questionFormula the text of the question
+     * @param questionAnswer the correct answer
+     * @param aliases other answers accepted as correct, for example "usa" for "united states"
+     * @param maxEdits the largest number of edits accepted, or 0 to accept only exact answers and aliases
+     * @throws IllegalArgumentException if {@code maxEdits} is negative
+     */
+    public FreeResponseQuestion(String questionFormula, String questionAnswer, List<String> aliases, int maxEdits) {
+        super(questionFormula);
+        if (maxEdits < 0) {
+            throw new IllegalArgumentException("Maximum number of edits can not be negative");
+        }
+        this.questionAnswer = normalize(questionAnswer);
+        List<String> accepted = new ArrayList<>();
+        accepted.add(this.questionAnswer);
+        for (String alias : aliases) {
+            String normalized = normalize(alias);
+            if (!accepted.contains(normalized)) {
+                accepted.add(normalized);
+            }
+        }
+        this.acceptedAnswers = accepted.toArray(new String[0]);
+        this.matchers = maxEdits == 0 ? null : compileMatchers(acceptedAnswers, maxEdits);
+    }
+
+    FreeResponseQuestion(String questionFormula, String questionAnswer, int questionId) {
+        super(questionFormula, questionId);
+        this.questionAnswer = normalize(questionAnswer);
+        this.acceptedAnswers = new String[]{this.questionAnswer};
+        this.matchers = null;
+    }
+
+    private static EditDistanceMatcher[] compileMatchers(String[] answers, int maxEdits) {
+        EditDistanceMatcher[] compiled = new EditDistanceMatcher[answers.length];
+        for (int i = 0; i < answers.length; i++) {
+            compiled[i] = new EditDistanceMatcher(answers[i], Math.min(maxEdits, answers[i].length() / 4));
+        }
+        return compiled;
     }
 
     /**
-     * Checks if the provided answer matches the correct answer.
-     * The provided answer is normalized before comparison. If multiple answers are provided,
+     * Checks if the provided answer matches the correct answer or one of its aliases.
+     * The provided answer is normalized before comparison. If the question was built with a number of allowed edits,
+     * an answer within that many edits of an accepted answer is also correct. If multiple answers are provided,
      * an {@code IllegalArgumentException} is thrown.
      *
      * @param answer the answer to check against the correct answer
-     * @return {@code true} if the provided answer matches the correct answer, {@code false} otherwise
+     * @return {@code true} if the provided answer matches an accepted answer, {@code false} otherwise
      * @throws IllegalArgumentException if more than one answer is provided (indicated by commas)
      */
     @Override
@@ -30,9 +86,24 @@ public class FreeResponseQuestion extends AbstractQuestion {
         String normalizedAnswer = normalizeAnswer(answer);
         if (normalizedAnswer.contains(",")) {  //if one or more answer is provided return error
             throw new IllegalArgumentException("Only one answer is accepted");
-        } else {
-            return normalizedAnswer.equals(questionAnswer);
         }
+        for (String accepted : acceptedAnswers) {
+            if (normalizedAnswer.equals(accepted)) {
+                return true;
+            }
+        }
+        if (matchers != null) {
+            for (EditDistanceMatcher matcher : matchers) {
+                if (matcher.matches(normalizedAnswer)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+    @Override
+    String canonicalAnswer() {
+        return String.join("\n", acceptedAnswers);
     }
     /**
      * Returns a string representation of the {@code FreeResponseQuestion}, including its formulation and answer.
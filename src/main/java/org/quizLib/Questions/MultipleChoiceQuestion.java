@@ -1,46 +1,203 @@
 package org.quizLib.Questions;
 
-import java.util.*;
 /**
  * The {@code MultipleChoiceQuestion} class represents a question where multiple correct answers are allowed.
  * It extends the {@code AbstractQuestion} class and handles validation of multiple correct answers.
+ * <p>
+ * Options are labelled with a letter ({@code a} to {@code z}, case-insensitive) or a 1-based number
+ * ({@code 1} to {@code 63}), so {@code a} and {@code 1} name the same option. A set of options is stored as a
+ * {@code long} bitmask with bit {@code i} standing for option {@code i + 1}, which turns grading into a parse
+ * and a single comparison. The sign bit is never an option, so every valid mask is non-negative and
+ * {@link #INVALID_OPTIONS} can not be mistaken for a selection.
  */
 public class MultipleChoiceQuestion extends AbstractQuestion{
+    /** The largest number of options a question can have. */
+    public static final int MAX_OPTIONS = 63;
     /**
-     * The text or formulation of the question.
+     * Returned by {@link #parseOptions(CharSequence)} when the answer is not a valid list of options. Any negative mask
+     * is invalid, see {@link #isValidOptions(long)}.
      */
-    private final String questionFormula;
+    public static final long INVALID_OPTIONS = -1L;
     /**
-     * A set of correct answers for the multiple-choice question.
+     * The bitmask of correct options for the multiple-choice question.
      */
-    private final Set<String> answerSet ;
+    private final long answerMask;
     /**
      * Constructs a {@code MultipleChoiceQuestion} with the given question formulation and correct answers.
      * The answers are expected to be provided as a comma-separated string.
      *
      * @param questionFormula the text or formulation of the question
      * @param answer a comma-separated string of correct answers
+     * @throws IllegalArgumentException if the answer is not a non-empty list of distinct options
      */
     public MultipleChoiceQuestion(String questionFormula, String answer) {
-        String[] studentAnswerArray = answer.split(",");
-        this.questionFormula = questionFormula;
-        this.answerSet = new HashSet<>(Arrays.asList(studentAnswerArray));
+        super(questionFormula);
+        this.answerMask = parseAnswerKey(answer);
+    }
+
+    MultipleChoiceQuestion(String questionFormula, String answer, int questionId) {
+        super(questionFormula, questionId);
+        this.answerMask = parseAnswerKey(answer);
+    }
+
+    private static long parseAnswerKey(String answer) {
+        long mask = parseOptions(answer);
+        if (!isValidOptions(mask) || mask == 0) {
+            throw new IllegalArgumentException("Multiple choice answer must be a comma-separated list of distinct options");
+        }
+        return mask;
     }
 
     /**
      * Checks if the provided answer matches the set of correct answers.
-     * The provided answer is expected to be a comma-separated string. It splits the input string,
-     * creates a set from the provided answers, and compares it with the correct answer set.
+     * The provided answer is expected to be a comma-separated string of options in any order. It is parsed into a
+     * bitmask and compared with the correct answer mask; an answer that repeats or misspells an option is incorrect.
      * @param answer the answer to check, provided as a comma-separated string
      * @return {@code true} if the provided answers match the correct answers exactly, {@code false} otherwise
      */
     @Override
     public boolean checkQuestionAnswer(String answer) {
-        String[] studentAnswerArray = answer.split(",");
-        if(studentAnswerArray.length != answerSet.size()) return false;
-        Set<String> studentAnswerSet = new HashSet<>(Arrays.asList(studentAnswerArray));
-        return studentAnswerSet.equals(answerSet);
+        return parseOptions(answer) == answerMask;
+    }
+
+    /**
+     * Scores the provided answer with partial credit. Each correct option selected earns an equal share of the mark
+     * and each incorrect option selected takes one share away; the result never drops below zero.
+     * An answer that can not be parsed scores zero.
+     * @param answer the answer to score, provided as a comma-separated string
+     * @return a score between 0 and 1, where 1 means the answer matches the correct answers exactly
+     */
+    public double scoreQuestionAnswer(String answer) {
+        return partialCredit(parseOptions(answer), answerMask);
+    }
+
+    /**
+     * Returns the bitmask of correct options, where bit {@code i} stands for option {@code i + 1}.
+     * @return the correct answer mask
+     */
+    public long getAnswerMask() {
+        return answerMask;
+    }
+
+    /**
+     * Computes the partial-credit score of a selection against an answer mask, as described in
+     * {@link #scoreQuestionAnswer(String)}.
+     * @param selected the selected options, or {@link #INVALID_OPTIONS}
+     * @param answerMask the correct options
+     * @return a score between 0 and 1
+     */
+    public static double partialCredit(long selected, long answerMask) {
+        if (!isValidOptions(selected)) {
+            return 0.0;
+        }
+        int earned = Long.bitCount(selected & answerMask) - Long.bitCount(selected & ~answerMask);
+        return earned <= 0 ? 0.0 : (double) earned / Long.bitCount(answerMask);
     }
+
+    /**
+     * Tells whether a mask is a set of options rather than {@link #INVALID_OPTIONS}.
+     * @param mask a mask returned by {@link #parseOptions(CharSequence)}
+     * @return {@code true} if the mask is non-negative
+     */
+    public static boolean isValidOptions(long mask) {
+        return mask >= 0;
+    }
+
+    /**
+     * Parses a comma-separated list of options into a bitmask without allocating.
+     * Whitespace around options is ignored. An empty answer yields {@code 0}.
+     * @param answer the answer to parse
+     * @return the bitmask of selected options, or {@link #INVALID_OPTIONS} if an option is unknown, empty or repeated
+     */
+    public static long parseOptions(CharSequence answer) {
+        if (answer == null) {
+            return INVALID_OPTIONS;
+        }
+        int length = answer.length();
+        int start = 0;
+        while (start < length && Character.isWhitespace(answer.charAt(start))) {
+            start++;
+        }
+        if (start == length) {
+            return 0L;
+        }
+        long mask = 0L;
+        int i = start;
+        while (true) {
+            while (i < length && Character.isWhitespace(answer.charAt(i))) {
+                i++;
+            }
+            if (i == length) {
+                return INVALID_OPTIONS; // trailing comma
+            }
+            char c = answer.charAt(i);
+            int option;
+            if (c >= 'a' && c <= 'z') {
+                option = c - 'a';
+                i++;
+            } else if (c >= 'A' && c <= 'Z') {
+                option = c - 'A';
+                i++;
+            } else if (c >= '0' && c <= '9') {
+                int number = 0;
+                while (i < length && answer.charAt(i) >= '0' && answer.charAt(i) <= '9') {
+                    number = number * 10 + (answer.charAt(i) - '0');
+                    if (number > MAX_OPTIONS) {
+                        return INVALID_OPTIONS;
+                    }
+                    i++;
+                }
+                if (number == 0) {
+                    return INVALID_OPTIONS;
+                }
+                option = number - 1;
+            } else {
+                return INVALID_OPTIONS;
+            }
+            long bit = 1L << option;
+            if ((mask & bit) != 0) {
+                return INVALID_OPTIONS;
+            }
+            mask |= bit;
+            while (i < length && Character.isWhitespace(answer.charAt(i))) {
+                i++;
+            }
+            if (i == length) {
+                return mask;
+            }
+            if (answer.charAt(i) != ',') {
+                return INVALID_OPTIONS;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Formats a bitmask of options as letters where possible and numbers otherwise, e.g. {@code [b, c]}.
+     * @param mask the options to format
+     * @return a readable list of the options
+     */
+    static String formatOptions(long mask) {
+        StringBuilder builder = new StringBuilder("[");
+        for (long rest = mask; rest != 0; rest &= rest - 1) {
+            int option = Long.numberOfTrailingZeros(rest);
+            if (builder.length() > 1) {
+                builder.append(", ");
+            }
+            if (option < 26) {
+                builder.append((char) ('a' + option));
+            } else {
+                builder.append(option + 1);
+            }
+        }
+        return builder.append(']').toString();
+    }
+
+    @Override
+    String canonicalAnswer() {
+        return formatOptions(answerMask);
+    }
+
     /**
      * Returns a string representation of the {@code MultipleChoiceQuestion}, including its formulation and answer set.
      * @return a string containing the question's formulation and correct answer set
@@ -48,7 +205,7 @@ public class MultipleChoiceQuestion extends AbstractQuestion{
     @Override
     public String toString() {
         return "MultipleChoiceQuestion{" +
-                "answerSet=" + answerSet +
+                "answerSet=" + formatOptions(answerMask) +
                 ", questionFormula='" + questionFormula + '\'' +
                 '}';
     }
@@ -0,0 +1,268 @@
+package org.quizLib.Questions;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * The {@code QuestionIds} class hands out dense integer ids to questions, so per-question data such as counters and
+ * seen/incorrect sets can be kept in arrays and bitsets rather than hash maps.
+ * <p>
+ * Every {@link AbstractQuestion} gets an id when it is constructed. Once fully built, a question is
+ * {@link #register(QuestionInterface) registered} under its id by whoever hands it out: the question factory, a
+ * question catalog, or a student who has seen it. A question bank that builds its questions lazily can instead
+ * {@link #reserve(int, IntFunction) reserve} a contiguous block of ids up front and create each question with its
+ * reserved id on demand. {@link #lookup(int)} resolves any id back to its question.
+ * <p>
+ * Questions and resolvers are held weakly, so a question no longer used by any bank or quiz, or a closed bank, can be
+ * garbage collected; its id then resolves to {@code null}. A question that is part of a student's history is
+ * {@link #retain(QuestionInterface) retained} instead and always resolves, since histories store ids only. Ids
+ * themselves are never handed out twice.
+ */
+public final class QuestionIds {
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final Object lock = new Object();
+    private static volatile Chunk[] chunks = new Chunk[16];
+    private static volatile Range[] ranges = new Range[0];
+    private static int nextId;
+
+    private QuestionIds() {
+    }
+
+    /**
+     * Allocates the next id. The question receiving it is registered separately, once it is fully constructed.
+     *
+     * @return the allocated id
+     * @throws IllegalStateException if every id has been handed out
+     */
+    static int allocate() {
+        synchronized (lock) {
+            if (nextId == Integer.MAX_VALUE) {
+                throw new IllegalStateException("Question id space exhausted");
+            }
+            return nextId++;
+        }
+    }
+
+    /**
+     * Makes a question resolvable through {@link #lookup(int)} while it is in use. Registering a question again is
+     * cheap and has no effect. Questions with reserved ids are resolved by their bank and are not registered.
+     *
+     * @param question a fully constructed question
+     * @throws IllegalArgumentException if the question's id was never handed out
+     */
+    public static void register(QuestionInterface question) {
+        store(question, false);
+    }
+
+    /**
+     * Makes a question resolvable through {@link #lookup(int)} for as long as the process runs, even once nothing
+     * else refers to it, and even if it belongs to a bank that is later closed. Students retain the questions in their
+     * history, so a history never loses a question; the cost is that those questions stay on the heap.
+     *
+     * @param question a fully constructed question
+     * @throws IllegalArgumentException if the question's id was never handed out
+     */
+    public static void retain(QuestionInterface question) {
+        store(question, true);
+    }
+
+    private static void store(QuestionInterface question, boolean strong) {
+        int id = question.getQuestionId();
+        Chunk[] directory = chunks;
+        int chunk = id >>> CHUNK_BITS;
+        int slot = id & (CHUNK_SIZE - 1);
+        if (id >= 0 && chunk < directory.length && directory[chunk] != null) {
+            Object current = directory[chunk].slots.get(slot);
+            // A retained question is never weakened again by a later register
+            if (current == question || (!strong && current instanceof WeakReference<?> weak && weak.get() == question)) {
+                return;
+            }
+        }
+        synchronized (lock) {
+            if (id < 0 || id >= nextId) {
+                throw new IllegalArgumentException("Question id " + id + " was not handed out");
+            }
+            if (!strong && findRange(ranges, id) != null) {
+                return;
+            }
+            ensureCapacity(id);
+            Object current = chunks[chunk].slots.get(slot);
+            if (current != question) {
+                chunks[chunk].slots.set(slot, strong ? question : new WeakReference<>(question));
+            }
+        }
+    }
+
+    /**
+     * Reserves a contiguous block of ids for questions that will be created later.
+     * {@link #lookup(int)} calls the resolver with the offset of the id inside the block. The resolver is held weakly,
+     * so the caller must keep a reference to it for as long as the block is in use, and should
+     * {@link #release(int) release} the block when it is closed.
+     *
+     * @param count the number of ids to reserve
+     * @param resolver builds or returns the question at a given offset of the block
+     * @return the first id of the block
+     */
+    public static int reserve(int count, IntFunction<QuestionInterface> resolver) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Reserved id count can not be negative");
+        }
+        synchronized (lock) {
+            if ((long) nextId + count > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Question id space exhausted");
+            }
+            int base = nextId;
+            nextId += count;
+            // Blocks whose resolver was collected are dropped while copying
+            List<Range> live = new ArrayList<>(ranges.length + 1);
+            for (Range range : ranges) {
+                if (range.resolver.get() != null) {
+                    live.add(range);
+                }
+            }
+            live.add(new Range(base, count, resolver));
+            ranges = live.toArray(new Range[0]);
+            return base;
+        }
+    }
+
+    /**
+     * Releases a block reserved with {@link #reserve}. Its ids resolve to {@code null} afterwards and are not reused.
+     *
+     * @param base the first id of the block
+     */
+    public static void release(int base) {
+        synchronized (lock) {
+            List<Range> kept = new ArrayList<>(ranges.length);
+            for (Range range : ranges) {
+                if (range.base != base && range.resolver.get() != null) {
+                    kept.add(range);
+                }
+            }
+            ranges = kept.toArray(new Range[0]);
+        }
+    }
+
+    /**
+     * Returns the question with the given id.
+     *
+     * @param id the question id
+     * @return the question, or {@code null} if the id was never handed out, its question was never registered or is no
+     *         longer in use, or its block was released
+     */
+    public static QuestionInterface lookup(int id) {
+        if (id < 0) {
+            return null;
+        }
+        Chunk[] directory = chunks;
+        int chunk = id >>> CHUNK_BITS;
+        if (chunk < directory.length && directory[chunk] != null) {
+            Object slot = directory[chunk].slots.get(id & (CHUNK_SIZE - 1));
+            if (slot instanceof QuestionInterface retained) {
+                return retained;
+            }
+            if (slot instanceof WeakReference<?> reference && reference.get() instanceof QuestionInterface question) {
+                return question;
+            }
+        }
+        Range range = findRange(ranges, id);
+        if (range == null) {
+            return null;
+        }
+        IntFunction<QuestionInterface> resolver = range.resolver.get();
+        return resolver == null ? null : resolver.apply(id - range.base);
+    }
+
+    /**
+     * Returns one more than the largest id handed out so far, i.e. the size of an array indexed by id.
+     *
+     * @return the current upper bound of the id space
+     */
+    public static int bound() {
+        synchronized (lock) {
+            return nextId;
+        }
+    }
+
+    /**
+     * Returns a 64-bit hash of the question's class, formulation and correct answer. Unlike its id, the hash is the
+     * same on every run, so it is what persisted data stores to refer to a question. A question whose answer key was
+     * corrected gets a new hash.
+     *
+     * @param question the question
+     * @return the content hash of the question
+     */
+    public static long contentHash(QuestionInterface question) {
+        // FNV-1a over the UTF-16 code units, so the hash depends on nothing but the text
+        long hash = 0xcbf29ce484222325L;
+        hash = fnv(hash, question.getClass().getName());
+        hash = (hash ^ '\n') * 0x100000001b3L;
+        hash = fnv(hash, question.getQuestionFormula());
+        if (question instanceof AbstractQuestion) {
+            hash = (hash ^ '\n') * 0x100000001b3L;
+            hash = fnv(hash, ((AbstractQuestion) question).canonicalAnswer());
+        }
+        return hash;
+    }
+
+    private static long fnv(long hash, String text) {
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static Range findRange(Range[] current, int id) {
+        int low = 0;
+        int high = current.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            Range range = current[middle];
+            if (id < range.base) {
+                high = middle - 1;
+            } else if (id >= range.base + range.count) {
+                low = middle + 1;
+            } else {
+                return range;
+            }
+        }
+        return null;
+    }
+
+    private static void ensureCapacity(int id) {
+        int chunk = id >>> CHUNK_BITS;
+        Chunk[] directory = chunks;
+        if (chunk >= directory.length) {
+            Chunk[] grown = new Chunk[Math.max(directory.length * 2, chunk + 1)];
+            System.arraycopy(directory, 0, grown, 0, directory.length);
+            directory = grown;
+        }
+        if (directory[chunk] == null) {
+            directory[chunk] = new Chunk();
+        }
+        chunks = directory;
+    }
+
+    /**
+     * A block of slots, each empty, a {@link WeakReference} to a registered question or a retained question itself.
+     */
+    private static final class Chunk {
+        private final AtomicReferenceArray<Object> slots = new AtomicReferenceArray<>(CHUNK_SIZE);
+    }
+
+    private static final class Range {
+        private final int base;
+        private final int count;
+        private final WeakReference<IntFunction<QuestionInterface>> resolver;
+
+        private Range(int base, int count, IntFunction<QuestionInterface> resolver) {
+            this.base = base;
+            this.count = count;
+            this.resolver = new WeakReference<>(resolver);
+        }
+    }
+}
@@ -27,5 +27,10 @@ public  interface QuestionInterface {
      * @return the formulation of the question
      */
     String getQuestionFormula();
+    /**
+     * Retrieves the dense integer id of the question, unique among all questions in the application.
+     * @return the id of the question
+     */
+    int getQuestionId();
 
 }
@@ -0,0 +1,107 @@
+package org.quizLib.Questions;
+
+import org.enums.QuestionType;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps one canonical instance per question content for {@link AbstractQuestion#getQuestionInstance(QuestionType, String, String)}.
+ * Content is the question type, the exact formulation and the answer in canonical form: the normalized text for free
+ * response questions and the option bitmask for multiple choice questions, so "c,d,a" and "a, c, d" are the same answer.
+ * <p>
+ * Canonical instances are held weakly: once no bank, quiz or caller uses a question it can be collected, and its entry
+ * is dropped on a later call. Building the same content again afterwards gives a new instance with a new id.
+ */
+final class QuestionInterner {
+    private static final Map<Key, Entry> canonical = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<QuestionInterface> collected = new ReferenceQueue<>();
+
+    private QuestionInterner() {
+    }
+
+    static QuestionInterface intern(QuestionType questionType, String questionFormula, String answer) {
+        if (questionFormula == null || answer == null) {
+            throw new IllegalArgumentException("Question formula and answer can not be null");
+        }
+        String canonicalAnswer;
+        switch (questionType) {
+            case FREE_RESPONSE_QUESTION:
+                canonicalAnswer = AbstractQuestion.normalize(answer);
+                break;
+            case MULTIPLE_CHOICE_QUESTION:
+                long mask = MultipleChoiceQuestion.parseOptions(answer);
+                if (!MultipleChoiceQuestion.isValidOptions(mask) || mask == 0) {
+                    // Not a valid key, so let the constructor report it without caching anything
+                    return new MultipleChoiceQuestion(questionFormula, answer);
+                }
+                canonicalAnswer = Long.toHexString(mask);
+                break;
+            default:
+                throw new IllegalArgumentException("Question type not recognized");
+        }
+        purge();
+        Key key = new Key(questionType, questionFormula, canonicalAnswer);
+        // The question is only built, and its id only allocated, by the caller that installs it
+        QuestionInterface[] result = new QuestionInterface[1];
+        canonical.compute(key, (k, entry) -> {
+            QuestionInterface existing = entry == null ? null : entry.get();
+            if (existing != null) {
+                result[0] = existing;
+                return entry;
+            }
+            result[0] = questionType == QuestionType.FREE_RESPONSE_QUESTION
+                    ? new FreeResponseQuestion(questionFormula, answer)
+                    : new MultipleChoiceQuestion(questionFormula, answer);
+            return new Entry(k, result[0]);
+        });
+        QuestionIds.register(result[0]);
+        return result[0];
+    }
+
+    private static void purge() {
+        for (Reference<? extends QuestionInterface> reference; (reference = collected.poll()) != null; ) {
+            Entry entry = (Entry) reference;
+            canonical.remove(entry.key, entry);
+        }
+    }
+
+    private static final class Entry extends WeakReference<QuestionInterface> {
+        final Key key;
+
+        Entry(Key key, QuestionInterface question) {
+            super(question, collected);
+            this.key = key;
+        }
+    }
+
+    private static final class Key {
+        final QuestionType questionType;
+        final String questionFormula;
+        final String answer;
+        final int hash;
+
+        Key(QuestionType questionType, String questionFormula, String answer) {
+            this.questionType = questionType;
+            this.questionFormula = questionFormula;
+            this.answer = answer;
+            this.hash = (questionType.hashCode() * 31 + questionFormula.hashCode()) * 31 + answer.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            return questionType == other.questionType && questionFormula.equals(other.questionFormula) && answer.equals(other.answer);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,12 +1,28 @@
 package org.quizLib.Quiz;
+import org.enums.QuizOperation;
 import org.enums.VerdictEnum;
+import org.quizLib.Bank.BankVersion;
+import org.quizLib.Bank.QuestionBank;
+import org.quizLib.Bank.QuestionCatalog;
+import org.quizLib.Bank.QuestionDifficulty;
+import org.quizLib.Bank.QuestionImportReport;
+import org.quizLib.Bank.QuestionImporter;
+import org.quizLib.Grading.GradingCache;
+import org.quizLib.Metrics.QuizMetrics;
 import org.quizLib.Objects.Student;
+import org.quizLib.Objects.StudentLocks;
 import org.quizLib.Questions.AbstractQuestion;
 import org.quizLib.Questions.QuestionInterface;
 import org.quizLib.Statistics;
-import java.util.HashSet;
+import org.quizLib.Storage.AttemptLog;
+import org.quizLib.Storage.AttemptRecord;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static org.enums.QuestionType.FREE_RESPONSE_QUESTION;
 import static org.enums.QuestionType.MULTIPLE_CHOICE_QUESTION;
@@ -16,36 +32,113 @@ import static org.enums.QuestionType.MULTIPLE_CHOICE_QUESTION;
  * questions and checking student eligibility.
  */
 public abstract class AbstractQuiz implements Quiz {
-    /** Stores all free response questions available in the application. */
-    protected static final Set<QuestionInterface> freeResponseQuestions = new HashSet<>();
-    /** Stores all multiple choice questions available in the application. */
-    protected static final Set<QuestionInterface> multiChoiceResponseQuestions = new HashSet<>();
-    // Static block to initialize question sets with sample questions
+    /** Stores all free response and multiple choice questions available in the application, indexed by type. */
+    protected static final QuestionCatalog questionCatalog = new QuestionCatalog();
+    // Static block to initialize the question catalog with sample questions
     static {
         //Free response question samples
-        freeResponseQuestions.add(AbstractQuestion.getQuestionInstance(FREE_RESPONSE_QUESTION, "Where were the 2024 Summer Olympics held?", "Paris"));
-        freeResponseQuestions.add(AbstractQuestion.getQuestionInstance(FREE_RESPONSE_QUESTION, "What is the only mammal that can fly?", "Bat"));
-        freeResponseQuestions.add(AbstractQuestion.getQuestionInstance(FREE_RESPONSE_QUESTION, "What is the tallest animal in the world?", "Giraffe"));
+        questionCatalog.add(FREE_RESPONSE_QUESTION, AbstractQuestion.getQuestionInstance(FREE_RESPONSE_QUESTION, "Where were the 2024 Summer Olympics held?", "Paris"));
+        questionCatalog.add(FREE_RESPONSE_QUESTION, AbstractQuestion.getQuestionInstance(FREE_RESPONSE_QUESTION, "What is the only mammal that can fly?", "Bat"));
+        questionCatalog.add(FREE_RESPONSE_QUESTION, AbstractQuestion.getQuestionInstance(FREE_RESPONSE_QUESTION, "What is the tallest animal in the world?", "Giraffe"));
         //Multiple choice question samples
-        multiChoiceResponseQuestions.add(AbstractQuestion.getQuestionInstance(MULTIPLE_CHOICE_QUESTION, "Which of the following are programming languages?\n" +
+        questionCatalog.add(MULTIPLE_CHOICE_QUESTION, AbstractQuestion.getQuestionInstance(MULTIPLE_CHOICE_QUESTION, "Which of the following are programming languages?\n" +
                         "a) HTML\n" +
                         "b) Java\n" +
                         "c) Python\n" +
                         "d) CSS",
                 "b,c"));
-        multiChoiceResponseQuestions.add(AbstractQuestion.getQuestionInstance(MULTIPLE_CHOICE_QUESTION, "Which of the following are primary colors?\n" +
+        questionCatalog.add(MULTIPLE_CHOICE_QUESTION, AbstractQuestion.getQuestionInstance(MULTIPLE_CHOICE_QUESTION, "Which of the following are primary colors?\n" +
                         "a) Red\n" +
                         "b) Green\n" +
                         "c) Blue\n" +
                         "d) Yellow",
                 "a,c,d"));
-        multiChoiceResponseQuestions.add(AbstractQuestion.getQuestionInstance(MULTIPLE_CHOICE_QUESTION, "Which of the following are fruits?\n" +
+        questionCatalog.add(MULTIPLE_CHOICE_QUESTION, AbstractQuestion.getQuestionInstance(MULTIPLE_CHOICE_QUESTION, "Which of the following are fruits?\n" +
                         "a) Apple\n" +
                         "b) Tomato\n" +
                         "c) Carrot\n" +
                         "d) Banana",
                 "c,d,a"));
     }
+
+    /**
+     * Adds the questions of a CSV file to the built-in question catalog shared by quizzes created without a bank.
+     * See {@link QuestionImporter} for the file format.
+     *
+     * @param questions the CSV file of questions
+     * @return a report of the import, including the rows that were rejected
+     * @throws IOException if the file can not be read; no question is added in that case
+     */
+    public static QuestionImportReport importQuestions(Path questions) throws IOException {
+        return new QuestionImporter(questionCatalog).importFile(questions);
+    }
+    /** The question bank this quiz draws its questions from. */
+    protected final QuestionBank questionBank;
+    private volatile AttemptLog attemptLog;
+    private volatile GradingCache gradingCache;
+
+    /**
+     * Constructs a quiz that draws from the shared built-in question catalog.
+     */
+    protected AbstractQuiz() {
+        this(questionCatalog);
+    }
+
+    /**
+     * Constructs a quiz that draws from the given question bank, for example a {@code MappedQuestionBank}.
+     *
+     * @param questionBank the question bank to draw questions from
+     */
+    protected AbstractQuiz(QuestionBank questionBank) {
+        if (questionBank == null) {
+            throw new IllegalArgumentException("Question bank can not be null");
+        }
+        this.questionBank = questionBank;
+    }
+
+    /**
+     * Returns the current version of the question bank this quiz draws from, which together with a seed identifies a
+     * reproducibly generated quiz.
+     *
+     * @return the number of questions of each type in the question bank now
+     */
+    public BankVersion getBankVersion() {
+        return BankVersion.of(questionBank);
+    }
+    /**
+     * Sets the log that graded attempts are written to before {@link #takeQuizGeneral} returns.
+     *
+     * @param attemptLog the attempt log, or {@code null} to stop logging
+     */
+    public void setAttemptLog(AttemptLog attemptLog) {
+        this.attemptLog = attemptLog;
+    }
+
+    /**
+     * Returns the log that graded attempts are written to.
+     *
+     * @return the attempt log, or {@code null} if attempts are not logged
+     */
+    public AttemptLog getAttemptLog() {
+        return attemptLog;
+    }
+    /**
+     * Sets the cache consulted before each answer is checked, which may be shared by several quizzes.
+     *
+     * @param gradingCache the grading cache, or {@code null} to check every answer
+     */
+    public void setGradingCache(GradingCache gradingCache) {
+        this.gradingCache = gradingCache;
+    }
+
+    /**
+     * Returns the cache consulted before each answer is checked.
+     *
+     * @return the grading cache, or {@code null} if answers are always checked
+     */
+    public GradingCache getGradingCache() {
+        return gradingCache;
+    }
     /**
      * Checks if the given student is eligible to take the quiz. The method throws an exception if
      * the student has already passed or failed as a final verdict and is no longer eligible to take another quiz.
@@ -64,6 +157,14 @@ public abstract class AbstractQuiz implements Quiz {
     /**
      * Generalized method to handle quiz-taking. This method processes the student's answers,
      * calculates the score based on the number of correct answers, and updates the student's statistics.
+     * Every answer of an accepted attempt is also counted in {@link QuestionDifficulty#shared()}. If a {@link GradingCache} is set,
+     * answers already seen for a question are graded from it. The time taken is recorded in {@link QuizMetrics}.
+     * <p>
+     * The student's state is updated under {@link StudentLocks#lockFor(Student)}, so attempts by different students
+     * run in parallel while attempts by the same student are applied one at a time, verdict included.
+     * If an {@link AttemptLog} is set, the attempt is queued to it under the same lock and the method returns once
+     * the log has been forced to disk. The log is write-behind: the student is updated first, so if the write fails
+     * the attempt stays applied in memory, this method throws, and the attempt is missing after a restart.
      *
      * @param student the student taking the quiz
      * @param questionInterfaces the list of questions in the quiz.
@@ -74,30 +175,103 @@ public abstract class AbstractQuiz implements Quiz {
      * @param answers the list of answers provided by the student
      * @param v_enum the type of quiz being taken (regular or revision)
      * @return the score as a fraction between 0 and 1, representing the percentage of correct answers
+     * @throws IllegalStateException if the attempt was applied but could not be written to the attempt log
      */
     public double takeQuizGeneral(Student student, List<QuestionInterface> questionInterfaces, List<String> answers,VerdictEnum v_enum) {
+        long start = QuizMetrics.start();
         checkEligibility(student);
-        Statistics studentStatistics = student.getStatistics();
+        // Grading only reads the questions, so it runs before taking the student's lock
+        GradedAttempt attempt = grade(questionInterfaces, answers, v_enum);
+        CompletableFuture<Long> logged;
+        ReentrantLock lock = StudentLocks.lockFor(student);
+        lock.lock();
+        try {
+            logged = apply(student, questionInterfaces, attempt, v_enum);
+        } finally {
+            lock.unlock();
+        }
+        if (logged != null) {
+            // Waiting outside the lock lets one flush cover the attempts of many students
+            try {
+                logged.join();
+            } catch (CompletionException e) {
+                throw new IllegalStateException("The attempt could not be written to the attempt log", e.getCause());
+            }
+        }
+        QuizMetrics.record(QuizOperation.TAKE_QUIZ, v_enum, start);
+        return attempt.score;
+    }
+
+    /**
+     * Grades the answers. Touches no student state and records nothing, since the attempt may still be refused.
+     */
+    GradedAttempt grade(List<QuestionInterface> questionInterfaces, List<String> answers, VerdictEnum v_enum) {
         int totalQuestions = questionInterfaces.size();
+        boolean[] correct = new boolean[totalQuestions];
         int correctAnswers = 0;
         int index = 0;
-        double score;
+        GradingCache cache = gradingCache;
         for (QuestionInterface question : questionInterfaces) {
-            if (question.checkQuestionAnswer(answers.get(index))) {
+            String answer = answers.get(index);
+            long checkStart = QuizMetrics.startAnswer();
+            if (cache == null ? question.checkQuestionAnswer(answer) : cache.check(question, answer)) {
+                correct[index] = true;
                 correctAnswers++;
-                student.addQuestionAsSeen(question);
             }
+            QuizMetrics.record(QuizOperation.CHECK_ANSWER, v_enum, checkStart);
             index++;
         }
+        double score;
         if (correctAnswers == 0) {
             score = 0.0;
         } else {
             score = (double) (totalQuestions) / correctAnswers;
         }
+        return new GradedAttempt(correct, correctAnswers, score);
+    }
+
+    /**
+     * Applies a graded attempt to the student and counts its answers in {@link QuestionDifficulty#shared()}, once the
+     * attempt is known to be accepted. The caller must hold {@link StudentLocks#lockFor(Student)}.
+     *
+     * @return the attempt log's future for the attempt, or {@code null} if attempts are not logged
+     * @throws IllegalArgumentException if the student has reached a final verdict
+     */
+    CompletableFuture<Long> apply(Student student, List<QuestionInterface> questionInterfaces, GradedAttempt attempt, VerdictEnum v_enum) {
+        // Another attempt may have reached a final verdict while this one was being graded
+        checkEligibility(student);
+        QuestionDifficulty difficulty = QuestionDifficulty.shared();
+        List<QuestionInterface> seen = new ArrayList<>(attempt.correctAnswers);
+        int index = 0;
+        for (QuestionInterface question : questionInterfaces) {
+            difficulty.record(question.getQuestionId(), attempt.correct[index]);
+            if (attempt.correct[index++]) {
+                student.addQuestionAsSeen(question);
+                seen.add(question);
+            }
+        }
+        Statistics studentStatistics = student.getStatistics();
         studentStatistics.incrementRegAttempts();
-        studentStatistics.addScores(score,v_enum);
-        return score;
+        studentStatistics.addScores(attempt.score,v_enum);
+        AttemptLog log = attemptLog;
+        if (log == null) {
+            return null;
+        }
+        // Queued under the lock so the log keeps each student's attempts in the order they were applied
+        return log.append(new AttemptRecord(student.getName(), student.getDateOfBirth(), v_enum, attempt.score, seen));
     }
 
-}
+    /** The outcome of grading an attempt, before it is applied to the student. */
+    static final class GradedAttempt {
+        final boolean[] correct;
+        final int correctAnswers;
+        final double score;
 
+        GradedAttempt(boolean[] correct, int correctAnswers, double score) {
+            this.correct = correct;
+            this.correctAnswers = correctAnswers;
+            this.score = score;
+        }
+    }
+
+}
@@ -0,0 +1,241 @@
+package org.quizLib.Quiz;
+
+import org.enums.VerdictEnum;
+import org.quizLib.Bank.ItemCalibration;
+import org.quizLib.Bank.QuestionBank;
+import org.quizLib.Objects.Student;
+import org.quizLib.Questions.QuestionIds;
+import org.quizLib.Questions.QuestionInterface;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The {@code AdaptiveQuiz} class is a quiz that chooses each question from the answers given so far. It keeps, per
+ * {@link Session}, a running estimate of the student's ability on the same logit scale as the questions'
+ * {@link ItemCalibration calibrated difficulties}, and asks next one of the questions whose difficulty is closest to
+ * that estimate, where an answer tells the most about the student.
+ * <p>
+ * After each answer the estimate takes one Newton step on the Rasch log-likelihood with a standard normal prior,
+ * {@code θ += (correct - p) / (1 + Σ p(1 - p))}, where {@code p} is the predicted chance of a correct answer. That is
+ * O(1) per answer, and the accumulated information gives the standard error of the estimate. Choosing the next
+ * question is a binary search in the calibration's difficulty order.
+ * <p>
+ * A finished session is scored and recorded like a regular quiz.
+ */
+public class AdaptiveQuiz extends AbstractQuiz implements Quiz {
+    private static final int DEFAULT_SPREAD = 5;
+    private volatile ItemCalibration calibration;
+    private final int spread;
+
+    /**
+     * Constructs an adaptive quiz over the built-in question catalog.
+     *
+     * @param calibration the difficulties of the catalog's questions
+     */
+    public AdaptiveQuiz(ItemCalibration calibration) {
+        super();
+        this.calibration = calibration;
+        this.spread = DEFAULT_SPREAD;
+    }
+
+    /**
+     * Constructs an adaptive quiz over the given question bank.
+     *
+     * @param questionBank the question bank to draw questions from
+     * @param calibration the difficulties of the bank's questions
+     * @param spread the number of questions closest to the ability estimate that the next question is chosen from
+     */
+    public AdaptiveQuiz(QuestionBank questionBank, ItemCalibration calibration, int spread) {
+        super(questionBank);
+        if (spread < 1) {
+            throw new IllegalArgumentException("Spread must be positive");
+        }
+        this.calibration = calibration;
+        this.spread = spread;
+    }
+
+    /**
+     * Replaces the calibration, for example after the offline calibration job ran. Sessions already started keep the
+     * calibration they started with.
+     *
+     * @param calibration the new difficulties
+     */
+    public void setCalibration(ItemCalibration calibration) {
+        if (calibration == null) {
+            throw new IllegalArgumentException("Calibration can not be null");
+        }
+        this.calibration = calibration;
+    }
+
+    /**
+     * Returns the calibration new sessions use.
+     *
+     * @return the current calibration
+     */
+    public ItemCalibration getCalibration() {
+        return calibration;
+    }
+
+    /**
+     * Starts an adaptive session for the student.
+     *
+     * @param student the student taking the quiz
+     * @return the session, whose first question is returned by {@link Session#next()}
+     * @throws IllegalArgumentException if the student is not eligible to take a quiz
+     */
+    public Session start(Student student) {
+        checkEligibility(student);
+        return new Session(student, calibration);
+    }
+
+    /**
+     * Generates a fixed quiz for a student of average ability: the questions whose difficulty is closest to 0.
+     *
+     * @param numberOfQuestions the number of questions to include in the quiz
+     * @return a set of {@link QuestionInterface} objects representing the generated quiz questions
+     */
+    @Override
+    public Set<QuestionInterface> generateQuiz(int numberOfQuestions) {
+        ItemCalibration current = calibration;
+        Set<QuestionInterface> questions = new LinkedHashSet<>();
+        for (int position : current.nearest(0, Math.max(0, numberOfQuestions), id -> false)) {
+            questions.add(QuestionIds.lookup(current.questionId(position)));
+        }
+        return questions;
+    }
+
+    /**
+     * Scores the answers and records them as a regular quiz.
+     *
+     * @param student the student taking the quiz
+     * @param questionInterfaces the list of questions in the quiz
+     * @param answers the list of answers provided by the student
+     * @return the score, as returned by {@link AbstractQuiz#takeQuizGeneral}
+     */
+    @Override
+    public double takeQuiz(Student student, List<QuestionInterface> questionInterfaces, List<String> answers) {
+        return takeQuizGeneral(student, questionInterfaces, new ArrayList<>(answers), VerdictEnum.REGULAR);
+    }
+
+    /**
+     * Provides a revision quiz. Adaptive quizzes do not handle revisions and return an empty set.
+     *
+     * @param student the student requesting the revision quiz
+     * @param numberOfQuestions the number of questions for the revision quiz
+     * @return an empty set
+     */
+    @Override
+    public Set<QuestionInterface> revise(Student student, int numberOfQuestions) {
+        return Set.of();
+    }
+
+    /**
+     * One student's adaptive quiz. A session is used by one thread at a time: ask {@link #next()}, then
+     * {@link #answer(String)}, and {@link #finish()} when enough questions were asked.
+     */
+    public final class Session {
+        private final Student student;
+        private final ItemCalibration calibration;
+        private final Set<Integer> asked = new HashSet<>();
+        private final List<QuestionInterface> questions = new ArrayList<>();
+        private final List<String> answers = new ArrayList<>();
+        private double ability;
+        private double information = 1.0;
+        private int current = -1;
+        private boolean finished;
+
+        private Session(Student student, ItemCalibration calibration) {
+            this.student = student;
+            this.calibration = calibration;
+        }
+
+        /**
+         * Returns the next question, chosen for the current ability estimate. Calling it again before the question
+         * is answered returns the same question.
+         *
+         * @return the next question, or {@code null} if every calibrated question was asked
+         * @throws IllegalStateException if the session is finished
+         */
+        public QuestionInterface next() {
+            checkOpen();
+            if (current < 0) {
+                current = calibration.select(ability, spread, asked::contains, ThreadLocalRandom.current());
+                if (current < 0) {
+                    return null;
+                }
+            }
+            return QuestionIds.lookup(calibration.questionId(current));
+        }
+
+        /**
+         * Answers the current question and updates the ability estimate.
+         *
+         * @param answer the student's answer
+         * @return {@code true} if the answer is correct
+         * @throws IllegalStateException if there is no current question or the session is finished
+         */
+        public boolean answer(String answer) {
+            checkOpen();
+            if (current < 0) {
+                throw new IllegalStateException("No question to answer; call next() first");
+            }
+            QuestionInterface question = QuestionIds.lookup(calibration.questionId(current));
+            boolean correct = question.checkQuestionAnswer(answer);
+            double p = 1.0 / (1.0 + Math.exp(calibration.difficulty(current) - ability));
+            information += p * (1.0 - p);
+            ability += ((correct ? 1.0 : 0.0) - p) / information;
+            asked.add(question.getQuestionId());
+            questions.add(question);
+            answers.add(answer);
+            current = -1;
+            return correct;
+        }
+
+        /**
+         * Returns the current ability estimate on the logit scale; 0 is the ability of an average student.
+         * @return the ability estimate
+         */
+        public double getAbility() {
+            return ability;
+        }
+
+        /**
+         * Returns the standard error of the ability estimate, which shrinks as questions are answered.
+         * @return the standard error
+         */
+        public double getStandardError() {
+            return 1.0 / Math.sqrt(information);
+        }
+
+        /**
+         * Returns the questions answered so far, in the order they were asked.
+         * @return an unmodifiable list of questions
+         */
+        public List<QuestionInterface> getQuestions() {
+            return Collections.unmodifiableList(questions);
+        }
+
+        /**
+         * Ends the session and records the answered questions as a regular quiz.
+         *
+         * @return the score, as returned by {@link AbstractQuiz#takeQuizGeneral}
+         * @throws IllegalStateException if the session is already finished or no question was answered
+         * @throws IllegalArgumentException if the student is no longer eligible
+         */
+        public double finish() {
+            checkOpen();
+            if (questions.isEmpty()) {
+                throw new IllegalStateException("No question was answered");
+            }
+            finished = true;
+            return takeQuizGeneral(student, new ArrayList<>(questions), new ArrayList<>(answers), VerdictEnum.REGULAR);
+        }
+
+        private void checkOpen() {
+            if (finished) {
+                throw new IllegalStateException("The session is finished");
+            }
+        }
+    }
+}
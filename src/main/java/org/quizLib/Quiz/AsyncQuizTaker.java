@@ -0,0 +1,180 @@
+package org.quizLib.Quiz;
+
+import org.enums.VerdictEnum;
+import org.quizLib.Objects.Student;
+import org.quizLib.Objects.StudentLocks;
+import org.quizLib.Questions.QuestionInterface;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The {@code AsyncQuizTaker} class is an asynchronous variant of {@link Quiz#takeQuiz}: it returns at once with a
+ * future for the score, grades on the given executor and applies the result to the student's statistics later.
+ * <p>
+ * Graded attempts are not applied one by one. They are queued by the student's lock stripe
+ * ({@link StudentLocks#lockFor(Student)}), and a single drain per stripe applies everything queued so far while
+ * holding the lock once, so under load many attempts share one critical section instead of each contending for it.
+ * Attempts by the same student are applied in the order they finished grading, and eligibility is checked again
+ * for each one when it is applied.
+ * <p>
+ * The futures complete exceptionally with {@link IllegalArgumentException} for ineligible students, and with
+ * {@link IllegalStateException} if the attempt could not be written to the quiz's attempt log. If the executor rejects
+ * the grading or the drain of an attempt, for example because it was shut down, the future completes exceptionally
+ * with the {@link RejectedExecutionException}.
+ */
+public final class AsyncQuizTaker {
+    private final AbstractQuiz quiz;
+    private final VerdictEnum quizType;
+    private final Executor executor;
+    private final Map<ReentrantLock, Stripe> stripes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an asynchronous quiz taker.
+     *
+     * @param quiz the quiz whose grading, statistics updates and attempt log are used
+     * @param quizType the type of quiz taken, {@code REGULAR} or {@code REVISION}
+     * @param executor the executor that grades attempts and applies batches
+     */
+    public AsyncQuizTaker(AbstractQuiz quiz, VerdictEnum quizType, Executor executor) {
+        if (quizType != VerdictEnum.REGULAR && quizType != VerdictEnum.REVISION) {
+            throw new IllegalArgumentException("Quiz type must be REGULAR or REVISION");
+        }
+        this.quiz = quiz;
+        this.quizType = quizType;
+        this.executor = executor;
+    }
+
+    /**
+     * Grades the answers and applies the score to the student's statistics without blocking the caller.
+     *
+     * @param student the student taking the quiz
+     * @param questionInterfaces the list of questions in the quiz
+     * @param answers the list of answers provided by the student
+     * @return a future for the score, completed once the score has been applied (and logged, if the quiz has a log)
+     */
+    public CompletableFuture<Double> takeQuiz(Student student, List<QuestionInterface> questionInterfaces, List<String> answers) {
+        List<QuestionInterface> questions = List.copyOf(questionInterfaces);
+        List<String> answerCopy = new ArrayList<>(answers);
+        CompletableFuture<Double> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    quiz.checkEligibility(student);
+                    AbstractQuiz.GradedAttempt attempt = quiz.grade(questions, answerCopy, quizType);
+                    enqueue(new Pending(student, questions, attempt, result));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private void enqueue(Pending pending) {
+        ReentrantLock lock = StudentLocks.lockFor(pending.student);
+        Stripe stripe = stripes.computeIfAbsent(lock, Stripe::new);
+        stripe.queue.add(pending);
+        if (stripe.scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> drain(stripe));
+            } catch (RejectedExecutionException e) {
+                // Cleared first, so an attempt queued from here on schedules its own drain instead of waiting for this one
+                stripe.scheduled.set(false);
+                for (Pending queued; (queued = stripe.queue.poll()) != null; ) {
+                    queued.result.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private void drain(Stripe stripe) {
+        List<Pending> batch = new ArrayList<>();
+        while (true) {
+            for (Pending pending; (pending = stripe.queue.poll()) != null; ) {
+                batch.add(pending);
+            }
+            if (!batch.isEmpty()) {
+                applyBatch(stripe.lock, batch);
+                batch.clear();
+            }
+            stripe.scheduled.set(false);
+            // An attempt queued after the last poll but before the flag was cleared would otherwise wait for the next one
+            if (stripe.queue.isEmpty() || !stripe.scheduled.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void applyBatch(ReentrantLock lock, List<Pending> batch) {
+        Object[] outcomes = new Object[batch.size()];
+        lock.lock();
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                Pending pending = batch.get(i);
+                try {
+                    CompletableFuture<Long> logged = quiz.apply(pending.student, pending.questions, pending.attempt, quizType);
+                    outcomes[i] = logged;
+                } catch (RuntimeException e) {
+                    outcomes[i] = e;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Futures are completed outside the lock, so callers' continuations never run while it is held
+        for (int i = 0; i < batch.size(); i++) {
+            Pending pending = batch.get(i);
+            Object outcome = outcomes[i];
+            if (outcome instanceof RuntimeException) {
+                pending.result.completeExceptionally((RuntimeException) outcome);
+            } else if (outcome == null) {
+                pending.result.complete(pending.attempt.score);
+            } else {
+                ((CompletableFuture<?>) outcome).whenComplete((sequence, failure) -> {
+                    if (failure == null) {
+                        pending.result.complete(pending.attempt.score);
+                    } else {
+                        Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                        pending.result.completeExceptionally(new IllegalStateException("The attempt could not be written to the attempt log", cause));
+                    }
+                });
+            }
+        }
+    }
+
+    private static final class Stripe {
+        final ReentrantLock lock;
+        final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Stripe(ReentrantLock lock) {
+            this.lock = lock;
+        }
+    }
+
+    private static final class Pending {
+        final Student student;
+        final List<QuestionInterface> questions;
+        final AbstractQuiz.GradedAttempt attempt;
+        final CompletableFuture<Double> result;
+
+        Pending(Student student, List<QuestionInterface> questions, AbstractQuiz.GradedAttempt attempt, CompletableFuture<Double> result) {
+            this.student = student;
+            this.questions = questions;
+            this.attempt = attempt;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.quizLib.Quiz;
+
+import org.quizLib.Bank.BankVersion;
+import org.quizLib.Questions.QuestionInterface;
+
+import java.util.List;
+
+/**
+ * The {@code QuizPaper} class is an immutable, ordered set of questions handed out as one quiz. Each paper has an id
+ * that is unique within the application, so a submission can name the paper it answers instead of sending the
+ * questions back; the answers are expected in the order of {@link #getQuestions()}.
+ * <p>
+ * A paper also records the seed and bank version it was generated from, so it can be generated again for an audit
+ * with {@link RegularQuiz#generateQuiz(int, long, BankVersion)}.
+ */
+public final class QuizPaper {
+    private final long id;
+    private final long seed;
+    private final BankVersion bankVersion;
+    private final List<QuestionInterface> questions;
+
+    /**
+     * Constructs a paper.
+     *
+     * @param id the id of the paper
+     * @param seed the seed the paper was generated with
+     * @param bankVersion the version of the question bank the paper was drawn from
+     * @param questions the questions, in the order they are answered
+     */
+    public QuizPaper(long id, long seed, BankVersion bankVersion, List<QuestionInterface> questions) {
+        this.id = id;
+        this.seed = seed;
+        this.bankVersion = bankVersion;
+        this.questions = List.copyOf(questions);
+    }
+
+    /**
+     * Returns the id of the paper.
+     * @return the paper id
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Returns the seed the paper was generated with.
+     * @return the seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the version of the question bank the paper was drawn from.
+     * @return the bank version
+     */
+    public BankVersion getBankVersion() {
+        return bankVersion;
+    }
+
+    /**
+     * Returns the questions of the paper in answering order.
+     * @return an unmodifiable list of questions
+     */
+    public List<QuestionInterface> getQuestions() {
+        return questions;
+    }
+
+    /**
+     * Returns the number of questions on the paper.
+     * @return the number of questions
+     */
+    public int size() {
+        return questions.size();
+    }
+
+    /**
+     * Returns a string representation of the paper.
+     * @return a string containing the paper id, seed, bank version and number of questions
+     */
+    @Override
+    public String toString() {
+        return "QuizPaper{" +
+                "id=" + id +
+                ", seed=" + seed +
+                ", bankVersion=" + bankVersion +
+                ", questions=" + questions.size() +
+                '}';
+    }
+}
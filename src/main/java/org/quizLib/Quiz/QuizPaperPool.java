@@ -0,0 +1,257 @@
+package org.quizLib.Quiz;
+
+import org.quizLib.Bank.BankVersion;
+import org.quizLib.Objects.Student;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@code QuizPaperPool} class keeps a bounded stock of pre-generated regular {@link QuizPaper}s, so that handing a
+ * paper to a student is an O(1) queue poll rather than a call to {@link RegularQuiz#generateQuiz(int)} on the request
+ * path. A background thread generates papers whenever the stock is below capacity and waits while it is full.
+ * A paper that fails to generate is counted in {@link #getFailureCount()} and the thread carries on after a short
+ * pause, so a bad bank or a bug does not leave the pool without a refill thread.
+ * Each paper is generated from its own random seed, so it can be generated again from {@link QuizPaper#getSeed()}
+ * and {@link QuizPaper#getBankVersion()}.
+ * <p>
+ * If a burst of requests empties the stock, {@link #takePaper()} generates a paper on the caller's thread instead of
+ * waiting; {@link #getMissCount()} shows how often that happens, which tells whether the capacity fits the burst.
+ * <p>
+ * Papers handed out are remembered by id until they are submitted with {@link #takeQuiz(Student, long, List)},
+ * {@link #release(long) released} or expire after the paper timeout, so clients only send back the paper id and their
+ * answers. Expired papers are swept while papers are handed out.
+ */
+public final class QuizPaperPool implements AutoCloseable {
+    /** Default time a paper handed out can wait for its answers. */
+    public static final Duration DEFAULT_PAPER_TIMEOUT = Duration.ofMinutes(30);
+    private static final long RETRY_DELAY_MILLIS = 100;
+    private static final AtomicLong nextPaperId = new AtomicLong();
+    private final RegularQuiz quiz;
+    private final int numberOfQuestions;
+    private final BlockingQueue<QuizPaper> stock;
+    private final Map<Long, Issued> issued = new ConcurrentHashMap<>();
+    private final long paperTimeoutNanos;
+    private final AtomicLong nextSweepNanos;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final Thread refiller;
+
+    /**
+     * Constructs a pool with the {@link #DEFAULT_PAPER_TIMEOUT default paper timeout} and starts its refill thread.
+     *
+     * @param quiz the quiz that generates the papers and grades submissions
+     * @param numberOfQuestions the number of questions per paper
+     * @param capacity the number of papers kept ready
+     */
+    public QuizPaperPool(RegularQuiz quiz, int numberOfQuestions, int capacity) {
+        this(quiz, numberOfQuestions, capacity, DEFAULT_PAPER_TIMEOUT);
+    }
+
+    /**
+     * Constructs a pool and starts its refill thread.
+     *
+     * @param quiz the quiz that generates the papers and grades submissions
+     * @param numberOfQuestions the number of questions per paper
+     * @param capacity the number of papers kept ready
+     * @param paperTimeout how long a paper handed out can wait for its answers
+     */
+    public QuizPaperPool(RegularQuiz quiz, int numberOfQuestions, int capacity, Duration paperTimeout) {
+        if (numberOfQuestions < 1 || capacity < 1) {
+            throw new IllegalArgumentException("Number of questions and capacity must be positive");
+        }
+        if (paperTimeout.isNegative() || paperTimeout.isZero()) {
+            throw new IllegalArgumentException("Paper timeout must be positive");
+        }
+        this.quiz = quiz;
+        this.numberOfQuestions = numberOfQuestions;
+        this.stock = new ArrayBlockingQueue<>(capacity);
+        this.paperTimeoutNanos = paperTimeout.toNanos();
+        this.nextSweepNanos = new AtomicLong(System.nanoTime() + paperTimeoutNanos / 4);
+        this.refiller = new Thread(this::refill, "quiz-paper-refill");
+        this.refiller.setDaemon(true);
+        this.refiller.start();
+    }
+
+    /**
+     * Hands out a paper, from the stock when one is ready.
+     *
+     * @return a paper that can later be found by its id
+     */
+    public QuizPaper takePaper() {
+        QuizPaper paper = stock.poll();
+        if (paper == null) {
+            misses.increment();
+            paper = generate();
+        } else {
+            hits.increment();
+        }
+        long now = System.nanoTime();
+        sweepExpired(now);
+        issued.put(paper.getId(), new Issued(paper, now + paperTimeoutNanos));
+        return paper;
+    }
+
+    /**
+     * Returns a paper that was handed out and not yet submitted, released or expired.
+     *
+     * @param paperId the id of the paper
+     * @return the paper, or {@code null} if there is none with that id
+     */
+    public QuizPaper findPaper(long paperId) {
+        Issued entry = issued.get(paperId);
+        return entry == null || entry.isExpired(System.nanoTime()) ? null : entry.paper;
+    }
+
+    /**
+     * Grades a student's answers to a paper that was handed out, in the order of the paper's questions.
+     * A paper can be submitted once; a paper whose answers are refused stays outstanding, so corrected answers can be
+     * submitted for it.
+     *
+     * @param student the student taking the quiz
+     * @param paperId the id of the paper answered
+     * @param answers the answers, one per question in paper order
+     * @return the score, as returned by {@link RegularQuiz#takeQuiz}
+     * @throws IllegalArgumentException if no paper with that id is outstanding, the number of answers does not match
+     *                                  or the student is not eligible
+     */
+    public double takeQuiz(Student student, long paperId, List<String> answers) {
+        Issued entry = issued.get(paperId);
+        if (entry == null || entry.isExpired(System.nanoTime())) {
+            throw new IllegalArgumentException("Unknown, expired or already submitted paper " + paperId);
+        }
+        QuizPaper paper = entry.paper;
+        if (answers.size() != paper.size()) {
+            throw new IllegalArgumentException("Expected " + paper.size() + " answers but got " + answers.size());
+        }
+        if (!issued.remove(paperId, entry)) {
+            throw new IllegalArgumentException("Unknown, expired or already submitted paper " + paperId);
+        }
+        try {
+            return quiz.takeQuiz(student, paper.getQuestions(), answers);
+        } catch (IllegalArgumentException e) {
+            // Refused answers record nothing, so the paper is handed back
+            issued.putIfAbsent(paperId, entry);
+            throw e;
+        }
+    }
+
+    /**
+     * Forgets a paper that was handed out but will not be submitted.
+     *
+     * @param paperId the id of the paper
+     * @return {@code true} if the paper was outstanding
+     */
+    public boolean release(long paperId) {
+        return issued.remove(paperId) != null;
+    }
+
+    /**
+     * Returns the number of papers ready to be handed out.
+     * @return the stock size
+     */
+    public int getAvailableCount() {
+        return stock.size();
+    }
+
+    /**
+     * Returns the number of papers handed out and not yet submitted, released or swept after expiring.
+     * @return the number of outstanding papers
+     */
+    public int getIssuedCount() {
+        return issued.size();
+    }
+
+    /**
+     * Returns the number of papers handed out from the stock.
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of papers generated on the caller's thread because the stock was empty.
+     * @return the number of misses
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of papers the refill thread failed to generate.
+     * @return the number of failed generations
+     */
+    public long getFailureCount() {
+        return failures.sum();
+    }
+
+    /**
+     * Stops the refill thread. Outstanding papers can still be submitted.
+     */
+    @Override
+    public void close() {
+        refiller.interrupt();
+    }
+
+    private void refill() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                QuizPaper paper;
+                try {
+                    paper = generate();
+                } catch (RuntimeException e) {
+                    failures.increment();
+                    // Pausing keeps a failure that repeats on every call from spinning a core
+                    TimeUnit.MILLISECONDS.sleep(RETRY_DELAY_MILLIS);
+                    continue;
+                }
+                stock.put(paper);
+            }
+        } catch (InterruptedException e) {
+            // closed
+        }
+    }
+
+    /**
+     * Removes expired papers, at most once every quarter of the paper timeout and by one caller at a time.
+     */
+    private void sweepExpired(long now) {
+        long next = nextSweepNanos.get();
+        if (now - next < 0 || !nextSweepNanos.compareAndSet(next, now + paperTimeoutNanos / 4)) {
+            return;
+        }
+        issued.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    private QuizPaper generate() {
+        long seed = ThreadLocalRandom.current().nextLong();
+        BankVersion bankVersion = quiz.getBankVersion();
+        return new QuizPaper(nextPaperId.incrementAndGet(), seed, bankVersion,
+                new ArrayList<>(quiz.generateQuiz(numberOfQuestions, seed, bankVersion)));
+    }
+
+    private static final class Issued {
+        final QuizPaper paper;
+        final long expiresAtNanos;
+
+        Issued(QuizPaper paper, long expiresAtNanos) {
+            this.paper = paper;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos > 0;
+        }
+    }
+}
@@ -1,11 +1,25 @@
 package org.quizLib.Quiz;
 
+import org.enums.QuizOperation;
 import org.enums.VerdictEnum;
+import org.quizLib.Bank.BankVersion;
+import org.quizLib.Bank.QuestionBank;
+import org.quizLib.Bank.QuestionSampler;
+import org.quizLib.Bank.TagIndex;
+import org.quizLib.Bank.TagQuery;
+import org.quizLib.Bank.WeightedQuestionSampler;
+import org.quizLib.Metrics.QuizMetrics;
 import org.quizLib.Objects.Student;
+import org.quizLib.Questions.QuestionIds;
 import org.quizLib.Questions.QuestionInterface;
 import org.quizLib.Statistics;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+import static org.enums.QuestionType.FREE_RESPONSE_QUESTION;
+import static org.enums.QuestionType.MULTIPLE_CHOICE_QUESTION;
 /**
  * The RegularQuiz class represents a standard quiz session where students answer a set of questions.
  * It generates quizzes with a balanced mix of free-response and multiple-choice questions, and handles
@@ -19,22 +33,61 @@ public class RegularQuiz extends AbstractQuiz implements Quiz{
     public RegularQuiz() {
         statistics  = new Statistics();
     }
+    /**
+     * Constructs a new RegularQuiz that draws its questions from the given question bank.
+     *
+     * @param questionBank the question bank to draw questions from
+     */
+    public RegularQuiz(QuestionBank questionBank) {
+        super(questionBank);
+        statistics  = new Statistics();
+    }
     /**
      * Generates a regular quiz with the specified number of questions. Half of the questions will be
      * free-response, and the other half will be multiple-choice, based on the question pool.
+     * Questions are sampled by index from the catalog, so the cost depends on the quiz length rather than the pool size.
      *
      * @param numberOfQuestions the number of questions to include in the quiz
      * @return a set of {@link QuestionInterface} objects representing the generated quiz questions
      */
     @Override
     public Set<QuestionInterface> generateQuiz(int numberOfQuestions) {
-        List<QuestionInterface> freeQuestions = new ArrayList<>(freeResponseQuestions);
-        List<QuestionInterface> multiQuestions = new ArrayList<>(multiChoiceResponseQuestions);
-        Collections.shuffle(freeQuestions);
-        Collections.shuffle(multiQuestions);
+        return generate(questionBank, numberOfQuestions, ThreadLocalRandom.current());
+    }
+    /**
+     * Generates a regular quiz the same way as {@link #generateQuiz(int)}, but reproducibly: the questions and their
+     * order depend only on the seed and the bank version, so the same quiz can be generated again later for an audit
+     * without having been stored, even after more questions were added to the bank.
+     *
+     * @param numberOfQuestions the number of questions to include in the quiz
+     * @param seed the seed of the random generator used for this quiz only
+     * @param bankVersion the version of this quiz's question bank to draw from, see {@link #getBankVersion()}
+     * @return a set of {@link QuestionInterface} objects representing the generated quiz questions, in quiz order
+     * @throws IllegalArgumentException if the question bank is older than the version
+     */
+    public Set<QuestionInterface> generateQuiz(int numberOfQuestions, long seed, BankVersion bankVersion) {
+        return generate(bankVersion.view(questionBank), numberOfQuestions, new SplittableRandom(seed));
+    }
+    /**
+     * Generates a regular quiz with the specified number of questions, drawing harder questions more often.
+     * The split between free-response and multiple-choice questions is the same as {@link #generateQuiz(int)}.
+     *
+     * @param numberOfQuestions the number of questions to include in the quiz
+     * @param sampler the difficulty-weighted sampler to draw with; it must be built over this quiz's question bank
+     * @return a set of {@link QuestionInterface} objects representing the generated quiz questions
+     * @throws IllegalArgumentException if the sampler draws from a different question bank
+     */
+    public Set<QuestionInterface> generateQuiz(int numberOfQuestions, WeightedQuestionSampler sampler) {
+        if (sampler.getQuestionBank() != questionBank) {
+            throw new IllegalArgumentException("The sampler must draw from the quiz's question bank");
+        }
+        long start = QuizMetrics.start();
         int numOfFreeQuestions = numberOfQuestions/2;
-        Set<QuestionInterface> finalSelectedQuestions = new HashSet<>(freeQuestions.subList(0, Math.min(numOfFreeQuestions, freeQuestions.size())));
-        finalSelectedQuestions.addAll(multiQuestions.subList(0, Math.min(numberOfQuestions-numOfFreeQuestions, multiQuestions.size())));
+        Set<QuestionInterface> finalSelectedQuestions = new LinkedHashSet<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        sampler.sample(FREE_RESPONSE_QUESTION, numOfFreeQuestions, finalSelectedQuestions, random);
+        sampler.sample(MULTIPLE_CHOICE_QUESTION, numberOfQuestions - numOfFreeQuestions, finalSelectedQuestions, random);
+        QuizMetrics.record(QuizOperation.GENERATE_QUIZ, VerdictEnum.REGULAR, start);
         return finalSelectedQuestions;
     }
     /**
@@ -51,6 +104,44 @@ public class RegularQuiz extends AbstractQuiz implements Quiz{
         return takeQuizGeneral(student, questionInterfaces, new ArrayList<>(answers),VerdictEnum.REGULAR);
 
     }
+    /**
+     * Generates a regular quiz from the questions whose tags match the query, for example a topic and a range of levels.
+     * Matching questions are found through the tag index's posting lists and the quiz is sampled from them, so the
+     * cost is O(k + posting list sizes) rather than O(bank). Questions are drawn regardless of their type,
+     * since a topic may hold questions of one type only. A tag index may be shared by several banks, so matching ids
+     * are kept only if they belong to this quiz's question bank.
+     *
+     * @param numberOfQuestions the number of questions to include in the quiz
+     * @param tagIndex the tags of the questions, usually those of this quiz's question bank
+     * @param query the condition the questions' tags must meet
+     * @return a set of at most {@code numberOfQuestions} matching questions
+     */
+    public Set<QuestionInterface> generateQuiz(int numberOfQuestions, TagIndex tagIndex, TagQuery query) {
+        long start = QuizMetrics.start();
+        int[] matching = tagIndex.matching(query);
+        int[] candidates = new int[matching.length];
+        int count = 0;
+        for (int questionId : matching) {
+            if (questionBank.contains(questionId)) {
+                candidates[count++] = questionId;
+            }
+        }
+        Set<QuestionInterface> finalSelectedQuestions = new LinkedHashSet<>();
+        for (int index : QuestionSampler.sampleIndexes(count, numberOfQuestions, ThreadLocalRandom.current())) {
+            finalSelectedQuestions.add(QuestionIds.lookup(candidates[index]));
+        }
+        QuizMetrics.record(QuizOperation.GENERATE_QUIZ, VerdictEnum.REGULAR, start);
+        return finalSelectedQuestions;
+    }
+    private Set<QuestionInterface> generate(QuestionBank bank, int numberOfQuestions, RandomGenerator random) {
+        long start = QuizMetrics.start();
+        int numOfFreeQuestions = numberOfQuestions/2;
+        Set<QuestionInterface> finalSelectedQuestions = new LinkedHashSet<>();
+        QuestionSampler.sample(bank, FREE_RESPONSE_QUESTION, numOfFreeQuestions, finalSelectedQuestions, random);
+        QuestionSampler.sample(bank, MULTIPLE_CHOICE_QUESTION, numberOfQuestions - numOfFreeQuestions, finalSelectedQuestions, random);
+        QuizMetrics.record(QuizOperation.GENERATE_QUIZ, VerdictEnum.REGULAR, start);
+        return finalSelectedQuestions;
+    }
     /**
      * Provides a revision quiz. In the RegularQuiz class, this method is not implemented and returns an empty set.
      *
@@ -1,10 +1,20 @@
 package org.quizLib.Quiz;
 
+import org.enums.QuestionType;
+import org.enums.QuizOperation;
 import org.enums.VerdictEnum;
+import org.quizLib.Bank.BankVersion;
+import org.quizLib.Bank.QuestionBank;
+import org.quizLib.Bank.QuestionSampler;
+import org.quizLib.Metrics.QuizMetrics;
+import org.quizLib.Objects.QuestionIdSet;
 import org.quizLib.Objects.Student;
+import org.quizLib.Questions.QuestionIds;
 import org.quizLib.Questions.QuestionInterface;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * The {@code RevisionQuiz} class represents a specialized quiz type that provides students with questions
@@ -12,6 +22,20 @@ import java.util.*;
  * This class extends the functionality of {@link AbstractQuiz} and implements {@link Quiz}.
  */
 public class RevisionQuiz extends AbstractQuiz implements Quiz {
+    /**
+     * Constructs a new RevisionQuiz that draws from the built-in question catalog.
+     */
+    public RevisionQuiz() {
+        super();
+    }
+    /**
+     * Constructs a new RevisionQuiz that draws its questions from the given question bank.
+     *
+     * @param questionBank the question bank to draw questions from
+     */
+    public RevisionQuiz(QuestionBank questionBank) {
+        super(questionBank);
+    }
     /**
      * Generates a revision quiz for the student.
      * In the {@code RevisionQuiz} class, this method is not utilized, returning an empty set.
@@ -40,38 +64,103 @@ public class RevisionQuiz extends AbstractQuiz implements Quiz {
     /**
      * Generates a revision quiz for a student. The quiz is comprised of a mix of questions that the student
      * has previously answered incorrectly and new questions that they have not yet encountered.
+     * Selection works on sets of question ids: the unseen questions are the bank's id bitset minus the student's seen
+     * and incorrect ids, and random picks are made over the set bits, so the cost is O(k + words + history) rather
+     * than O(bank). Every incorrectly answered question stays available for revision, even one no longer in any bank,
+     * since students retain the questions in their history.
      *
      * @param student the student taking the revision quiz
      * @param numberOfQuestions the number of questions to include in the revision quiz
      * @return a set of {@link QuestionInterface} objects representing the revision quiz
      */
     public Set<QuestionInterface> revise(Student student, int numberOfQuestions) {
-        List<QuestionInterface> allQuestions = new ArrayList<>();
-        Set<QuestionInterface> revisedQuestions = new HashSet<>();
-        allQuestions.addAll(freeResponseQuestions);
-        allQuestions.addAll(multiChoiceResponseQuestions);
-        Collections.shuffle(allQuestions);
+        return revise(student, numberOfQuestions, questionBank, ThreadLocalRandom.current());
+    }
 
-        Set<QuestionInterface> questionsSeen = student.getQuestionsSeen();
-        Set<QuestionInterface> incorrectQuestions = student.getIncorrectQuestions();
+    /**
+     * Generates a revision quiz the same way as {@link #revise(Student, int)}, but reproducibly: given the same
+     * seed, bank version and the student's seen and incorrect questions at the time (as rebuilt from the attempt log),
+     * the same questions are chosen in the same order, even in another run where the questions got other ids.
+     * Question ids are therefore not used for the random picks: incorrect questions are ordered by content hash, and
+     * unseen questions are picked by their position in the bank version, which costs O(bank) rather than O(k).
+     *
+     * @param student the student taking the revision quiz
+     * @param numberOfQuestions the number of questions to include in the revision quiz
+     * @param seed the seed of the random generator used for this quiz only
+     * @param bankVersion the version of this quiz's question bank to draw unseen questions from, see {@link #getBankVersion()}
+     * @return a set of {@link QuestionInterface} objects representing the revision quiz, in quiz order
+     * @throws IllegalArgumentException if the question bank is older than the version or holds other questions
+     */
+    public Set<QuestionInterface> revise(Student student, int numberOfQuestions, long seed, BankVersion bankVersion) {
+        QuestionBank bank = bankVersion.view(questionBank);
+        Set<QuestionInterface> revisedQuestions = new LinkedHashSet<>();
+        if (numberOfQuestions <= 0) {
+            return revisedQuestions;
+        }
+        long start = QuizMetrics.start();
+        RandomGenerator random = new SplittableRandom(seed);
+        QuestionIdSet incorrectQuestions = student.getIncorrectQuestionIds();
+        QuestionIdSet seenQuestions = student.getQuestionsSeenIds();
 
-        for (QuestionInterface question : incorrectQuestions) {
-            if (revisedQuestions.size() <= numberOfQuestions) {
-                revisedQuestions.add(question);
-            } else {
-                break;
-            }
+        // Incorrectly answered questions are prioritised, in an order that does not depend on their ids
+        List<QuestionInterface> incorrect = new ArrayList<>(incorrectQuestions.cardinality());
+        incorrectQuestions.forEach(questionId -> incorrect.add(QuestionIds.lookup(questionId)));
+        incorrect.sort(Comparator.comparingLong(QuestionIds::contentHash)
+                .thenComparing(question -> question.getClass().getName())
+                .thenComparing(QuestionInterface::getQuestionFormula));
+        for (int index : QuestionSampler.sampleIndexes(incorrect.size(), numberOfQuestions, random)) {
+            revisedQuestions.add(incorrect.get(index));
         }
 
-        // Then add unseen questions (which haven't been answered yet)
-        for (QuestionInterface allQuestion : allQuestions) {
-            if (revisedQuestions.size() < numberOfQuestions && !questionsSeen.contains(allQuestion)) {
-                revisedQuestions.add(allQuestion);
+        // Then add unseen questions, picked by their position among the version's unseen questions
+        // A position counts the questions of all earlier types followed by the index within the type
+        int[] unseen = new int[bank.size()];
+        int unseenCount = 0;
+        int position = 0;
+        for (QuestionType questionType : QuestionType.values()) {
+            for (int i = 0; i < bank.size(questionType); i++, position++) {
+                int questionId = bank.questionId(questionType, i);
+                if (!seenQuestions.contains(questionId) && !incorrectQuestions.contains(questionId)) {
+                    unseen[unseenCount++] = position;
+                }
             }
-            if (revisedQuestions.size() == numberOfQuestions) {
-                break;
+        }
+        for (int index : QuestionSampler.sampleIndexes(unseenCount, numberOfQuestions - revisedQuestions.size(), random)) {
+            int remaining = unseen[index];
+            for (QuestionType questionType : QuestionType.values()) {
+                if (remaining < bank.size(questionType)) {
+                    revisedQuestions.add(bank.get(questionType, remaining));
+                    break;
+                }
+                remaining -= bank.size(questionType);
             }
         }
+        QuizMetrics.record(QuizOperation.REVISE, VerdictEnum.REVISION, start);
+        return revisedQuestions;
+    }
+
+    private Set<QuestionInterface> revise(Student student, int numberOfQuestions, QuestionBank bank, RandomGenerator random) {
+        Set<QuestionInterface> revisedQuestions = new LinkedHashSet<>();
+        if (numberOfQuestions <= 0) {
+            return revisedQuestions;
+        }
+        long start = QuizMetrics.start();
+        QuestionIdSet incorrectQuestions = student.getIncorrectQuestionIds();
+
+        // Incorrectly answered questions are prioritised
+        for (int questionId : incorrectQuestions.sample(numberOfQuestions, random)) {
+            // Students retain the questions in their history, so these always resolve
+            revisedQuestions.add(QuestionIds.lookup(questionId));
+        }
+
+        // Then add unseen questions (which haven't been answered yet): the bank minus seen and incorrect questions
+        BitSet unseenQuestions = bank.questionIds();
+        student.getQuestionsSeenIds().removeFrom(unseenQuestions);
+        incorrectQuestions.removeFrom(unseenQuestions);
+        for (int questionId : QuestionSampler.sampleSetBits(unseenQuestions, numberOfQuestions - revisedQuestions.size(), random)) {
+            revisedQuestions.add(QuestionIds.lookup(questionId));
+        }
+        QuizMetrics.record(QuizOperation.REVISE, VerdictEnum.REVISION, start);
         return revisedQuestions;
     }
 
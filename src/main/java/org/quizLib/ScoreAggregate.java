@@ -0,0 +1,213 @@
+package org.quizLib;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The {@code ScoreAggregate} class keeps running totals of a stream of scores in a few primitive fields:
+ * count, mean, variance (Welford's method), minimum, maximum and the number of scores at or above the aggregate's
+ * pass mark. Adding a score is O(1) and uses no memory,
+ * and two aggregates can be merged, which lets cohort-wide figures be combined from per-student ones.
+ * Merging adds up the pass counts of both sides, whatever pass mark each of them used.
+ */
+public class ScoreAggregate {
+    private final double passMark;
+    private long count;
+    private double mean;
+    private double sumOfSquares;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    private long passCount;
+
+    /**
+     * Constructs an aggregate without a pass mark, which counts no score as a pass. Suits aggregates that are only
+     * merged into, and quiz types that can not be passed.
+     */
+    public ScoreAggregate() {
+        this(Double.NaN);
+    }
+
+    /**
+     * Constructs an aggregate that counts scores at or above the given mark as passes.
+     *
+     * @param passMark the lowest passing score, for example {@link Statistics#PASS_MARK} for regular quizzes
+     */
+    public ScoreAggregate(double passMark) {
+        this.passMark = passMark;
+    }
+
+    /**
+     * Adds a score to the aggregate.
+     *
+     * @param score the score to add
+     */
+    public void add(double score) {
+        count++;
+        if (score >= passMark) {
+            passCount++;
+        }
+        double delta = score - mean;
+        mean += delta / count;
+        sumOfSquares += delta * (score - mean);
+        if (count == 1) {
+            min = score;
+            max = score;
+        } else {
+            min = Math.min(min, score);
+            max = Math.max(max, score);
+        }
+    }
+
+    /**
+     * Merges another aggregate into this one, as if all of its scores had been added here.
+     *
+     * @param other the aggregate to merge
+     */
+    public void merge(ScoreAggregate other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            copyFrom(other);
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        sumOfSquares += other.sumOfSquares + delta * delta * count * other.count / total;
+        count = total;
+        passCount += other.passCount;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Returns an independent copy of this aggregate, with the same pass mark.
+     *
+     * @return a copy of this aggregate
+     */
+    public ScoreAggregate copy() {
+        ScoreAggregate copy = new ScoreAggregate(passMark);
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    /**
+     * Removes every score from the aggregate. The pass mark is kept.
+     */
+    public void clear() {
+        copyFrom(new ScoreAggregate());
+    }
+
+    /** Number of bytes written by {@link #writeTo(ByteBuffer)}. */
+    static final int ENCODED_SIZE = 6 * 8;
+
+    void writeTo(ByteBuffer buffer) {
+        buffer.putLong(count).putDouble(mean).putDouble(sumOfSquares).putDouble(min).putDouble(max).putLong(passCount);
+    }
+
+    void readFrom(ByteBuffer buffer) {
+        count = buffer.getLong();
+        mean = buffer.getDouble();
+        sumOfSquares = buffer.getDouble();
+        min = buffer.getDouble();
+        max = buffer.getDouble();
+        passCount = buffer.getLong();
+    }
+
+    private void copyFrom(ScoreAggregate other) {
+        count = other.count;
+        mean = other.mean;
+        sumOfSquares = other.sumOfSquares;
+        min = other.min;
+        max = other.max;
+        passCount = other.passCount;
+    }
+
+    /**
+     * Returns the number of scores added.
+     * @return the number of scores
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the score at or above which a score added to this aggregate counts as a pass.
+     * @return the pass mark, or {@code NaN} if no score counts as a pass
+     */
+    public double getPassMark() {
+        return passMark;
+    }
+
+    /**
+     * Returns the number of scores at or above the pass mark.
+     * @return the number of passing scores
+     */
+    public long getPassCount() {
+        return passCount;
+    }
+
+    /**
+     * Returns the fraction of scores at or above the pass mark, or {@code NaN} if there are none.
+     * @return the pass rate
+     */
+    public double getPassRate() {
+        return count == 0 ? Double.NaN : (double) passCount / count;
+    }
+
+    /**
+     * Returns the mean of the scores, or {@code NaN} if there are none.
+     * @return the mean score
+     */
+    public double getMean() {
+        return count == 0 ? Double.NaN : mean;
+    }
+
+    /**
+     * Returns the sample variance of the scores, or {@code 0} when fewer than two scores were added.
+     * @return the sample variance
+     */
+    public double getVariance() {
+        return count < 2 ? 0.0 : sumOfSquares / (count - 1);
+    }
+
+    /**
+     * Returns the sample standard deviation of the scores.
+     * @return the standard deviation
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Returns the lowest score, or {@code NaN} if there are none.
+     * @return the minimum score
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Returns the highest score, or {@code NaN} if there are none.
+     * @return the maximum score
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Returns a string representation of the aggregate.
+     * @return a string containing the count, mean, standard deviation, minimum and maximum
+     */
+    @Override
+    public String toString() {
+        return "ScoreAggregate{" +
+                "count=" + count +
+                ", mean=" + getMean() +
+                ", stdDev=" + getStandardDeviation() +
+                ", min=" + min +
+                ", max=" + max +
+                ", passCount=" + passCount +
+                '}';
+    }
+}
@@ -0,0 +1,437 @@
+package org.quizLib.Server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.enums.VerdictEnum;
+import org.quizLib.Objects.Student;
+import org.quizLib.Objects.StudentRegistry;
+import org.quizLib.Questions.MultipleChoiceQuestion;
+import org.quizLib.Questions.QuestionInterface;
+import org.quizLib.Quiz.AbstractQuiz;
+import org.quizLib.Quiz.RegularQuiz;
+import org.quizLib.Quiz.RevisionQuiz;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * The {@code QuizServer} class exposes the quiz library over HTTP using the JDK's built-in
+ * {@code com.sun.net.httpserver}, with no other dependencies. Every request runs on its own virtual thread, so a
+ * request waiting on the network or on a student's lock does not hold a platform thread, and tens of thousands of
+ * open sessions cost only their {@link QuizSession} objects.
+ * <p>
+ * Parameters are read from the query string and from an {@code application/x-www-form-urlencoded} body; responses are
+ * JSON. Students are identified by {@code name} and {@code dob} (an ISO date such as {@code 1999-02-26}).
+ * <ul>
+ *   <li>{@code POST /quiz/generate?name=&dob=&count=} hands out a regular quiz and returns a session id and the
+ *   questions.</li>
+ *   <li>{@code POST /quiz/revise?name=&dob=&count=} does the same for a revision quiz built for the student.</li>
+ *   <li>{@code POST /quiz/submit} with {@code session} and one {@code answer} per question, in order, grades the quiz
+ *   and returns the score and verdict.</li>
+ * </ul>
+ * Bad parameters and ineligible students get {@code 400}, unknown or expired sessions {@code 404}, and a session that
+ * was already submitted {@code 409}. A submission refused with {@code 400} leaves its session open, so the answers can
+ * be corrected and submitted again. Sessions not submitted within the session timeout are discarded.
+ * <p>
+ * Handing out a quiz does not register the student; only a submitted quiz does, so requests for quizzes that are never
+ * answered leave the registry untouched. Open sessions are capped per server and per student: a request beyond the
+ * server's cap gets {@code 503} and one beyond the student's cap {@code 429}. The ids of submitted sessions are kept
+ * until the session would have expired, so that submitting again is answered with {@code 409}.
+ */
+public final class QuizServer implements Closeable {
+    /** Default number of questions per quiz when {@code count} is not given. */
+    public static final int DEFAULT_QUESTION_COUNT = 10;
+    /** Largest number of questions a single request can ask for. */
+    public static final int MAX_QUESTION_COUNT = 1000;
+    /** Default largest number of open sessions on one server. */
+    public static final int DEFAULT_MAX_SESSIONS = 100_000;
+    /** Default largest number of open sessions per student. */
+    public static final int DEFAULT_MAX_SESSIONS_PER_STUDENT = 4;
+    private static final int MAX_BODY_SIZE = 1 << 16;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService sweeper;
+    private final StudentRegistry registry;
+    private final RegularQuiz regularQuiz;
+    private final RevisionQuiz revisionQuiz;
+    private final long sessionTimeoutNanos;
+    private final int maxSessions;
+    private final int maxSessionsPerStudent;
+    private final Map<String, QuizSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Integer> sessionsPerStudent = new ConcurrentHashMap<>();
+    private final AtomicInteger openSessions = new AtomicInteger();
+    private final Map<String, Long> submittedSessions = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a server on the given address backed by the built-in question catalog, with a 30 minute session timeout.
+     *
+     * @param address the address to listen on; port 0 picks a free port
+     * @param registry the registry students are looked up in and registered to
+     * @throws IOException if the address can not be bound
+     */
+    public QuizServer(InetSocketAddress address, StudentRegistry registry) throws IOException {
+        this(address, registry, new RegularQuiz(), new RevisionQuiz(), Duration.ofMinutes(30));
+    }
+
+    /**
+     * Constructs a server on the given address with the default session caps.
+     *
+     * @param address the address to listen on; port 0 picks a free port
+     * @param registry the registry students are looked up in and registered to
+     * @param regularQuiz the quiz that generates and grades regular quizzes
+     * @param revisionQuiz the quiz that generates and grades revision quizzes
+     * @param sessionTimeout how long a handed-out quiz can wait for its answers
+     * @throws IOException if the address can not be bound
+     */
+    public QuizServer(InetSocketAddress address, StudentRegistry registry, RegularQuiz regularQuiz,
+                      RevisionQuiz revisionQuiz, Duration sessionTimeout) throws IOException {
+        this(address, registry, regularQuiz, revisionQuiz, sessionTimeout, DEFAULT_MAX_SESSIONS, DEFAULT_MAX_SESSIONS_PER_STUDENT);
+    }
+
+    /**
+     * Constructs a server on the given address.
+     *
+     * @param address the address to listen on; port 0 picks a free port
+     * @param registry the registry students are looked up in and registered to
+     * @param regularQuiz the quiz that generates and grades regular quizzes
+     * @param revisionQuiz the quiz that generates and grades revision quizzes
+     * @param sessionTimeout how long a handed-out quiz can wait for its answers
+     * @param maxSessions the largest number of open sessions on the server
+     * @param maxSessionsPerStudent the largest number of open sessions per student
+     * @throws IOException if the address can not be bound
+     */
+    public QuizServer(InetSocketAddress address, StudentRegistry registry, RegularQuiz regularQuiz,
+                      RevisionQuiz revisionQuiz, Duration sessionTimeout, int maxSessions, int maxSessionsPerStudent) throws IOException {
+        if (sessionTimeout.isNegative() || sessionTimeout.isZero()) {
+            throw new IllegalArgumentException("Session timeout must be positive");
+        }
+        if (maxSessions <= 0 || maxSessionsPerStudent <= 0) {
+            throw new IllegalArgumentException("Session caps must be positive");
+        }
+        this.maxSessions = maxSessions;
+        this.maxSessionsPerStudent = maxSessionsPerStudent;
+        this.registry = registry;
+        this.regularQuiz = regularQuiz;
+        this.revisionQuiz = revisionQuiz;
+        this.sessionTimeoutNanos = sessionTimeout.toNanos();
+        this.server = HttpServer.create(address, 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("quiz-session-sweeper").factory());
+        server.setExecutor(executor);
+        server.createContext("/quiz/generate", exchange -> handle(exchange, this::generate));
+        server.createContext("/quiz/revise", exchange -> handle(exchange, this::revise));
+        server.createContext("/quiz/submit", exchange -> handle(exchange, this::submit));
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        long period = Math.max(TimeUnit.SECONDS.toNanos(1), sessionTimeoutNanos / 4);
+        sweeper.scheduleWithFixedDelay(this::removeExpiredSessions, period, period, TimeUnit.NANOSECONDS);
+        server.start();
+    }
+
+    /**
+     * Returns the port the server listens on, which is useful when it was created with port 0.
+     *
+     * @return the bound port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Returns the number of quizzes handed out and not yet submitted or expired.
+     *
+     * @return the number of open sessions
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Stops the server, waiting up to a second for requests in progress, and discards open sessions.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        sweeper.shutdownNow();
+        executor.close();
+        sessions.clear();
+        sessionsPerStudent.clear();
+        submittedSessions.clear();
+    }
+
+    private Response generate(Map<String, List<String>> parameters) {
+        Student student = student(parameters);
+        regularQuiz.checkEligibility(student);
+        int count = count(parameters);
+        return openSession(student, VerdictEnum.REGULAR, () -> regularQuiz.generateQuiz(count));
+    }
+
+    private Response revise(Map<String, List<String>> parameters) {
+        Student student = student(parameters);
+        revisionQuiz.checkEligibility(student);
+        int count = count(parameters);
+        return openSession(student, VerdictEnum.REVISION, () -> revisionQuiz.revise(student, count));
+    }
+
+    private Response submit(Map<String, List<String>> parameters) {
+        String id = single(parameters, "session");
+        QuizSession session = sessions.get(id);
+        if (session == null || session.isExpired(System.nanoTime())) {
+            Long expiresAt = submittedSessions.get(id);
+            if (expiresAt != null && System.nanoTime() - expiresAt <= 0) {
+                return new Response(409, error("Session was already submitted"));
+            }
+            return new Response(404, error("Unknown or expired session"));
+        }
+        List<String> answers = parameters.getOrDefault("answer", List.of());
+        if (answers.size() != session.questions.size()) {
+            throw new IllegalArgumentException("Expected " + session.questions.size() + " answers but got " + answers.size());
+        }
+        if (!session.markSubmitted()) {
+            return new Response(409, error("Session was already submitted"));
+        }
+        // The student is only registered once a quiz is actually answered
+        Student student = registry.register(session.student.getName(), session.student.getDateOfBirth());
+        AbstractQuiz quiz = session.quizType == VerdictEnum.REGULAR ? regularQuiz : revisionQuiz;
+        double score;
+        try {
+            score = quiz.takeQuizGeneral(student, session.questions, answers, session.quizType);
+        } catch (IllegalArgumentException e) {
+            // Refused answers record nothing, so the session stays open for corrected answers
+            session.reopen();
+            throw e;
+        }
+        // Remembered before the session goes, so a resubmit in between still finds one of the two
+        submittedSessions.put(id, session.expiresAtNanos);
+        closeSession(session);
+        return new Response(200, "{\"score\":" + score + ",\"verdict\":\"" + student.getStatistics().getVerdict() + "\"}");
+    }
+
+    private Response openSession(Student student, VerdictEnum quizType, Supplier<? extends Collection<QuestionInterface>> generator) {
+        String key = key(student);
+        if (openSessions.incrementAndGet() > maxSessions) {
+            openSessions.decrementAndGet();
+            return new Response(503, error("Too many open sessions, try again later"));
+        }
+        boolean[] admitted = {false};
+        sessionsPerStudent.compute(key, (k, open) -> {
+            int current = open == null ? 0 : open;
+            admitted[0] = current < maxSessionsPerStudent;
+            return admitted[0] ? current + 1 : open;
+        });
+        if (!admitted[0]) {
+            openSessions.decrementAndGet();
+            return new Response(429, error("Too many open sessions for this student"));
+        }
+        List<QuestionInterface> questions;
+        try {
+            questions = new ArrayList<>(generator.get());
+        } catch (RuntimeException e) {
+            release(key);
+            throw e;
+        }
+        String id = UUID.randomUUID().toString();
+        sessions.put(id, new QuizSession(id, student, key, quizType, questions, System.nanoTime() + sessionTimeoutNanos));
+        StringBuilder json = new StringBuilder("{\"session\":\"").append(id).append("\",\"questions\":[");
+        for (int i = 0; i < questions.size(); i++) {
+            QuestionInterface question = questions.get(i);
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"id\":").append(question.getQuestionId())
+                    .append(",\"type\":\"").append(question instanceof MultipleChoiceQuestion ? "MULTIPLE_CHOICE" : "FREE_RESPONSE")
+                    .append("\",\"text\":");
+            quote(question.getQuestionFormula(), json);
+            json.append('}');
+        }
+        return new Response(200, json.append("]}").toString());
+    }
+
+    private void removeExpiredSessions() {
+        long now = System.nanoTime();
+        for (QuizSession session : sessions.values()) {
+            if (session.isExpired(now)) {
+                closeSession(session);
+            }
+        }
+        submittedSessions.values().removeIf(expiresAt -> now - expiresAt > 0);
+    }
+
+    private void closeSession(QuizSession session) {
+        if (sessions.remove(session.id, session)) {
+            release(session.studentKey);
+        }
+    }
+
+    private void release(String key) {
+        sessionsPerStudent.computeIfPresent(key, (k, open) -> open == 1 ? null : open - 1);
+        openSessions.decrementAndGet();
+    }
+
+    /**
+     * Returns the registered student with the parameters' name and date of birth, or a new unregistered one.
+     */
+    private Student student(Map<String, List<String>> parameters) {
+        String name = single(parameters, "name").trim();
+        if (name.isEmpty()) {
+            throw new IllegalArgumentException("Student name can not be empty");
+        }
+        try {
+            LocalDate parsed = LocalDate.parse(single(parameters, "dob").trim());
+            Date dateOfBirth = Date.from(parsed.atStartOfDay(ZoneId.systemDefault()).toInstant());
+            Student registered = registry.find(name, dateOfBirth);
+            return registered != null ? registered : new Student(name, dateOfBirth);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Date of birth must be an ISO date such as 1999-02-26");
+        }
+    }
+
+    private static String key(Student student) {
+        return student.getName().toLowerCase(Locale.ROOT) + '|' + student.getDateOfBirth().getTime();
+    }
+
+    private static int count(Map<String, List<String>> parameters) {
+        List<String> values = parameters.get("count");
+        if (values == null) {
+            return DEFAULT_QUESTION_COUNT;
+        }
+        try {
+            int count = Integer.parseInt(values.getFirst().trim());
+            if (count < 1 || count > MAX_QUESTION_COUNT) {
+                throw new IllegalArgumentException("Question count must be between 1 and " + MAX_QUESTION_COUNT);
+            }
+            return count;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Question count must be a number");
+        }
+    }
+
+    private static String single(Map<String, List<String>> parameters, String name) {
+        List<String> values = parameters.get(name);
+        if (values == null || values.size() != 1) {
+            throw new IllegalArgumentException("Expected exactly one '" + name + "' parameter");
+        }
+        return values.getFirst();
+    }
+
+    private void handle(HttpExchange exchange, Endpoint endpoint) throws IOException {
+        Response response;
+        try {
+            if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                response = new Response(405, error("Use POST"));
+            } else {
+                response = endpoint.serve(parameters(exchange));
+            }
+        } catch (IllegalArgumentException e) {
+            // Bad parameters, and students whose verdict means they can not take another quiz
+            response = new Response(400, error(e.getMessage()));
+        } catch (RuntimeException e) {
+            response = new Response(500, error("Internal error"));
+        }
+        byte[] body = response.body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(response.status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, List<String>> parameters(HttpExchange exchange) throws IOException {
+        Map<String, List<String>> parameters = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), parameters);
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY_SIZE + 1);
+            if (body.length > MAX_BODY_SIZE) {
+                throw new IllegalArgumentException("Request body is too large");
+            }
+            parseForm(new String(body, StandardCharsets.UTF_8), parameters);
+        }
+        return parameters;
+    }
+
+    private static void parseForm(String form, Map<String, List<String>> parameters) {
+        if (form == null || form.isEmpty()) {
+            return;
+        }
+        for (String pair : form.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int equals = pair.indexOf('=');
+            String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+            String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            parameters.computeIfAbsent(name, k -> new ArrayList<>()).add(value);
+        }
+    }
+
+    private static String error(String message) {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        quote(message == null ? "" : message, json);
+        return json.append('}').toString();
+    }
+
+    private static void quote(String text, StringBuilder json) {
+        json.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        Response serve(Map<String, List<String>> parameters);
+    }
+
+    private static final class Response {
+        final int status;
+        final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.quizLib.Server;
+
+import org.enums.VerdictEnum;
+import org.quizLib.Objects.Student;
+import org.quizLib.Questions.QuestionInterface;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A quiz handed out by {@link QuizServer} and waiting for the student's answers. The questions keep the order they
+ * were sent in, which is the order the answers are submitted in. A session can be submitted once.
+ * The student may not be registered yet; the server registers it on submission.
+ */
+final class QuizSession {
+    final String id;
+    final Student student;
+    final String studentKey;
+    final VerdictEnum quizType;
+    final List<QuestionInterface> questions;
+    final long expiresAtNanos;
+    private final AtomicBoolean submitted = new AtomicBoolean();
+
+    QuizSession(String id, Student student, String studentKey, VerdictEnum quizType, List<QuestionInterface> questions, long expiresAtNanos) {
+        this.id = id;
+        this.student = student;
+        this.studentKey = studentKey;
+        this.quizType = quizType;
+        this.questions = questions;
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    boolean isExpired(long nowNanos) {
+        return nowNanos - expiresAtNanos > 0;
+    }
+
+    /**
+     * Marks the session as submitted.
+     * @return {@code false} if it was already submitted
+     */
+    boolean markSubmitted() {
+        return submitted.compareAndSet(false, true);
+    }
+
+    /**
+     * Allows the session to be submitted again, after a submission whose answers were refused.
+     */
+    void reopen() {
+        submitted.set(false);
+    }
+}
@@ -2,18 +2,34 @@ package org.quizLib;
 
 import org.enums.VerdictEnum;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 /**
  * The {@code Statistics} class is responsible for tracking a student's quiz performance,
  * including the number of regular and revision attempts, quiz scores, and the student's verdict.
  * The verdict can be {@code PASS}, {@code FAIL}, or {@code TBD} (To Be Determined).
+ * Updates are expected to be made while holding the owning student's lock ({@code StudentLocks}); the verdict is
+ * volatile so eligibility can be read without it.
+ * <p>
+ * Score and verdict changes are reported to the {@link ScoreObserver}s of the registry the student belongs to,
+ * see {@link #setScoreObservers(List)}.
  */
 public class Statistics {
     private int numberOfRegAttempts;
     private int numberOfRevisions;
-    private List<Double> quizScores;
-    private VerdictEnum verdict;
+    /** Number of recent scores kept by default for {@link #getQuizScores()}. */
+    public static final int DEFAULT_RECENT_SCORES = 8;
+    /** Score at or above which a regular quiz is passed. */
+    public static final double PASS_MARK = 0.5;
+    private volatile List<ScoreObserver> scoreObservers = List.of();
+    private final ScoreAggregate regularAggregate;
+    private final ScoreAggregate revisionAggregate;
+    private final QuantileSketch medianSketch;
+    private final double[] recentScores;
+    private int recentCount;
+    private int recentNext;
+    private volatile VerdictEnum verdict;
 
     /**
      * Returns the number of regular quiz attempts the student has made.
@@ -25,12 +41,29 @@ public class Statistics {
     }
     /**
      * Constructs a new {@code Statistics} object with the initial values.
-     * The verdict is set to {@code TBD}, and the quiz scores list is initialized empty.
+     * The verdict is set to {@code TBD}, and no scores are recorded yet.
+     * The last {@link #DEFAULT_RECENT_SCORES} scores are kept as recent history.
      */
     public Statistics() {
+        this(DEFAULT_RECENT_SCORES);
+    }
+    /**
+     * Constructs a new {@code Statistics} object that keeps the given number of recent scores.
+     * Running aggregates cover every score regardless of this capacity.
+     *
+     * @param recentScoreCapacity the number of most recent scores to keep, or 0 to keep none
+     */
+    public Statistics(int recentScoreCapacity) {
+        if (recentScoreCapacity < 0) {
+            throw new IllegalArgumentException("Recent score capacity can not be negative");
+        }
         this.numberOfRegAttempts = 0;
         this.numberOfRevisions = 0;
-        this.quizScores = new ArrayList<>();
+        this.regularAggregate = new ScoreAggregate(PASS_MARK);
+        // A revision quiz never passes the student, so none of its scores count as passes
+        this.revisionAggregate = new ScoreAggregate();
+        this.medianSketch = new QuantileSketch(0.5);
+        this.recentScores = new double[recentScoreCapacity];
         this.verdict = VerdictEnum.TBD; // Initial verdict is TBD
     }
     /**
@@ -42,10 +75,14 @@ public class Statistics {
     }
     /**
      * Sets the student's verdict based on their performance in quizzes.
+     * Only attempts taken through a quiz are written to an attempt log, so a verdict set directly is lost on replay.
+     * Score observers are told if the verdict changes.
      * @param verdict the verdict to be assigned to the student
      */
     public void setVerdict(VerdictEnum verdict) {
+        VerdictEnum previousVerdict = this.verdict;
         this.verdict = verdict;
+        notifyVerdictChanged(previousVerdict);
     }
 
 //    public void setNumberOfRegAttempts(int numberOfRegAttempts) {
@@ -65,29 +102,103 @@ public class Statistics {
 //    }
 
     /**
-     * Returns the list of quiz scores that the student has received.
+     * Returns the most recent quiz scores that the student has received, oldest first.
+     * At most the recent score capacity given at construction is returned; use the running aggregates
+     * for figures over every score.
      *
-     * @return the list of quiz scores
+     * @return a new list of the most recent quiz scores
      */
     public List<Double> getQuizScores() {
-        return quizScores;
+        List<Double> scores = new ArrayList<>(recentCount);
+        for (double score : getRecentScores()) {
+            scores.add(score);
+        }
+        return scores;
     }
     /**
-     * Sets the list of quiz scores for the student.
+     * Replaces the student's scores with the given list, recomputing the running aggregates.
+     * The scores are recorded as regular quiz scores; the verdict is not changed.
      *
      * @param quizScores the list of quiz scores to be assigned
+     * @throws IllegalStateException if score observers are watching these statistics, since they can not follow a
+     *                               replacement of the scores
      */
     public void setQuizScores(List<Double> quizScores) {
-        this.quizScores = quizScores;
+        checkUnobserved();
+        regularAggregate.clear();
+        revisionAggregate.clear();
+        medianSketch.clear();
+        recentCount = 0;
+        recentNext = 0;
+        for (double score : quizScores) {
+            recordScore(score, VerdictEnum.REGULAR);
+        }
     }
     /**
-     * Increments the number of regular quiz attempts.
+     * Returns the most recent quiz scores as a primitive array, oldest first.
+     *
+     * @return a new array of the most recent quiz scores
+     */
+    public double[] getRecentScores() {
+        double[] scores = new double[recentCount];
+        int start = recentNext - recentCount;
+        for (int i = 0; i < recentCount; i++) {
+            scores[i] = recentScores[Math.floorMod(start + i, recentScores.length)];
+        }
+        return scores;
+    }
+    /**
+     * Returns a copy of the running count, mean, variance, minimum and maximum over every score.
+     *
+     * @return a snapshot of the score aggregate
+     */
+    public ScoreAggregate getScoreAggregate() {
+        ScoreAggregate aggregate = regularAggregate.copy();
+        aggregate.merge(revisionAggregate);
+        return aggregate;
+    }
+    /**
+     * Returns a copy of the running aggregate over the scores of one quiz type.
+     *
+     * @param quizType the quiz type, {@code REGULAR} or {@code REVISION}
+     * @return a snapshot of the score aggregate for that quiz type
+     */
+    public ScoreAggregate getScoreAggregate(VerdictEnum quizType) {
+        return aggregateFor(quizType).copy();
+    }
+    /**
+     * Returns the number of scores recorded.
+     *
+     * @return the number of scores
+     */
+    public long getScoreCount() {
+        return regularAggregate.getCount() + revisionAggregate.getCount();
+    }
+    /**
+     * Returns the mean of every score recorded, or {@code NaN} if there are none.
+     *
+     * @return the mean score
+     */
+    public double getMeanScore() {
+        return getScoreAggregate().getMean();
+    }
+    /**
+     * Returns the approximate median of every score recorded, or {@code NaN} if there are none.
+     *
+     * @return the estimated median score
+     */
+    public double getMedianScore() {
+        return medianSketch.getEstimate();
+    }
+    /**
+     * Increments the number of regular quiz attempts. Like {@link #incrementRevisions()}, a direct call is not written
+     * to an attempt log.
      */
     public void incrementRegAttempts() {
         this.numberOfRegAttempts++;
     }
     /**
-     * Increments the number of revision quiz attempts.
+     * Increments the number of revision quiz attempts. A direct call is not written to an attempt log.
      */
     public void incrementRevisions() {
         this.numberOfRevisions++;
@@ -95,39 +206,175 @@ public class Statistics {
     /**
      * Adds a quiz score to the student's statistics and updates the verdict based on the score and quiz type.
      * The verdict is updated depending on whether the quiz was a regular or revision quiz.
+     * The running aggregates and recent history are updated in O(1), then every registered
+     * {@link ScoreObserver} is notified.
      *
      * @param score the score received for the quiz
      * @param v_enum the type of quiz (regular or revision)
      */
     public void addScores(double score,VerdictEnum v_enum) {
         //checkAndSetVerdict(score);
-        checkAndSetVerdict(score,v_enum);
-        this.quizScores.add(score);
+        VerdictEnum previousVerdict = verdict;
+        evaluateVerdict(score,v_enum);
+        recordScore(score, v_enum);
+        for (ScoreObserver observer : scoreObservers) {
+            observer.scoreAdded(this, score, v_enum, previousVerdict);
+        }
+    }
+
+    private void notifyVerdictChanged(VerdictEnum previousVerdict) {
+        if (previousVerdict != verdict) {
+            for (ScoreObserver observer : scoreObservers) {
+                observer.verdictChanged(this, previousVerdict);
+            }
+        }
+    }
+
+    private void checkUnobserved() {
+        if (!scoreObservers.isEmpty()) {
+            throw new IllegalStateException("Statistics watched by score observers can not be replaced");
+        }
+    }
+
+    private ScoreAggregate aggregateFor(VerdictEnum quizType) {
+        switch (quizType) {
+            case REGULAR:
+                return regularAggregate;
+            case REVISION:
+                return revisionAggregate;
+            default:
+                throw new IllegalArgumentException("Quiz type must be REGULAR or REVISION");
+        }
+    }
+
+    private void recordScore(double score, VerdictEnum quizType) {
+        aggregateFor(quizType).add(score);
+        medianSketch.add(score);
+        addRecentScore(score);
+    }
+
+    private void addRecentScore(double score) {
+        if (recentScores.length > 0) {
+            recentScores[recentNext] = score;
+            recentNext = (recentNext + 1) % recentScores.length;
+            recentCount = Math.min(recentCount + 1, recentScores.length);
+        }
     }
     /**
      * Checks the student's performance and updates their verdict accordingly.
      * A score of 50% or more in a regular quiz is considered a pass. If the student has attempted more than two regular
      * or revision quizzes without passing, they are assigned a fail verdict.
      *
+     * Score observers are told if the verdict changes.
+     *
      * @param score the score achieved by the student in the most recent quiz
      * @param v_enum the type of quiz (regular or revision)
      */
     public void checkAndSetVerdict(double score,VerdictEnum v_enum) {
+        VerdictEnum previousVerdict = verdict;
+        evaluateVerdict(score, v_enum);
+        notifyVerdictChanged(previousVerdict);
+    }
+
+    // Observers of addScores learn about the verdict from scoreAdded, so this does not notify them
+    private void evaluateVerdict(double score,VerdictEnum v_enum) {
         // Verdict is set to FAIL if the student fails after 2 regular or revision attempts.
         if (numberOfRegAttempts >= 2) {
-            setVerdict(VerdictEnum.FAIL);
+            verdict = VerdictEnum.FAIL;
         } else if (numberOfRevisions >= 2) {
-            setVerdict(VerdictEnum.FAIL);
+            verdict = VerdictEnum.FAIL;
         }
         // Verdict is set to PASS if the student scores 50% or more in a regular quiz
-        else if (score >= 0.5 && v_enum.equals(VerdictEnum.REGULAR) ) {
-            setVerdict(VerdictEnum.PASS);
+        else if (score >= PASS_MARK && v_enum.equals(VerdictEnum.REGULAR) ) {
+            verdict = VerdictEnum.PASS;
+        }
+    }
+    /**
+     * Returns the number of bytes {@link #writeTo(ByteBuffer)} writes for these statistics.
+     *
+     * @return the encoded size in bytes
+     */
+    public int encodedSize() {
+        return 4 + 4 + 1 + 2 * ScoreAggregate.ENCODED_SIZE + QuantileSketch.ENCODED_SIZE + 4 + 8 * recentCount;
+    }
+    /**
+     * Writes the attempts, verdict, aggregates, median sketch and recent scores to the buffer, for snapshots.
+     * Score observers are not part of the state.
+     *
+     * @param buffer the buffer to write to, with at least {@link #encodedSize()} bytes remaining
+     */
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putInt(numberOfRegAttempts).putInt(numberOfRevisions).put((byte) verdict.ordinal());
+        regularAggregate.writeTo(buffer);
+        revisionAggregate.writeTo(buffer);
+        medianSketch.writeTo(buffer);
+        buffer.putInt(recentCount);
+        for (double score : getRecentScores()) {
+            buffer.putDouble(score);
+        }
+    }
+    /**
+     * Replaces these statistics with the state written by {@link #writeTo(ByteBuffer)}. If this object keeps fewer
+     * recent scores than the written one, only the most recent of them are kept. Used on statistics that are not yet
+     * registered, before any score observer watches them.
+     *
+     * @param buffer the buffer to read from
+     * @throws IllegalStateException if score observers are watching these statistics
+     */
+    public void readFrom(ByteBuffer buffer) {
+        checkUnobserved();
+        numberOfRegAttempts = buffer.getInt();
+        numberOfRevisions = buffer.getInt();
+        verdict = VerdictEnum.values()[buffer.get()];
+        regularAggregate.readFrom(buffer);
+        revisionAggregate.readFrom(buffer);
+        medianSketch.readFrom(buffer);
+        int count = buffer.getInt();
+        recentCount = 0;
+        recentNext = 0;
+        for (int i = 0; i < count; i++) {
+            addRecentScore(buffer.getDouble());
+        }
+    }
+    /**
+     * Sets the observers notified of changes to these statistics. Called by the registry the student is registered in,
+     * which passes its own live, thread-safe list, so observers added to the registry later are notified too.
+     *
+     * @param observers the observers to notify
+     */
+    public void setScoreObservers(List<ScoreObserver> observers) {
+        this.scoreObservers = observers;
+    }
+
+    /**
+     * Receives every score added through {@link #addScores(double, VerdictEnum)} and every other verdict change.
+     * Observers are called while the student's lock is held, so they must be quick and must not block.
+     */
+    public interface ScoreObserver {
+        /**
+         * Called after a score has been added and the verdict re-evaluated.
+         *
+         * @param statistics the statistics the score was added to, already updated
+         * @param score the score that was added
+         * @param quizType the type of quiz the score came from
+         * @param previousVerdict the verdict before the score was added
+         */
+        void scoreAdded(Statistics statistics, double score, VerdictEnum quizType, VerdictEnum previousVerdict);
+
+        /**
+         * Called after the verdict was changed other than by adding a score, for example by
+         * {@link Statistics#setVerdict(VerdictEnum)}. Does nothing by default.
+         *
+         * @param statistics the statistics whose verdict changed
+         * @param previousVerdict the verdict before the change
+         */
+        default void verdictChanged(Statistics statistics, VerdictEnum previousVerdict) {
         }
     }
     /**
      * Returns a string representation of the {@code Statistics} object.
      * The string includes the number of regular quiz attempts, revision attempts,
-     * list of quiz scores, and the student's current verdict.
+     * the score aggregates, the recent quiz scores, and the student's current verdict.
      *
      * @return a string representation of the {@code Statistics} object
      */
@@ -136,7 +383,9 @@ public class Statistics {
         return "Statistics{" +
                 "numberOfRegAttempts=" + numberOfRegAttempts +
                 ", numberOfRevisions=" + numberOfRevisions +
-                ", quizScores=" + quizScores +
+                ", regularScores=" + regularAggregate +
+                ", revisionScores=" + revisionAggregate +
+                ", recentScores=" + getQuizScores() +
                 ", verdict=" + verdict +
                 '}';
     }
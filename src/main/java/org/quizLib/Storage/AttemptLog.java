@@ -0,0 +1,398 @@
+package org.quizLib.Storage;
+
+import org.quizLib.Objects.Student;
+import org.quizLib.Objects.StudentLocks;
+import org.quizLib.Objects.StudentRegistry;
+import org.quizLib.Questions.QuestionInterface;
+import org.quizLib.Statistics;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * The {@code AttemptLog} class is an append-only write-ahead log of graded quiz attempts, so that student statistics
+ * survive a restart. Each record is framed as its payload length, a CRC32 of the payload and the payload itself.
+ * <p>
+ * Appends only queue the record; a single flusher thread writes everything queued since its last flush and forces it
+ * to disk with one {@code fsync} (group commit), then completes the futures of the whole batch. Under load the cost
+ * of a flush is shared by many attempts, while a lone attempt is still flushed straight away.
+ * <p>
+ * On startup, {@link #replay(Path, StudentRegistry, QuestionResolver)} applies the log to a registry and
+ * {@link #open(Path)} continues it. A record cut short by a crash fails its length or CRC check; reading stops there
+ * and {@code open} truncates it.
+ * <p>
+ * Questions are logged by content hash and found again through a {@link QuestionResolver} over the banks loaded at
+ * replay, in any order. A question that is no longer in any bank, or whose answer key has changed, is left out of the
+ * student's seen questions while the rest of its record, and the rest of the log, still apply; the resolver counts
+ * such questions.
+ * <p>
+ * The log is write-behind: a quiz applies an attempt to the student before appending it, so an attempt whose append
+ * fails stays in memory until the next restart. Only attempts are logged; statistics changed directly, such as
+ * {@link Statistics#setVerdict} or {@link Statistics#incrementRevisions()}, are not.
+ */
+public final class AttemptLog implements Closeable {
+    /** Default maximum number of records written by one flush. */
+    public static final int DEFAULT_MAX_BATCH = 4096;
+    /** Largest payload accepted when reading, so a damaged length can not cause a huge allocation. */
+    static final int MAX_RECORD_SIZE = 1 << 24;
+    private static final int FRAME_HEADER_SIZE = 8;
+    private static final Pending CLOSE = new Pending(null, null);
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int maxBatch;
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Object appendLock = new Object();
+    private final Thread flusher;
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong recordCount = new AtomicLong();
+    private long lastSequence;
+    private boolean closed;
+    private volatile IOException failure;
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+    private AttemptLog(Path path, FileChannel channel, long lastSequence, int maxBatch) {
+        this.path = path;
+        this.channel = channel;
+        this.lastSequence = lastSequence;
+        this.maxBatch = maxBatch;
+        this.flusher = new Thread(this::flushLoop, "attempt-log-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Opens the log at the given path for appending, creating it if needed. A torn record at the end of the file
+     * is truncated and numbering continues after the last complete record.
+     *
+     * @param path the log file
+     * @return the open log
+     * @throws IOException if the file can not be opened or read
+     */
+    public static AttemptLog open(Path path) throws IOException {
+        return open(path, DEFAULT_MAX_BATCH);
+    }
+
+    /**
+     * Opens the log at the given path for appending, writing at most {@code maxBatch} records per flush.
+     *
+     * @param path the log file
+     * @param maxBatch the maximum number of records per flush
+     * @return the open log
+     * @throws IOException if the file can not be opened or read
+     */
+    public static AttemptLog open(Path path, int maxBatch) throws IOException {
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long[] end = scan(channel, record -> { });
+            channel.truncate(end[0]);
+            channel.position(end[0]);
+            return new AttemptLog(path, channel, end[1], maxBatch);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Applies every record of the log to the students of the registry, registering students as needed.
+     *
+     * @param path the log file; a missing file is treated as empty
+     * @param registry the registry to apply the records to
+     * @param questions resolves the logged questions
+     * @return the sequence number of the last record read, or 0 if there is none
+     * @throws IOException if the file can not be read
+     */
+    public static long replay(Path path, StudentRegistry registry, QuestionResolver questions) throws IOException {
+        return replay(path, registry, 0, questions);
+    }
+
+    /**
+     * Applies the records of the log that come after {@code afterSequence} to the students of the registry,
+     * for example the records written after a snapshot was taken.
+     *
+     * @param path the log file; a missing file is treated as empty
+     * @param registry the registry to apply the records to
+     * @param afterSequence the sequence number of the last record already reflected in the registry
+     * @param questions resolves the logged questions
+     * @return the sequence number of the last record read, or {@code afterSequence} if there is none after it
+     * @throws IOException if the file can not be read
+     */
+    public static long replay(Path path, StudentRegistry registry, long afterSequence, QuestionResolver questions) throws IOException {
+        return replay(path, registry, afterSequence, Map.of(), questions);
+    }
+
+    /**
+     * Replays the records after {@code afterSequence}, except that a student in {@code watermarks} only gets the
+     * records after its own watermark. Used by {@link RosterSnapshot}, whose students are copied at different times.
+     */
+    static long replay(Path path, StudentRegistry registry, long afterSequence, Map<Student, Long> watermarks,
+                       QuestionResolver questions) throws IOException {
+        if (!Files.exists(path)) {
+            return afterSequence;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long last = scan(channel, record -> {
+                if (record.getSequence() > afterSequence) {
+                    apply(record, registry, watermarks, questions);
+                }
+            })[1];
+            return Math.max(last, afterSequence);
+        }
+    }
+
+    /**
+     * Queues a record and returns a future that completes with its sequence number once it is on disk.
+     * The future completes exceptionally with an {@link IOException} if the record could not be written.
+     *
+     * @param record the attempt to log
+     * @return a future for the durable sequence number of the record
+     * @throws IllegalStateException if the log is closed
+     */
+    public CompletableFuture<Long> append(AttemptRecord record) {
+        CompletableFuture<Long> future = new CompletableFuture<>();
+        IOException failed = failure;
+        if (failed != null) {
+            future.completeExceptionally(failed);
+            return future;
+        }
+        // Sequence numbers are handed out in queue order so that they increase along the file
+        synchronized (appendLock) {
+            if (closed) {
+                throw new IllegalStateException("Attempt log is closed");
+            }
+            queue.add(new Pending(record.withSequence(++lastSequence), future));
+        }
+        return future;
+    }
+
+    /**
+     * Returns the sequence number of the last record appended, which may not be on disk yet.
+     * A caller holding a student's lock knows that every attempt of that student applied so far is numbered
+     * at most this value, because {@code takeQuizGeneral} appends under the same lock.
+     *
+     * @return the last sequence number handed out, or 0 if there is none
+     */
+    public long getLastSequence() {
+        synchronized (appendLock) {
+            return lastSequence;
+        }
+    }
+
+    /**
+     * Returns the log file.
+     * @return the path of the log
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Returns the number of flushes, each ending in one {@code fsync}, performed so far.
+     * @return the number of flushes
+     */
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    /**
+     * Returns the number of records written by this log since it was opened.
+     * @return the number of records written
+     */
+    public long getRecordCount() {
+        return recordCount.get();
+    }
+
+    /**
+     * Flushes the queued records and closes the log. Appends after closing are rejected.
+     *
+     * @throws IOException if the file can not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (appendLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            queue.add(CLOSE);
+        }
+        boolean interrupted = false;
+        while (flusher.isAlive()) {
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        channel.close();
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flushLoop() {
+        List<Pending> batch = new ArrayList<>();
+        boolean running = true;
+        while (running) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                continue;// only close() stops the flusher, so queued records are never dropped
+            }
+            queue.drainTo(batch, maxBatch - 1);
+            if (batch.getLast() == CLOSE) {
+                batch.removeLast();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+            }
+            batch.clear();
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        IOException failed = failure;
+        if (failed == null) {
+            try {
+                ByteBuffer out = encode(batch);
+                while (out.hasRemaining()) {
+                    channel.write(out);
+                }
+                channel.force(false);
+                flushCount.incrementAndGet();
+                recordCount.addAndGet(batch.size());
+            } catch (IOException e) {
+                // The file may now end in a partial batch; later appends fail and open() truncates it
+                failure = failed = e;
+            }
+        }
+        for (Pending pending : batch) {
+            if (failed == null) {
+                pending.future.complete(pending.record.getSequence());
+            } else {
+                pending.future.completeExceptionally(failed);
+            }
+        }
+    }
+
+    private ByteBuffer encode(List<Pending> batch) {
+        int size = 0;
+        for (Pending pending : batch) {
+            size += FRAME_HEADER_SIZE + pending.record.encodedSize();
+        }
+        if (buffer.capacity() < size) {
+            buffer = ByteBuffer.allocate(Math.max(size, buffer.capacity() * 2));
+        }
+        buffer.clear();
+        CRC32 crc = new CRC32();
+        for (Pending pending : batch) {
+            int frame = buffer.position();
+            buffer.position(frame + FRAME_HEADER_SIZE);
+            pending.record.writeTo(buffer);
+            int end = buffer.position();
+            crc.reset();
+            crc.update(buffer.slice(frame + FRAME_HEADER_SIZE, end - frame - FRAME_HEADER_SIZE));
+            buffer.putInt(frame, end - frame - FRAME_HEADER_SIZE);
+            buffer.putInt(frame + 4, (int) crc.getValue());
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Reads complete records from the start of the channel and returns the end of the last one and its sequence.
+     */
+    private static long[] scan(FileChannel channel, Consumer<AttemptRecord> consumer) throws IOException {
+        channel.position(0);
+        InputStream stream = Channels.newInputStream(channel);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream, 64 * 1024));
+        long position = 0;
+        long lastSequence = 0;
+        CRC32 crc = new CRC32();
+        while (true) {
+            byte[] payload;
+            int checksum;
+            try {
+                int length = in.readInt();
+                checksum = in.readInt();
+                if (length <= 0 || length > MAX_RECORD_SIZE) {
+                    break;
+                }
+                payload = new byte[length];
+                in.readFully(payload);
+            } catch (EOFException e) {
+                break;
+            }
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            AttemptRecord record = AttemptRecord.readFrom(ByteBuffer.wrap(payload));
+            consumer.accept(record);
+            position += FRAME_HEADER_SIZE + payload.length;
+            lastSequence = record.getSequence();
+        }
+        return new long[]{position, lastSequence};
+    }
+
+    private static void apply(AttemptRecord record, StudentRegistry registry, Map<Student, Long> watermarks,
+                              QuestionResolver questions) {
+        Student student = registry.register(record.getStudentName(), record.getDateOfBirth());
+        if (record.getSequence() <= watermarks.getOrDefault(student, 0L)) {
+            return;
+        }
+        List<QuestionInterface> seen = new ArrayList<>();
+        for (long hash : record.getSeenQuestionHashes()) {
+            QuestionInterface question = questions.resolve(hash);
+            if (question != null) {
+                seen.add(question);
+            }
+        }
+        ReentrantLock lock = StudentLocks.lockFor(student);
+        lock.lock();
+        try {
+            for (QuestionInterface question : seen) {
+                student.addQuestionAsSeen(question);
+            }
+            Statistics statistics = student.getStatistics();
+            statistics.incrementRegAttempts();
+            statistics.addScores(record.getScore(), record.getQuizType());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static final class Pending {
+        final AttemptRecord record;
+        final CompletableFuture<Long> future;
+
+        Pending(AttemptRecord record, CompletableFuture<Long> future) {
+            this.record = record;
+            this.future = future;
+        }
+    }
+}
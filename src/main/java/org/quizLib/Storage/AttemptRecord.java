@@ -0,0 +1,156 @@
+package org.quizLib.Storage;
+
+import org.enums.VerdictEnum;
+import org.quizLib.Questions.QuestionIds;
+import org.quizLib.Questions.QuestionInterface;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The {@code AttemptRecord} class is one entry of the {@link AttemptLog}: a graded quiz attempt with everything needed
+ * to apply it again to a student on replay (who took it, the quiz type, the score and the questions answered correctly).
+ * <p>
+ * Each question is stored as its {@link QuestionIds#contentHash content hash} rather than its id, since ids depend on
+ * the order questions were created in. A replay finds the questions again through a {@link QuestionResolver}.
+ */
+public final class AttemptRecord {
+    private final long sequence;
+    private final String studentName;
+    private final long dateOfBirth;
+    private final VerdictEnum quizType;
+    private final double score;
+    private final long[] seenQuestionHashes;
+
+    /**
+     * Constructs an attempt record. Its sequence number is assigned when it is appended to an {@link AttemptLog}.
+     *
+     * @param studentName the name of the student
+     * @param dateOfBirth the student's date of birth
+     * @param quizType the quiz type, {@code REGULAR} or {@code REVISION}
+     * @param score the score of the attempt
+     * @param seenQuestions the questions answered correctly
+     */
+    public AttemptRecord(String studentName, Date dateOfBirth, VerdictEnum quizType, double score, List<? extends QuestionInterface> seenQuestions) {
+        this(0, studentName, dateOfBirth.getTime(), quizType, score, new long[seenQuestions.size()]);
+        int index = 0;
+        for (QuestionInterface question : seenQuestions) {
+            seenQuestionHashes[index++] = QuestionIds.contentHash(question);
+        }
+    }
+
+    private AttemptRecord(long sequence, String studentName, long dateOfBirth, VerdictEnum quizType, double score,
+                          long[] seenQuestionHashes) {
+        this.sequence = sequence;
+        this.studentName = studentName;
+        this.dateOfBirth = dateOfBirth;
+        this.quizType = quizType;
+        this.score = score;
+        this.seenQuestionHashes = seenQuestionHashes;
+    }
+
+    AttemptRecord withSequence(long newSequence) {
+        return new AttemptRecord(newSequence, studentName, dateOfBirth, quizType, score, seenQuestionHashes);
+    }
+
+    /**
+     * Returns the position of the record in the log, starting at 1.
+     * @return the sequence number, or 0 if the record has not been appended
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the name of the student who made the attempt.
+     * @return the student's name
+     */
+    public String getStudentName() {
+        return studentName;
+    }
+
+    /**
+     * Returns the date of birth of the student who made the attempt.
+     * @return the student's date of birth
+     */
+    public Date getDateOfBirth() {
+        return new Date(dateOfBirth);
+    }
+
+    /**
+     * Returns the type of quiz attempted.
+     * @return {@code REGULAR} or {@code REVISION}
+     */
+    public VerdictEnum getQuizType() {
+        return quizType;
+    }
+
+    /**
+     * Returns the score of the attempt.
+     * @return the score
+     */
+    public double getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the content hashes of the questions answered correctly.
+     * @return a copy of the content hashes
+     */
+    public long[] getSeenQuestionHashes() {
+        return seenQuestionHashes.clone();
+    }
+
+    /**
+     * Returns the number of bytes {@link #writeTo(ByteBuffer)} will write.
+     */
+    int encodedSize() {
+        return 8 + 4 + studentName.getBytes(StandardCharsets.UTF_8).length + 8 + 1 + 8 + 4 + 8 * seenQuestionHashes.length;
+    }
+
+    void writeTo(ByteBuffer buffer) {
+        byte[] name = studentName.getBytes(StandardCharsets.UTF_8);
+        buffer.putLong(sequence);
+        buffer.putInt(name.length);
+        buffer.put(name);
+        buffer.putLong(dateOfBirth);
+        buffer.put((byte) quizType.ordinal());
+        buffer.putDouble(score);
+        buffer.putInt(seenQuestionHashes.length);
+        for (long hash : seenQuestionHashes) {
+            buffer.putLong(hash);
+        }
+    }
+
+    static AttemptRecord readFrom(ByteBuffer buffer) {
+        long sequence = buffer.getLong();
+        byte[] name = new byte[buffer.getInt()];
+        buffer.get(name);
+        long dateOfBirth = buffer.getLong();
+        VerdictEnum quizType = VerdictEnum.values()[buffer.get()];
+        double score = buffer.getDouble();
+        long[] hashes = new long[buffer.getInt()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = buffer.getLong();
+        }
+        return new AttemptRecord(sequence, new String(name, StandardCharsets.UTF_8), dateOfBirth, quizType, score, hashes);
+    }
+
+    /**
+     * Returns a string representation of the record.
+     * @return a string containing the record's fields
+     */
+    @Override
+    public String toString() {
+        return "AttemptRecord{" +
+                "sequence=" + sequence +
+                ", studentName='" + studentName + '\'' +
+                ", dateOfBirth=" + new Date(dateOfBirth) +
+                ", quizType=" + quizType +
+                ", score=" + score +
+                ", seenQuestions=" + seenQuestionHashes.length +
+                '}';
+    }
+}
@@ -0,0 +1,161 @@
+package org.quizLib.Storage;
+
+import org.enums.QuestionType;
+import org.quizLib.Bank.QuestionBank;
+import org.quizLib.Questions.QuestionIds;
+import org.quizLib.Questions.QuestionInterface;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code QuestionResolver} class finds the questions of a list of banks by their
+ * {@link QuestionIds#contentHash content hash}. Question ids depend on the order questions were created in, so the
+ * {@link AttemptLog} and {@link RosterSnapshot} store content hashes instead and resolve them on startup through a
+ * resolver over the banks loaded then.
+ * <p>
+ * The index is built on first use, by hashing every question of the banks once. It keeps each question's position in
+ * its bank rather than the question itself, about 16 bytes per question, so a lazily built bank such as
+ * {@link org.quizLib.Bank.MappedQuestionBank} is not pulled onto the heap. Questions with the same content are
+ * interchangeable and resolve to the first of them. The class is thread-safe.
+ */
+public final class QuestionResolver {
+    private static final int INDEX_BITS = 32;
+    private static final int TYPE_BITS = 8;
+    private final List<QuestionBank> banks;
+    private final AtomicLong unresolved = new AtomicLong();
+    private volatile Index index;
+
+    private QuestionResolver(List<QuestionBank> banks) {
+        this.banks = banks;
+    }
+
+    /**
+     * Creates a resolver over the given banks.
+     *
+     * @param banks the banks to resolve questions from, in the order they are searched
+     * @return the resolver
+     * @throws IllegalArgumentException if there are too many banks
+     */
+    public static QuestionResolver of(List<? extends QuestionBank> banks) {
+        if (banks.size() >= 1 << (63 - INDEX_BITS - TYPE_BITS)) {
+            throw new IllegalArgumentException("Too many question banks: " + banks.size());
+        }
+        return new QuestionResolver(List.copyOf(banks));
+    }
+
+    /**
+     * Returns the banks this resolver searches.
+     * @return an unmodifiable list of the banks
+     */
+    public List<QuestionBank> getBanks() {
+        return banks;
+    }
+
+    /**
+     * Returns a question of the banks with the given content hash.
+     *
+     * @param contentHash the content hash of the question
+     * @return the question, or {@code null} if none of the banks holds a question with that content
+     */
+    public QuestionInterface resolve(long contentHash) {
+        long position = index().find(contentHash);
+        if (position == 0) {
+            unresolved.incrementAndGet();
+            return null;
+        }
+        position--;
+        QuestionBank bank = banks.get((int) (position >>> (INDEX_BITS + TYPE_BITS)));
+        QuestionType questionType = QuestionType.values()[(int) (position >>> INDEX_BITS) & ((1 << TYPE_BITS) - 1)];
+        return bank.get(questionType, (int) position);
+    }
+
+    /**
+     * Returns the number of {@link #resolve} calls that found no question, for example because a question was
+     * removed from its bank or its answer key was corrected since it was stored.
+     * @return the number of unresolved lookups
+     */
+    public long getUnresolvedCount() {
+        return unresolved.get();
+    }
+
+    private Index index() {
+        Index current = index;
+        if (current == null) {
+            synchronized (this) {
+                current = index;
+                if (current == null) {
+                    current = build();
+                    index = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Index build() {
+        long total = 0;
+        for (QuestionBank bank : banks) {
+            total += bank.size();
+        }
+        // At most three quarters full, so linear probing stays short
+        long wanted = Math.max(2, total + total / 3 + 1);
+        if (wanted > 1 << 30) {
+            throw new IllegalStateException("Too many questions to index: " + total);
+        }
+        int capacity = Integer.highestOneBit((int) wanted - 1) << 1;
+        Index built = new Index(capacity);
+        for (int b = 0; b < banks.size(); b++) {
+            QuestionBank bank = banks.get(b);
+            for (QuestionType questionType : QuestionType.values()) {
+                long prefix = ((long) b << (INDEX_BITS + TYPE_BITS)) | ((long) questionType.ordinal() << INDEX_BITS);
+                for (int i = 0; i < bank.size(questionType); i++) {
+                    built.putIfAbsent(QuestionIds.contentHash(bank.get(questionType, i)), (prefix | i) + 1);
+                }
+            }
+        }
+        return built;
+    }
+
+    /**
+     * Open-addressing map from content hash to bank position plus one, where zero marks an empty slot.
+     */
+    private static final class Index {
+        private final long[] hashes;
+        private final long[] positions;
+        private final int mask;
+
+        private Index(int capacity) {
+            this.hashes = new long[capacity];
+            this.positions = new long[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private void putIfAbsent(long hash, long position) {
+            int slot = slot(hash);
+            while (positions[slot] != 0) {
+                if (hashes[slot] == hash) {
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            hashes[slot] = hash;
+            positions[slot] = position;
+        }
+
+        private long find(long hash) {
+            int slot = slot(hash);
+            while (positions[slot] != 0) {
+                if (hashes[slot] == hash) {
+                    return positions[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return 0;
+        }
+
+        private int slot(long hash) {
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,355 @@
+package org.quizLib.Storage;
+
+import org.quizLib.Bank.BankVersion;
+import org.quizLib.Bank.QuestionBank;
+import org.quizLib.Objects.QuestionIdSet;
+import org.quizLib.Objects.Student;
+import org.quizLib.Objects.StudentLocks;
+import org.quizLib.Objects.StudentRegistry;
+import org.quizLib.Questions.QuestionIds;
+import org.quizLib.Questions.QuestionInterface;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code RosterSnapshot} class writes the whole student roster to a compact binary file and loads it back, so a
+ * restart does not have to replay the full {@link AttemptLog}. Each student is stored with its name, date of birth,
+ * statistics and its seen and incorrect questions. Question ids differ from run to run, so questions are stored by
+ * {@link QuestionIds#contentHash content hash}, and the file records the {@link BankVersion} of each question bank the
+ * roster was written against. Loading checks that the given banks still hold those versions and that every stored
+ * question resolves to one of their questions, and fails otherwise rather than restoring a history that points at
+ * other questions.
+ * <p>
+ * Writing does not stop grading: students are copied one at a time under their own lock while other students keep
+ * taking quizzes, and the copy is encoded and written to the file after the lock is released. When a log is given, the snapshot records the log's last sequence number when writing began and,
+ * for each student, the last sequence number covered by that student's copy, so {@link #replay(Path)} applies every
+ * logged attempt exactly once. The file is written next to the target and moved into place when complete.
+ * <p>
+ * Students are stored in blocks of {@value #BLOCK_SIZE}; loading maps the file and decodes the blocks in parallel.
+ * <pre>
+ * header:  magic, version, sequence, student count, block count, block table offset, bank count
+ * banks:   per bank: its version as a length-prefixed string
+ * blocks:  per student: name, date of birth, watermark, seen hashes, incorrect hashes, statistics
+ * table:   block count + 1 offsets, the last one being the end of the blocks
+ * </pre>
+ */
+public final class RosterSnapshot {
+    static final int MAGIC = 0x51525354;
+    static final int VERSION = 3;
+    static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4 + 8 + 4;
+    /** Number of students per block, the unit of parallel decoding. */
+    public static final int BLOCK_SIZE = 4096;
+
+    private final StudentRegistry registry;
+    private final long sequence;
+    private final QuestionResolver questions;
+    private final Map<Student, Long> watermarks;
+
+    private RosterSnapshot(StudentRegistry registry, long sequence, QuestionResolver questions, Map<Student, Long> watermarks) {
+        this.registry = registry;
+        this.sequence = sequence;
+        this.questions = questions;
+        this.watermarks = watermarks;
+    }
+
+    /**
+     * Writes a snapshot of every student in the registry.
+     *
+     * @param path the snapshot file, replaced when the new snapshot is complete
+     * @param registry the students to write
+     * @param banks the question banks the students' questions come from, in the order they are loaded
+     * @return the number of students written
+     * @throws IOException if the file can not be written, or a student's question no longer resolves
+     */
+    public static int write(Path path, StudentRegistry registry, List<? extends QuestionBank> banks) throws IOException {
+        return write(path, registry, null, banks);
+    }
+
+    /**
+     * Writes a snapshot of every student in the registry, recording how far it covers the given attempt log.
+     *
+     * @param path the snapshot file, replaced when the new snapshot is complete
+     * @param registry the students to write
+     * @param log the attempt log that graders append to, or {@code null}
+     * @param banks the question banks the students' questions come from, in the order they are loaded
+     * @return the number of students written
+     * @throws IOException if the file can not be written, or a student's question no longer resolves
+     */
+    public static int write(Path path, StudentRegistry registry, AttemptLog log, List<? extends QuestionBank> banks) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        // Attempts numbered up to here were applied before any student is copied
+        long sequence = log == null ? 0 : log.getLastSequence();
+        int students = 0;
+        List<Long> blockOffsets = new ArrayList<>();
+        Map<Integer, Long> hashes = new HashMap<>();
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_SIZE);
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+            for (QuestionBank bank : banks) {
+                byte[] version = BankVersion.of(bank).toString().getBytes(StandardCharsets.UTF_8);
+                buffer.putInt(version.length).put(version);
+            }
+            for (Student student : registry.getStudents()) {
+                if (students % BLOCK_SIZE == 0) {
+                    blockOffsets.add(channel.position() + buffer.position());
+                }
+                buffer = encode(student, log, hashes, buffer, channel);
+                students++;
+            }
+            long position = drain(buffer, channel);
+            blockOffsets.add(position);
+            ByteBuffer table = ByteBuffer.allocate(blockOffsets.size() * 8);
+            for (long offset : blockOffsets) {
+                table.putLong(offset);
+            }
+            writeFully(table.flip(), channel);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putLong(sequence)
+                    .putInt(students).putInt(blockOffsets.size() - 1).putLong(position).putInt(banks.size());
+            channel.position(0);
+            writeFully(header.flip(), channel);
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return students;
+    }
+
+    /**
+     * Writes a snapshot every {@code period}, for example to keep restarts fast while the attempt log grows.
+     * A failed write cancels the schedule, and the error is reported by the returned future.
+     *
+     * @param executor the executor to run the writes on
+     * @param path the snapshot file
+     * @param registry the students to write
+     * @param log the attempt log that graders append to, or {@code null}
+     * @param banks the question banks the students' questions come from, in the order they are loaded
+     * @param period the time between the end of one write and the start of the next
+     * @param unit the unit of {@code period}
+     * @return the scheduled task
+     */
+    public static ScheduledFuture<?> schedule(ScheduledExecutorService executor, Path path, StudentRegistry registry,
+                                              AttemptLog log, List<? extends QuestionBank> banks, long period, TimeUnit unit) {
+        return executor.scheduleWithFixedDelay(() -> {
+            try {
+                write(path, registry, log, banks);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, period, period, unit);
+    }
+
+    /**
+     * Loads a snapshot into a new registry. The file is memory-mapped and its blocks are decoded in parallel.
+     *
+     * @param path the snapshot file
+     * @param questions resolves the stored questions; its banks must be the banks given when writing, in the same
+     *                  order, each holding at least the questions it held then
+     * @return the loaded snapshot
+     * @throws IOException if the file can not be read or is not a roster snapshot, a bank no longer holds the questions
+     *                     it held when the snapshot was written, or a stored question is in none of the banks
+     */
+    public static RosterSnapshot load(Path path, QuestionResolver questions) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot is larger than 2 GB: " + path);
+            }
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Not a roster snapshot: " + path);
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (mapped.getInt(0) != MAGIC) {
+            throw new IOException("Not a roster snapshot: " + path);
+        }
+        if (mapped.getInt(4) != VERSION) {
+            throw new IOException("Unsupported roster snapshot version " + mapped.getInt(4) + ": " + path);
+        }
+        long sequence = mapped.getLong(8);
+        int blocks = mapped.getInt(20);
+        int table = (int) mapped.getLong(24);
+        checkBanks(path, mapped.slice(HEADER_SIZE, mapped.capacity() - HEADER_SIZE), mapped.getInt(32), questions.getBanks());
+        StudentRegistry registry = new StudentRegistry();
+        Map<Student, Long> watermarks = new ConcurrentHashMap<>();
+        try {
+            IntStream.range(0, blocks).parallel().forEach(block -> {
+                int start = (int) mapped.getLong(table + block * 8);
+                int end = (int) mapped.getLong(table + (block + 1) * 8);
+                ByteBuffer buffer = mapped.slice(start, end - start);
+                while (buffer.hasRemaining()) {
+                    decode(buffer, registry, sequence, watermarks, questions, path);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return new RosterSnapshot(registry, sequence, questions, watermarks);
+    }
+
+    /**
+     * Applies the attempts logged after this snapshot was taken, skipping those each student's copy already covers.
+     * Logged questions are resolved through the banks the snapshot was loaded with.
+     *
+     * @param logPath the attempt log; a missing file is treated as empty
+     * @return the sequence number of the last record read
+     * @throws IOException if the log can not be read
+     */
+    public long replay(Path logPath) throws IOException {
+        return AttemptLog.replay(logPath, registry, sequence, watermarks, questions);
+    }
+
+    /**
+     * Returns the registry holding the loaded students.
+     * @return the registry
+     */
+    public StudentRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Returns the attempt log sequence number every student in the snapshot is known to cover.
+     * Log records up to this number are no longer needed once the snapshot is in place.
+     * @return the sequence number, or 0 if no log was given when writing
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    private static void checkBanks(Path path, ByteBuffer references, int count, List<QuestionBank> banks) throws IOException {
+        if (count != banks.size()) {
+            throw new IOException("Roster snapshot was written against " + count + " question banks, not " + banks.size() + ": " + path);
+        }
+        for (int i = 0; i < count; i++) {
+            byte[] version = new byte[references.getInt()];
+            references.get(version);
+            try {
+                BankVersion.parse(new String(version, StandardCharsets.UTF_8)).view(banks.get(i));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Question bank " + i + " does not match roster snapshot " + path + ": " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private static ByteBuffer encode(Student student, AttemptLog log, Map<Integer, Long> hashes, ByteBuffer buffer,
+                                     FileChannel channel) throws IOException {
+        byte[] name = student.getName().getBytes(StandardCharsets.UTF_8);
+        QuestionIdSet seen;
+        QuestionIdSet incorrect;
+        long watermark;
+        ByteBuffer statistics;
+        // Only the copy is made under the student's lock; hashing and file I/O happen after it is released
+        ReentrantLock lock = StudentLocks.lockFor(student);
+        lock.lock();
+        try {
+            seen = student.getQuestionsSeenIds();
+            incorrect = student.getIncorrectQuestionIds();
+            // Attempts of this student numbered up to here are in this copy, later ones are not
+            watermark = log == null ? 0 : log.getLastSequence();
+            statistics = ByteBuffer.allocate(student.getStatistics().encodedSize());
+            student.getStatistics().writeTo(statistics);
+        } finally {
+            lock.unlock();
+        }
+        int size = 4 + name.length + 8 + 8 + 4 + 8 * seen.cardinality() + 4 + 8 * incorrect.cardinality() + statistics.capacity();
+        if (buffer.remaining() < size) {
+            drain(buffer, channel);
+            if (buffer.capacity() < size) {
+                buffer = ByteBuffer.allocate(size);
+            }
+        }
+        buffer.putInt(name.length).put(name);
+        buffer.putLong(student.getDateOfBirth().getTime());
+        buffer.putLong(watermark);
+        writeHashes(student, seen, hashes, buffer);
+        writeHashes(student, incorrect, hashes, buffer);
+        buffer.put(statistics.flip());
+        return buffer;
+    }
+
+    private static void writeHashes(Student student, QuestionIdSet ids, Map<Integer, Long> hashes, ByteBuffer buffer) throws IOException {
+        buffer.putInt(ids.cardinality());
+        int[] unresolved = {-1};
+        ids.forEach(id -> {
+            Long hash = hashes.get(id);
+            if (hash == null) {
+                QuestionInterface question = QuestionIds.lookup(id);
+                if (question == null) {
+                    unresolved[0] = id;
+                    hash = 0L;
+                } else {
+                    hash = QuestionIds.contentHash(question);
+                    hashes.put(id, hash);
+                }
+            }
+            buffer.putLong(hash);
+        });
+        if (unresolved[0] >= 0) {
+            throw new IOException("Question id " + unresolved[0] + " of " + student.getName() + " does not resolve to a question");
+        }
+    }
+
+    private static void decode(ByteBuffer buffer, StudentRegistry registry, long sequence, Map<Student, Long> watermarks,
+                               QuestionResolver questions, Path path) {
+        byte[] name = new byte[buffer.getInt()];
+        buffer.get(name);
+        Date dateOfBirth = new Date(buffer.getLong());
+        long watermark = buffer.getLong();
+        Student student = new Student(new String(name, StandardCharsets.UTF_8), dateOfBirth);
+        for (QuestionInterface question : readQuestions(buffer, questions, student, path)) {
+            student.addQuestionAsSeen(question);
+        }
+        for (QuestionInterface question : readQuestions(buffer, questions, student, path)) {
+            student.addIncorrectQuestion(question);
+        }
+        student.getStatistics().readFrom(buffer);
+        registry.register(student);
+        if (watermark > sequence) {
+            watermarks.put(student, watermark);
+        }
+    }
+
+    private static QuestionInterface[] readQuestions(ByteBuffer buffer, QuestionResolver questions, Student student, Path path) {
+        QuestionInterface[] resolved = new QuestionInterface[buffer.getInt()];
+        for (int i = 0; i < resolved.length; i++) {
+            long hash = buffer.getLong();
+            resolved[i] = questions.resolve(hash);
+            if (resolved[i] == null) {
+                throw new UncheckedIOException(new IOException("Question " + Long.toHexString(hash) + " of " + student.getName()
+                        + " in roster snapshot " + path + " is in none of the question banks"));
+            }
+        }
+        return resolved;
+    }
+
+    private static long drain(ByteBuffer buffer, FileChannel channel) throws IOException {
+        writeFully(buffer.flip(), channel);
+        buffer.clear();
+        return channel.position();
+    }
+
+    private static void writeFully(ByteBuffer buffer, FileChannel channel) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
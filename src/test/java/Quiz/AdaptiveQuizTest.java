@@ -0,0 +1,72 @@
+package Quiz;
+
+import org.enums.QuestionType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.quizLib.Bank.ItemCalibration;
+import org.quizLib.Bank.QuestionCatalog;
+import org.quizLib.Bank.QuestionDifficulty;
+import org.quizLib.Objects.Student;
+import org.quizLib.Questions.AbstractQuestion;
+import org.quizLib.Questions.QuestionInterface;
+import org.quizLib.Quiz.AdaptiveQuiz;
+
+import java.util.*;
+
+public final class AdaptiveQuizTest {
+    @Test
+    public void ability_estimate_follows_the_answers() {
+        QuestionCatalog catalog = new QuestionCatalog();
+        int[] ids = new int[60];
+        double[] difficulties = new double[60];
+        Map<Integer, Double> difficultyById = new HashMap<>();
+        for (int i = 0; i < 60; i++) {
+            QuestionInterface question = AbstractQuestion.getQuestionInstance(QuestionType.FREE_RESPONSE_QUESTION, "Adaptive question " + i + "?", "answer" + i);
+            catalog.add(QuestionType.FREE_RESPONSE_QUESTION, question);
+            ids[i] = question.getQuestionId();
+            difficulties[i] = (i - 30) / 10.0;
+            difficultyById.put(ids[i], difficulties[i]);
+        }
+        AdaptiveQuiz quiz = new AdaptiveQuiz(catalog, ItemCalibration.of(ids, difficulties), 1);
+        Student student = new Student("Fidan", new Date(0));
+        AdaptiveQuiz.Session session = quiz.start(student);
+        //a student of ability 1.5 answers every question easier than that correctly
+        for (int i = 0; i < 20; i++) {
+            QuestionInterface question = session.next();
+            Assertions.assertSame(question, session.next());
+            boolean correct = difficultyById.get(question.getQuestionId()) < 1.5;
+            String answer = correct ? question.getQuestionFormula().replace("Adaptive question ", "answer").replace("?", "") : "wrong";
+            Assertions.assertEquals(correct, session.answer(answer));
+        }
+        Assertions.assertEquals(1.5, session.getAbility(), 0.5);
+        Assertions.assertTrue(session.getStandardError() < 0.5);
+        Assertions.assertEquals(20, new HashSet<>(session.getQuestions()).size());
+        session.finish();
+        Assertions.assertEquals(1, student.getStatistics().getNumberOfRegAttempts());
+        Assertions.assertThrows(IllegalStateException.class, session::next);
+    }
+
+    @Test
+    public void calibrate_orders_questions_by_failure_rate() {
+        QuestionCatalog catalog = new QuestionCatalog();
+        QuestionDifficulty counts = new QuestionDifficulty();
+        QuestionInterface easy = AbstractQuestion.getQuestionInstance(QuestionType.FREE_RESPONSE_QUESTION, "Calibration easy?", "easy");
+        QuestionInterface hard = AbstractQuestion.getQuestionInstance(QuestionType.FREE_RESPONSE_QUESTION, "Calibration hard?", "hard");
+        QuestionInterface fresh = AbstractQuestion.getQuestionInstance(QuestionType.MULTIPLE_CHOICE_QUESTION, "Calibration fresh?", "a");
+        catalog.add(QuestionType.FREE_RESPONSE_QUESTION, easy);
+        catalog.add(QuestionType.FREE_RESPONSE_QUESTION, hard);
+        catalog.add(QuestionType.MULTIPLE_CHOICE_QUESTION, fresh);
+        for (int i = 0; i < 20; i++) {
+            counts.record(easy.getQuestionId(), i < 18);
+            counts.record(hard.getQuestionId(), i < 3);
+        }
+        ItemCalibration calibration = ItemCalibration.calibrate(catalog, counts);
+        Assertions.assertEquals(3, calibration.size());
+        Assertions.assertEquals(easy.getQuestionId(), calibration.questionId(0));
+        Assertions.assertEquals(fresh.getQuestionId(), calibration.questionId(1));
+        Assertions.assertEquals(hard.getQuestionId(), calibration.questionId(2));
+        Assertions.assertEquals(0.0, calibration.difficulty(0) + calibration.difficulty(2), 1e-9);
+        //the fixed quiz for an average student starts with the question closest to difficulty 0
+        Assertions.assertEquals(fresh, new AdaptiveQuiz(catalog, calibration, 1).generateQuiz(1).iterator().next());
+    }
+}
@@ -0,0 +1,99 @@
+package Quiz.Analytics;
+
+import org.enums.VerdictEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quizLib.Analytics.CohortAnalytics;
+import org.quizLib.Analytics.CohortSummary;
+import org.quizLib.Analytics.IncrementalCohortAnalytics;
+import org.quizLib.Objects.Student;
+import org.quizLib.Objects.StudentRegistry;
+import org.quizLib.Questions.FreeResponseQuestion;
+import org.quizLib.Questions.QuestionInterface;
+import org.quizLib.Quiz.RegularQuiz;
+import org.quizLib.Quiz.RevisionQuiz;
+
+import java.util.*;
+
+public final class CohortAnalyticsTest {
+    private StudentRegistry registry;
+    private IncrementalCohortAnalytics incremental;
+    private final List<QuestionInterface> questions = List.of(new FreeResponseQuestion("What is the only mammal that can fly?", "Bat"));
+
+    @BeforeEach
+    void setUp() {
+        registry = new StudentRegistry();
+        incremental = new IncrementalCohortAnalytics();
+        incremental.attach(registry);
+        RegularQuiz regularQuiz = new RegularQuiz();
+        RevisionQuiz revisionQuiz = new RevisionQuiz();
+        for (int i = 0; i < 10_000; i++) {
+            Student student = registry.register("Student " + i, new Date(0));
+            if (i % 4 == 0) {
+                regularQuiz.takeQuiz(student, questions, List.of("Bat"));       //pass
+            } else if (i % 4 == 1) {
+                regularQuiz.takeQuiz(student, questions, List.of("Cat"));
+                regularQuiz.takeQuiz(student, questions, List.of("Cat"));       //fail
+            } else {
+                revisionQuiz.takeQuiz(student, questions, List.of("Bat"));      //still to be decided
+            }
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        incremental.detach();
+    }
+
+    @Test
+    public void summarize_groups_by_quiz_type() {
+        CohortSummary summary = CohortAnalytics.summarize(registry.getStudents());
+        Assertions.assertEquals(10_000, summary.getStudents());
+        Assertions.assertEquals(7_500, summary.getScores(VerdictEnum.REGULAR).getCount());
+        Assertions.assertEquals(1.0 / 3, summary.getScores(VerdictEnum.REGULAR).getPassRate(), 1e-9);
+        Assertions.assertEquals(5_000, summary.getScores(VerdictEnum.REVISION).getCount());
+        Assertions.assertEquals(2_500, summary.getVerdictCount(VerdictEnum.PASS));
+        Assertions.assertEquals(2_500, summary.getVerdictCount(VerdictEnum.FAIL));
+        Assertions.assertEquals(5_000, summary.getVerdictCount(VerdictEnum.TBD));
+        long[] distribution = summary.getMeanScoreDistribution();
+        Assertions.assertEquals(2_500, distribution[0]);
+        Assertions.assertEquals(7_500, distribution[CohortSummary.BUCKETS - 1]);
+    }
+
+    @Test
+    public void incremental_matches_batch() {
+        CohortSummary batch = CohortAnalytics.summarize(registry.getStudents());
+        CohortSummary live = incremental.snapshot();
+        Assertions.assertEquals(batch.getStudents(), live.getStudents());
+        for (VerdictEnum verdict : List.of(VerdictEnum.PASS, VerdictEnum.FAIL, VerdictEnum.TBD)) {
+            Assertions.assertEquals(batch.getVerdictCount(verdict), live.getVerdictCount(verdict));
+        }
+        for (VerdictEnum quizType : List.of(VerdictEnum.REGULAR, VerdictEnum.REVISION)) {
+            Assertions.assertEquals(batch.getScores(quizType).getCount(), live.getScores(quizType).getCount());
+            Assertions.assertEquals(batch.getScores(quizType).getMean(), live.getScores(quizType).getMean(), 1e-9);
+        }
+    }
+
+    @Test
+    public void revision_scores_are_not_passes() {
+        CohortSummary summary = CohortAnalytics.summarize(registry.getStudents());
+        Assertions.assertEquals(0, summary.getScores(VerdictEnum.REVISION).getPassCount());
+        Assertions.assertEquals(0, incremental.snapshot().getScores(VerdictEnum.REVISION).getPassCount());
+    }
+
+    @Test
+    public void observers_belong_to_their_registry_and_see_verdict_changes() {
+        Student outsider = new StudentRegistry().register("Student 2", new Date(0));
+        new RegularQuiz().takeQuiz(outsider, questions, List.of("Bat"));
+        Assertions.assertEquals(10_000, incremental.snapshot().getStudents());
+        registry.find("Student 2", new Date(0)).getStatistics().setVerdict(VerdictEnum.PASS);
+        CohortSummary batch = CohortAnalytics.summarize(registry.getStudents());
+        CohortSummary live = incremental.snapshot();
+        Assertions.assertEquals(2_501, live.getVerdictCount(VerdictEnum.PASS));
+        Assertions.assertEquals(batch.getVerdictCount(VerdictEnum.TBD), live.getVerdictCount(VerdictEnum.TBD));
+        Student observed = registry.find("Student 3", new Date(0));
+        Assertions.assertThrows(IllegalStateException.class, () -> observed.getStatistics().setQuizScores(List.of(1.0)));
+    }
+}
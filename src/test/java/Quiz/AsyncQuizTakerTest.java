@@ -0,0 +1,80 @@
+package Quiz;
+
+import org.enums.VerdictEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.quizLib.Objects.Student;
+import org.quizLib.Objects.StudentRegistry;
+import org.quizLib.Questions.FreeResponseQuestion;
+import org.quizLib.Questions.QuestionInterface;
+import org.quizLib.Quiz.AsyncQuizTaker;
+import org.quizLib.Quiz.RevisionQuiz;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+public final class AsyncQuizTakerTest {
+    private static Date dateOfBirth(int day) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(1999, Calendar.FEBRUARY, 1);
+        calendar.add(Calendar.DAY_OF_YEAR, day);
+        return calendar.getTime();
+    }
+
+    @Test
+    public void async_attempts_are_applied_once_each() throws Exception {
+        StudentRegistry registry = new StudentRegistry();
+        List<QuestionInterface> questions = List.of(new FreeResponseQuestion("What is the only mammal that can fly?", "Bat"));
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AsyncQuizTaker taker = new AsyncQuizTaker(new RevisionQuiz(), VerdictEnum.REVISION, executor);
+        List<CompletableFuture<Double>> futures = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            Student student = registry.register("Student" + (i % 500), dateOfBirth(i % 500));
+            futures.add(taker.takeQuiz(student, questions, List.of(i % 2 == 0 ? "bat" : "dog")));
+        }
+        int accepted = 0;
+        int rejected = 0;
+        for (CompletableFuture<Double> future : futures) {
+            try {
+                future.get(10, TimeUnit.SECONDS);
+                accepted++;
+            } catch (ExecutionException e) {
+                Assertions.assertInstanceOf(IllegalArgumentException.class, e.getCause());
+                rejected++;
+            }
+        }
+        executor.shutdown();
+        //every student reaches FAIL after two attempts, so the other two are refused
+        Assertions.assertEquals(1000, accepted);
+        Assertions.assertEquals(1000, rejected);
+        for (Student student : registry.getStudents()) {
+            Assertions.assertEquals(2, student.getStatistics().getScoreCount());
+            Assertions.assertEquals(VerdictEnum.FAIL, student.getStatistics().getVerdict());
+        }
+    }
+
+    @Test
+    public void rejected_drain_fails_the_attempt_and_later_attempts_still_run() throws Exception {
+        Student student = new StudentRegistry().register("Fidan", dateOfBirth(26));
+        List<QuestionInterface> questions = List.of(new FreeResponseQuestion("What is the only mammal that can fly?", "Bat"));
+        int[] calls = {0};
+        Executor executor = task -> {
+            if (++calls[0] == 2) {//the drain of the first attempt
+                throw new RejectedExecutionException("shutting down");
+            }
+            task.run();
+        };
+        AsyncQuizTaker taker = new AsyncQuizTaker(new RevisionQuiz(), VerdictEnum.REVISION, executor);
+        CompletableFuture<Double> rejected = taker.takeQuiz(student, questions, List.of("bat"));
+        ExecutionException failure = Assertions.assertThrows(ExecutionException.class, () -> rejected.get(10, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+        Assertions.assertEquals(1.0, taker.takeQuiz(student, questions, List.of("bat")).get(10, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, student.getStatistics().getScoreCount());
+        //a rejected grading task fails its future too
+        AsyncQuizTaker closed = new AsyncQuizTaker(new RevisionQuiz(), VerdictEnum.REVISION, task -> {
+            throw new RejectedExecutionException("shut down");
+        });
+        Assertions.assertTrue(closed.takeQuiz(student, questions, List.of("bat")).isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,150 @@
+package Quiz;
+
+import org.enums.QuestionType;
+import org.enums.VerdictEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.quizLib.Bank.QuestionCatalog;
+import org.quizLib.Objects.Student;
+import org.quizLib.Objects.StudentRegistry;
+import org.quizLib.Questions.FreeResponseQuestion;
+import org.quizLib.Questions.QuestionIds;
+import org.quizLib.Questions.QuestionInterface;
+import org.quizLib.Quiz.RegularQuiz;
+import org.quizLib.Storage.AttemptLog;
+import org.quizLib.Storage.AttemptRecord;
+import org.quizLib.Storage.QuestionResolver;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+
+public final class AttemptLogTest {
+    @TempDir
+    Path directory;
+
+    private static Date dateOfBirth(int day) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(1999, Calendar.FEBRUARY, day);
+        return calendar.getTime();
+    }
+
+    private static QuestionResolver noQuestions() {
+        return QuestionResolver.of(List.of());
+    }
+
+    @Test
+    public void replay_restores_logged_attempts() throws Exception {
+        Path file = directory.resolve("attempts.log");
+        QuestionInterface question = new FreeResponseQuestion("What is the only mammal that can fly?", "Bat");
+        QuestionCatalog catalog = new QuestionCatalog();
+        catalog.add(QuestionType.FREE_RESPONSE_QUESTION, question);
+        StudentRegistry registry = new StudentRegistry();
+        Student student = registry.register("Fidan", dateOfBirth(26));
+        RegularQuiz regularQuiz = new RegularQuiz(catalog);
+        try (AttemptLog log = AttemptLog.open(file)) {
+            regularQuiz.setAttemptLog(log);
+            regularQuiz.takeQuiz(student, List.of(question), List.of("Dog"));
+            regularQuiz.takeQuiz(student, List.of(question), List.of("bat"));
+        }
+        StudentRegistry restored = new StudentRegistry();
+        Assertions.assertEquals(2, AttemptLog.replay(file, restored, QuestionResolver.of(List.of(catalog))));
+        Student copy = restored.find("fidan", dateOfBirth(26));
+        Assertions.assertEquals(student.getStatistics().getNumberOfRegAttempts(), copy.getStatistics().getNumberOfRegAttempts());
+        Assertions.assertEquals(student.getStatistics().getQuizScores(), copy.getStatistics().getQuizScores());
+        Assertions.assertEquals(student.getStatistics().getVerdict(), copy.getStatistics().getVerdict());
+        Assertions.assertTrue(copy.hasSeenQuestion(question));
+        //records up to a given sequence are skipped
+        Assertions.assertEquals(2, AttemptLog.replay(file, new StudentRegistry(), 2, noQuestions()));
+    }
+
+    @Test
+    public void concurrent_appends_share_flushes() throws Exception {
+        Path file = directory.resolve("attempts.log");
+        int threads = 8;
+        int perThread = 500;
+        try (AttemptLog log = AttemptLog.open(file)) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int day = t + 1;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        log.append(new AttemptRecord("Student" + day, dateOfBirth(day), VerdictEnum.REVISION, 1.0, List.of())).join();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+            Assertions.assertEquals(threads * perThread, log.getRecordCount());
+            Assertions.assertTrue(log.getFlushCount() <= log.getRecordCount());
+        }
+        StudentRegistry restored = new StudentRegistry();
+        Assertions.assertEquals(threads * perThread, AttemptLog.replay(file, restored, noQuestions()));
+        Assertions.assertEquals(threads, restored.size());
+        for (Student student : restored.getStudents()) {
+            Assertions.assertEquals(perThread, student.getStatistics().getScoreAggregate(VerdictEnum.REVISION).getCount());
+        }
+    }
+
+    @Test
+    public void torn_tail_is_truncated_on_open() throws Exception {
+        Path file = directory.resolve("attempts.log");
+        try (AttemptLog log = AttemptLog.open(file)) {
+            log.append(new AttemptRecord("Fidan", dateOfBirth(26), VerdictEnum.REGULAR, 0.0, List.of())).join();
+            log.append(new AttemptRecord("Fidan", dateOfBirth(26), VerdictEnum.REGULAR, 0.0, List.of())).join();
+        }
+        long size = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);//a crash in the middle of the second record
+        }
+        Assertions.assertEquals(1, AttemptLog.replay(file, new StudentRegistry(), noQuestions()));
+        try (AttemptLog log = AttemptLog.open(file)) {
+            Assertions.assertEquals(2, log.append(new AttemptRecord("Fidan", dateOfBirth(26), VerdictEnum.REGULAR, 0.0, List.of())).join());
+        }
+        StudentRegistry restored = new StudentRegistry();
+        Assertions.assertEquals(2, AttemptLog.replay(file, restored, noQuestions()));
+        Assertions.assertEquals(2, restored.find("Fidan", dateOfBirth(26)).getStatistics().getNumberOfRegAttempts());
+    }
+
+    @Test
+    public void replay_resolves_questions_by_content_and_skips_missing_ones() throws Exception {
+        Path file = directory.resolve("attempts.log");
+        QuestionInterface kept = new FreeResponseQuestion("What is the capital of France?", "Paris");
+        QuestionInterface removed = new FreeResponseQuestion("What is the capital of Italy?", "Rome");
+        try (AttemptLog log = AttemptLog.open(file)) {
+            log.append(new AttemptRecord("Fidan", dateOfBirth(26), VerdictEnum.REGULAR, 1.0, List.of(kept, removed))).join();
+            log.append(new AttemptRecord("Fidan", dateOfBirth(26), VerdictEnum.REGULAR, 0.5, List.of(removed))).join();
+        }
+        // After a restart the questions are loaded again in another order and get other ids
+        QuestionCatalog reloaded = new QuestionCatalog();
+        reloaded.add(QuestionType.FREE_RESPONSE_QUESTION, new FreeResponseQuestion("What is the capital of Spain?", "Madrid"));
+        QuestionInterface copy = new FreeResponseQuestion("What is the capital of France?", "Paris");
+        reloaded.add(QuestionType.FREE_RESPONSE_QUESTION, copy);
+        Assertions.assertNotEquals(kept.getQuestionId(), copy.getQuestionId());
+        QuestionResolver questions = QuestionResolver.of(List.of(reloaded));
+        StudentRegistry restored = new StudentRegistry();
+        Assertions.assertEquals(2, AttemptLog.replay(file, restored, questions));
+        Student student = restored.find("Fidan", dateOfBirth(26));
+        Assertions.assertEquals(Set.of(copy), student.getQuestionsSeen());
+        Assertions.assertEquals(2, student.getStatistics().getNumberOfRegAttempts());
+        Assertions.assertEquals(2, questions.getUnresolvedCount());
+    }
+
+    @Test
+    public void content_hash_covers_the_answer_key() {
+        long original = QuestionIds.contentHash(new FreeResponseQuestion("What is the capital of Australia?", "Sydney"));
+        long corrected = QuestionIds.contentHash(new FreeResponseQuestion("What is the capital of Australia?", "Canberra"));
+        Assertions.assertNotEquals(original, corrected);
+        Assertions.assertEquals(corrected, QuestionIds.contentHash(new FreeResponseQuestion("What is the capital of Australia?", " CANBERRA")));
+    }
+}
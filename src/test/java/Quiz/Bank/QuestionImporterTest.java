@@ -0,0 +1,53 @@
+package Quiz.Bank;
+
+import org.enums.QuestionType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.quizLib.Bank.QuestionCatalog;
+import org.quizLib.Bank.QuestionImportReport;
+import org.quizLib.Bank.QuestionImporter;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+public final class QuestionImporterTest {
+    @Test
+    public void import_reports_bad_rows_and_keeps_file_order() throws IOException {
+        QuestionCatalog catalog = new QuestionCatalog();
+        String csv = "type,formula,answer\n" +
+                "F,Import question one?,One\n" +
+                "M,\"Import question two?\na) x\nb) y\",\"a,b\"\n" +
+                "X,Unknown type?,x\n" +                    //rejected: unknown type
+                "M,Import question three?,\"a,a\"\n" +     //rejected: repeated option
+                "F,Import question four?\n" +              //rejected: missing answer
+                "F,Import question one?,one\n" +           //duplicate of the first row
+                "FREE_RESPONSE_QUESTION,Import question five?,Five\n";
+        QuestionImportReport report = new QuestionImporter(catalog, 2).importFrom(new StringReader(csv));
+        Assertions.assertEquals(7, report.getRowsRead());
+        Assertions.assertEquals(3, report.getImported());
+        Assertions.assertEquals(1, report.getDuplicates());
+        Assertions.assertEquals(3, report.getRejected());
+        Assertions.assertEquals(3, report.getErrors().size());
+        Assertions.assertTrue(report.getErrors().get(0).startsWith("line 6:"));
+        Assertions.assertTrue(report.getErrors().get(2).startsWith("line 8:"));
+        Assertions.assertEquals(2, catalog.size(QuestionType.FREE_RESPONSE_QUESTION));
+        Assertions.assertEquals("Import question five?", catalog.get(QuestionType.FREE_RESPONSE_QUESTION, 1).getQuestionFormula());
+        Assertions.assertEquals(1, catalog.size(QuestionType.MULTIPLE_CHOICE_QUESTION));
+    }
+
+    @Test
+    public void import_many_batches_in_parallel() throws IOException {
+        QuestionCatalog catalog = new QuestionCatalog();
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            csv.append(i % 2 == 0 ? "F" : "M").append(",Bulk question ").append(i).append("?,")
+                    .append(i % 2 == 0 ? "answer " + i : "\"a,c\"").append('\n');
+        }
+        QuestionImportReport report = new QuestionImporter(catalog, 4).importFrom(new StringReader(csv.toString()));
+        Assertions.assertEquals(10_000, report.getImported());
+        Assertions.assertEquals(0, report.getRejected());
+        Assertions.assertEquals(5_000, catalog.size(QuestionType.FREE_RESPONSE_QUESTION));
+        Assertions.assertEquals("Bulk question 9998?", catalog.get(QuestionType.FREE_RESPONSE_QUESTION, 4_999).getQuestionFormula());
+        Assertions.assertEquals("Bulk question 1?", catalog.get(QuestionType.MULTIPLE_CHOICE_QUESTION, 0).getQuestionFormula());
+    }
+}
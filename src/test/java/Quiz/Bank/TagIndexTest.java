@@ -0,0 +1,108 @@
+package Quiz.Bank;
+
+import org.enums.QuestionType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.quizLib.Bank.BankVersion;
+import org.quizLib.Bank.QuestionBank;
+import org.quizLib.Bank.QuestionCatalog;
+import org.quizLib.Bank.QuestionImporter;
+import org.quizLib.Bank.TagIndex;
+import org.quizLib.Bank.TagQuery;
+import org.quizLib.Questions.FreeResponseQuestion;
+import org.quizLib.Questions.QuestionInterface;
+import org.quizLib.Quiz.RegularQuiz;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.*;
+
+public final class TagIndexTest {
+    @Test
+    public void matching_intersects_groups_of_alternatives() {
+        TagIndex index = new TagIndex();
+        index.tag(1, List.of("Biology", "difficulty:2"));
+        index.tag(5, List.of("biology", "difficulty:3"));
+        index.tag(9, List.of("biology", "difficulty:4"));
+        index.tag(3, List.of("chemistry", "difficulty:2"));    //out of order ids are inserted in place
+        index.tag(1, List.of("biology"));                       //tagging twice is ignored
+        Assertions.assertArrayEquals(new int[]{1, 5, 9}, index.questionIds("BIOLOGY "));
+        Assertions.assertArrayEquals(new int[]{1, 3}, index.questionIds("difficulty:2"));
+        Assertions.assertArrayEquals(new int[]{1, 5},
+                index.matching(TagQuery.allOf("biology").andAnyOf("difficulty:2", "difficulty:3")));
+        Assertions.assertArrayEquals(new int[]{3}, index.matching(TagQuery.allOf("chemistry", "difficulty:2")));
+        Assertions.assertArrayEquals(new int[0], index.matching(TagQuery.allOf("physics", "biology")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> index.tag(2, List.of(" ")));
+    }
+
+    @Test
+    public void matching_agrees_with_a_scan() {
+        TagIndex index = new TagIndex();
+        Random random = new Random(3);
+        Map<Integer, Set<String>> tags = new HashMap<>();
+        for (int id = 0; id < 5_000; id++) {
+            Set<String> questionTags = new HashSet<>();
+            for (int t = 0; t < 8; t++) {
+                if (random.nextInt(t + 2) == 0) {
+                    questionTags.add("tag" + t);
+                }
+            }
+            tags.put(id, questionTags);
+            index.tag(id, questionTags);
+        }
+        TagQuery query = TagQuery.allOf("tag0").andAnyOf("tag5", "tag6").andAllOf("tag2");
+        int[] expected = tags.entrySet().stream()
+                .filter(e -> e.getValue().contains("tag0") && e.getValue().contains("tag2")
+                        && (e.getValue().contains("tag5") || e.getValue().contains("tag6")))
+                .mapToInt(Map.Entry::getKey).sorted().toArray();
+        Assertions.assertTrue(expected.length > 0);
+        Assertions.assertArrayEquals(expected, index.matching(query));
+    }
+
+    @Test
+    public void generateQuiz_draws_only_matching_questions() throws IOException {
+        QuestionCatalog catalog = new QuestionCatalog();
+        TagIndex index = new TagIndex();
+        String csv = "F,Tagged question one?,One,biology;difficulty:2\n" +
+                "F,Tagged question two?,Two,biology;difficulty:5\n" +
+                "M,Tagged question three?,\"a,b\",Biology; Difficulty:3\n" +
+                "F,Tagged question four?,Four,history;difficulty:2\n";
+        new QuestionImporter(catalog, 2, index).importFrom(new StringReader(csv));
+        Set<QuestionInterface> quiz = new RegularQuiz(catalog).generateQuiz(10, index,
+                TagQuery.allOf("biology").andAnyOf("difficulty:2", "difficulty:3"));
+        Set<QuestionInterface> expected = Set.of(catalog.get(QuestionType.FREE_RESPONSE_QUESTION, 0),
+                catalog.get(QuestionType.MULTIPLE_CHOICE_QUESTION, 0));
+        Assertions.assertEquals(expected, quiz);
+        Assertions.assertEquals(3, index.count("biology"));
+    }
+
+    @Test
+    public void generateQuiz_draws_only_questions_of_the_quiz_bank() throws IOException {
+        QuestionCatalog biology = new QuestionCatalog();
+        QuestionCatalog other = new QuestionCatalog();
+        TagIndex index = new TagIndex();
+        new QuestionImporter(biology, 1, index).importFrom(new StringReader("F,Bank question?,One,biology\n"));
+        new QuestionImporter(other, 1, index).importFrom(new StringReader("F,Other bank question?,Two,biology\n"));
+        Assertions.assertEquals(2, index.count("biology"));
+        Set<QuestionInterface> quiz = new RegularQuiz(biology).generateQuiz(10, index, TagQuery.allOf("biology"));
+        Assertions.assertEquals(Set.of(biology.get(QuestionType.FREE_RESPONSE_QUESTION, 0)), quiz);
+    }
+
+    @Test
+    public void contains_agrees_with_questionIds() {
+        QuestionCatalog catalog = new QuestionCatalog();
+        catalog.add(QuestionType.FREE_RESPONSE_QUESTION, new FreeResponseQuestion("Versioned question?", "One"));
+        QuestionBank view = BankVersion.of(catalog).view(catalog);
+        QuestionInterface added = new FreeResponseQuestion("Question added after the version?", "Two");
+        catalog.add(QuestionType.FREE_RESPONSE_QUESTION, added);
+        for (QuestionBank bank : List.of(catalog, view)) {
+            BitSet ids = bank.questionIds();
+            for (int id = 0; id <= added.getQuestionId() + 64; id++) {
+                Assertions.assertEquals(ids.get(id), bank.contains(id));
+            }
+        }
+        Assertions.assertTrue(catalog.contains(added.getQuestionId()));
+        Assertions.assertFalse(view.contains(added.getQuestionId()));
+        Assertions.assertFalse(catalog.contains(-1));
+    }
+}
@@ -5,6 +5,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.quizLib.Questions.FreeResponseQuestion;
 
+import java.util.List;
+import java.util.Random;
+
 public final class QuizUnitTest {
     private FreeResponseQuestion freeResponseQuestion;
     @BeforeEach
@@ -40,4 +43,67 @@ public final class QuizUnitTest {
         Assertions.assertFalse(freeResponseQuestion.checkQuestionAnswer("pariss"));
     }
 
+    @Test
+    public void testFuzzyAnswer() { //typing mistakes and aliases are accepted when enabled
+        FreeResponseQuestion fuzzy = new FreeResponseQuestion("What is the tallest animal in the world?", "Giraffe", List.of("Camelopard"), 1);
+        Assertions.assertTrue(fuzzy.checkQuestionAnswer("Giraff"));
+        Assertions.assertTrue(fuzzy.checkQuestionAnswer("camelopard"));
+        Assertions.assertTrue(fuzzy.checkQuestionAnswer("camelopart"));
+        Assertions.assertFalse(fuzzy.checkQuestionAnswer("Gazelle"));
+        FreeResponseQuestion paris = new FreeResponseQuestion("Where were the 2024 Summer Olympics held?", "Paris", List.of(), 1);
+        Assertions.assertTrue(paris.checkQuestionAnswer("Pariss"));
+        Assertions.assertFalse(paris.checkQuestionAnswer("Parisss"));
+        //short answers stay exact
+        FreeResponseQuestion bat = new FreeResponseQuestion("What is the only mammal that can fly?", "Bat", List.of(), 2);
+        Assertions.assertFalse(bat.checkQuestionAnswer("cat"));
+    }
+
+    @Test
+    public void testFuzzyMatchesEditDistance() { //compared with the textbook dynamic programme, including answers over 64 characters
+        Random random = new Random(8404);
+        for (int trial = 0; trial < 2000; trial++) {
+            String answer = randomWord(random, 8 + random.nextInt(100));
+            int maxEdits = 1 + random.nextInt(answer.length() / 4);
+            FreeResponseQuestion question = new FreeResponseQuestion("q", answer, List.of(), maxEdits);
+            String attempt = mutate(random, answer, random.nextInt(maxEdits + 3));
+            Assertions.assertEquals(distance(answer, attempt) <= maxEdits, question.checkQuestionAnswer(attempt), answer + " / " + attempt);
+        }
+    }
+
+    private static String randomWord(Random random, int length) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(4)));
+        }
+        return word.toString();
+    }
+
+    private static String mutate(Random random, String word, int edits) {
+        StringBuilder mutated = new StringBuilder(word);
+        for (int i = 0; i < edits && mutated.length() > 1; i++) {
+            int position = random.nextInt(mutated.length());
+            switch (random.nextInt(3)) {
+                case 0 -> mutated.deleteCharAt(position);
+                case 1 -> mutated.insert(position, (char) ('a' + random.nextInt(4)));
+                default -> mutated.setCharAt(position, (char) ('a' + random.nextInt(4)));
+            }
+        }
+        return mutated.toString();
+    }
+
+    private static int distance(String a, String b) {
+        int[][] table = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    table[i][j] = i + j;
+                } else {
+                    int substitution = table[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                    table[i][j] = Math.min(substitution, Math.min(table[i - 1][j], table[i][j - 1]) + 1);
+                }
+            }
+        }
+        return table[a.length()][b.length()];
+    }
+
 }
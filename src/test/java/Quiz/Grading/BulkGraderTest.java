@@ -0,0 +1,93 @@
+package Quiz.Grading;
+
+import org.enums.QuestionType;
+import org.enums.VerdictEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quizLib.Bank.QuestionBank;
+import org.quizLib.Bank.QuestionCatalog;
+import org.quizLib.Grading.BulkGrader;
+import org.quizLib.Grading.BulkGradingReport;
+import org.quizLib.Objects.Student;
+import org.quizLib.Objects.StudentRegistry;
+import org.quizLib.Questions.AbstractQuestion;
+import org.quizLib.Questions.QuestionInterface;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.BitSet;
+
+public final class BulkGraderTest {
+    private QuestionCatalog catalog;
+    private BulkGrader grader;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new QuestionCatalog();
+        catalog.add(QuestionType.FREE_RESPONSE_QUESTION,
+                AbstractQuestion.getQuestionInstance(QuestionType.FREE_RESPONSE_QUESTION, "Where were the 2024 Summer Olympics held?", "Paris"));
+        catalog.add(QuestionType.MULTIPLE_CHOICE_QUESTION,
+                AbstractQuestion.getQuestionInstance(QuestionType.MULTIPLE_CHOICE_QUESTION, "Which of the following are programming languages?", "b,c"));
+        grader = new BulkGrader(catalog, new StudentRegistry(), 4, 8);
+    }
+
+    @Test
+    public void grade_applies_results_in_order_per_student() throws IOException {
+        String csv = "Fidan,1999-02-26,REGULAR,F0,Tokyo,M0,a\n" +
+                "Fidan,1999-02-26,REGULAR,F0,Tokyo,M0,a\n" +
+                "Fidan,1999-02-26,REGULAR,F0,Paris,M0,\"b,c\"\n" +   //third attempt is refused after the fail verdict
+                "Aysel,2000-05-01,REGULAR,F0,paris,M0,\"c,b\"\n";
+        BulkGradingReport report = grader.grade(new StringReader(csv));
+        Assertions.assertEquals(4, report.getSubmissionsRead());
+        Assertions.assertEquals(3, report.getGraded());
+        Assertions.assertEquals(1, report.getRejected());
+        Assertions.assertEquals(0, report.getMalformed());
+
+        Student fidan = grader.getStudent("fidan", LocalDate.of(1999, 2, 26));
+        Assertions.assertEquals(VerdictEnum.FAIL, fidan.getStatistics().getVerdict());
+        Student aysel = grader.getStudent("Aysel", LocalDate.of(2000, 5, 1));
+        Assertions.assertEquals(VerdictEnum.PASS, aysel.getStatistics().getVerdict());
+    }
+
+    @Test
+    public void grade_counts_malformed_records() throws IOException {
+        String csv = "Fidan,not-a-date,REGULAR,F0,Paris\n" +
+                "Fidan,1999-02-26,REGULAR,F9,Paris\n" +
+                "Fidan,1999-02-26,PASS,F0,Paris\n" +
+                "Fidan,1999-02-26,REGULAR,F0\n";
+        BulkGradingReport report = grader.grade(new StringReader(csv));
+        Assertions.assertEquals(4, report.getMalformed());
+        Assertions.assertEquals(0, report.getGraded());
+    }
+
+    @Test
+    public void grade_fails_instead_of_blocking_when_a_worker_dies() {
+        QuestionBank broken = new QuestionBank() {
+            @Override
+            public int size(QuestionType questionType) {
+                return catalog.size(questionType);
+            }
+
+            @Override
+            public QuestionInterface get(QuestionType questionType, int index) {
+                throw new IllegalStateException("Bank closed");
+            }
+
+            @Override
+            public BitSet questionIds() {
+                return catalog.questionIds();
+            }
+        };
+        StringBuilder csv = new StringBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            csv.append("Fidan,1999-02-26,REGULAR,F0,Paris\n");
+        }
+        BulkGrader failing = new BulkGrader(broken, new StudentRegistry(), 1, 1);
+        IOException e = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10),
+                () -> Assertions.assertThrows(IOException.class, () -> failing.grade(new StringReader(csv.toString()))));
+        Assertions.assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+}
@@ -0,0 +1,45 @@
+package Quiz.Grading;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.quizLib.Grading.GradingCache;
+import org.quizLib.Objects.Student;
+import org.quizLib.Questions.FreeResponseQuestion;
+import org.quizLib.Questions.QuestionInterface;
+import org.quizLib.Quiz.RevisionQuiz;
+
+import java.util.Date;
+import java.util.List;
+
+public final class GradingCacheTest {
+    @Test
+    public void repeated_answers_are_served_from_the_cache() {
+        GradingCache cache = new GradingCache(100);
+        QuestionInterface question = new FreeResponseQuestion("What is the only mammal that can fly?", "Bat");
+        RevisionQuiz revisionQuiz = new RevisionQuiz();
+        revisionQuiz.setGradingCache(cache);
+        for (int i = 0; i < 10; i++) {
+            Student student = new Student("Student" + i, new Date(i));
+            revisionQuiz.takeQuiz(student, List.of(question), List.of(i % 2 == 0 ? "Bat" : "Dog"));
+        }
+        Assertions.assertEquals(2, cache.getMissCount());
+        Assertions.assertEquals(8, cache.getHitCount());
+        Assertions.assertEquals(0.8, cache.getHitRate(), 1e-9);
+        Assertions.assertTrue(cache.check(question, "Bat"));
+        Assertions.assertFalse(cache.check(question, "Dog"));
+    }
+
+    @Test
+    public void size_is_bounded() {
+        GradingCache cache = new GradingCache(64);
+        QuestionInterface question = new FreeResponseQuestion("What is the tallest animal in the world?", "Giraffe");
+        for (int i = 0; i < 1000; i++) {
+            cache.check(question, "answer" + i);
+        }
+        Assertions.assertTrue(cache.size() <= 64);
+        Assertions.assertEquals(1000 - cache.size(), cache.getEvictionCount());
+        //answers that can not be graded are not cached
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cache.check(question, "a,b"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cache.check(question, "a,b"));
+    }
+}
@@ -0,0 +1,61 @@
+package Quiz.Grading;
+
+import org.enums.QuestionType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.quizLib.Grading.MultipleChoiceBatchGrader;
+import org.quizLib.Grading.MultipleChoiceBatchResult;
+import org.quizLib.Questions.AbstractQuestion;
+import org.quizLib.Questions.MultipleChoiceQuestion;
+
+import java.util.*;
+
+public final class MultipleChoiceBatchGraderTest {
+    @Test
+    public void grade_counts_exact_answers_and_options() {
+        List<MultipleChoiceQuestion> questions = List.of(
+                (MultipleChoiceQuestion) AbstractQuestion.getQuestionInstance(QuestionType.MULTIPLE_CHOICE_QUESTION, "Batch question one?", "b,c"),
+                (MultipleChoiceQuestion) AbstractQuestion.getQuestionInstance(QuestionType.MULTIPLE_CHOICE_QUESTION, "Batch question two?", "a"));
+        List<List<String>> sheets = List.of(
+                List.of("c, b", "a"),          //both exact
+                List.of("b,d", "x,"),          //one correct option, one incorrect option, one unreadable answer
+                List.of("a,b,c,d", ""));       //all options selected
+        MultipleChoiceBatchResult result = MultipleChoiceBatchGrader.create().grade(questions, sheets);
+        Assertions.assertEquals(3, result.getStudents());
+        Assertions.assertEquals(2, result.getCorrect(0));
+        Assertions.assertEquals(3, result.getCorrectOptions(0));
+        Assertions.assertEquals(0, result.getIncorrectOptions(0));
+        Assertions.assertEquals(0, result.getCorrect(1));
+        Assertions.assertEquals(1, result.getCorrectOptions(1));
+        Assertions.assertEquals(1, result.getIncorrectOptions(1));
+        Assertions.assertEquals(0, result.getCorrect(2));
+        Assertions.assertEquals(2, result.getIncorrectOptions(2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MultipleChoiceBatchGrader.create().grade(questions, List.of(List.of("a"))));
+    }
+
+    @Test
+    public void vector_and_scalar_paths_agree() {
+        Random random = new Random(11);
+        int questions = 17;
+        int students = 1_003;   //not a multiple of any vector width
+        long[] keys = new long[questions];
+        for (int q = 0; q < questions; q++) {
+            keys[q] = random.nextLong() & 0xFF | 1;
+        }
+        long[] selections = new long[questions * students];
+        for (int i = 0; i < selections.length; i++) {
+            int roll = random.nextInt(4);
+            selections[i] = roll == 0 ? keys[i / students] : roll == 1 ? MultipleChoiceQuestion.INVALID_OPTIONS : random.nextLong() & 0xFF;
+        }
+        MultipleChoiceBatchResult expected = MultipleChoiceBatchGrader.scalar().grade(keys, selections, students);
+        MultipleChoiceBatchResult actual = MultipleChoiceBatchGrader.create().grade(keys, selections, students);
+        for (int s = 0; s < students; s++) {
+            Assertions.assertEquals(expected.getCorrect(s), actual.getCorrect(s));
+            Assertions.assertEquals(expected.getCorrectOptions(s), actual.getCorrectOptions(s));
+            Assertions.assertEquals(expected.getIncorrectOptions(s), actual.getIncorrectOptions(s));
+        }
+        //surefire adds the incubator module, so the vector path is the one under test
+        Assertions.assertTrue(MultipleChoiceBatchGrader.create().isVectorized());
+        Assertions.assertFalse(MultipleChoiceBatchGrader.scalar().isVectorized());
+    }
+}
@@ -0,0 +1,117 @@
+package Quiz;
+
+import org.enums.QuestionType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.quizLib.Bank.MappedQuestionBank;
+import org.quizLib.Bank.QuestionBankWriter;
+import org.quizLib.Questions.FreeResponseQuestion;
+import org.quizLib.Questions.QuestionIds;
+import org.quizLib.Questions.QuestionInterface;
+import org.quizLib.Quiz.RegularQuiz;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+public final class MappedQuestionBankTest {
+    @TempDir
+    Path tempDir;
+    private Path bankFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        bankFile = tempDir.resolve("questions.qbank");
+        new QuestionBankWriter()
+                .add(QuestionType.FREE_RESPONSE_QUESTION, "Where were the 2024 Summer Olympics held?", "Paris")
+                .add(QuestionType.MULTIPLE_CHOICE_QUESTION, "Which of the following are programming languages?\n" +
+                        "a) HTML\n" +
+                        "b) Java\n" +
+                        "c) Python\n" +
+                        "d) CSS", "b,c")
+                .add(QuestionType.FREE_RESPONSE_QUESTION, "Quelle est la capitale de l'Azerbaïdjan?", "Bakı")
+                .write(bankFile);
+    }
+
+    @Test
+    public void open_reads_counts_without_materializing() throws IOException {
+        try (MappedQuestionBank bank = MappedQuestionBank.open(bankFile)) {
+            Assertions.assertEquals(2, bank.size(QuestionType.FREE_RESPONSE_QUESTION));
+            Assertions.assertEquals(1, bank.size(QuestionType.MULTIPLE_CHOICE_QUESTION));
+            Assertions.assertEquals(0, bank.materializedCount());
+        }
+    }
+
+    @Test
+    public void get_decodes_questions_lazily() throws IOException {
+        try (MappedQuestionBank bank = MappedQuestionBank.open(bankFile)) {
+            QuestionInterface question = bank.get(QuestionType.FREE_RESPONSE_QUESTION, 1);
+            Assertions.assertEquals("Quelle est la capitale de l'Azerbaïdjan?", question.getQuestionFormula());
+            Assertions.assertTrue(question.checkQuestionAnswer("bakı"));
+            QuestionInterface multipleChoice = bank.get(QuestionType.MULTIPLE_CHOICE_QUESTION, 0);
+            Assertions.assertTrue(multipleChoice.checkQuestionAnswer("c,b"));
+            Assertions.assertSame(question, bank.get(QuestionType.FREE_RESPONSE_QUESTION, 1));
+            Assertions.assertEquals(2, bank.materializedCount());
+        }
+    }
+
+    @Test
+    public void regular_quiz_draws_from_mapped_bank() throws IOException {
+        try (MappedQuestionBank bank = MappedQuestionBank.open(bankFile)) {
+            Set<QuestionInterface> quiz = new RegularQuiz(bank).generateQuiz(2);
+            Assertions.assertEquals(2, quiz.size());
+        }
+    }
+
+    @Test
+    public void contains_checks_the_id_range() throws IOException {
+        try (MappedQuestionBank bank = MappedQuestionBank.open(bankFile)) {
+            int first = bank.questionId(QuestionType.FREE_RESPONSE_QUESTION, 0);
+            int last = bank.questionId(QuestionType.MULTIPLE_CHOICE_QUESTION, 0);
+            Assertions.assertTrue(bank.contains(first));
+            Assertions.assertTrue(bank.contains(last));
+            Assertions.assertFalse(bank.contains(first - 1));
+            Assertions.assertFalse(bank.contains(first + bank.size()));
+            Assertions.assertEquals(0, bank.materializedCount());
+        }
+    }
+
+    @Test
+    public void open_rejects_other_files() throws IOException {
+        Path other = tempDir.resolve("other.txt");
+        Files.writeString(other, "this is not a question bank at all, just some text");
+        Assertions.assertThrows(IOException.class, () -> MappedQuestionBank.open(other));
+    }
+
+    @Test
+    public void open_rejects_corrupt_counts() throws IOException {
+        byte[] bytes = Files.readAllBytes(bankFile);
+        Path negative = tempDir.resolve("negative.qbank");
+        Files.write(negative, ByteBuffer.wrap(bytes.clone()).putInt(8, -1).putInt(12, 4).array());
+        Assertions.assertThrows(IOException.class, () -> MappedQuestionBank.open(negative));
+        Path huge = tempDir.resolve("huge.qbank");
+        Files.write(huge, ByteBuffer.wrap(bytes.clone()).putInt(8, Integer.MAX_VALUE).array());
+        Assertions.assertThrows(IOException.class, () -> MappedQuestionBank.open(huge));
+    }
+
+    @Test
+    public void close_releases_question_ids() throws IOException {
+        MappedQuestionBank bank = MappedQuestionBank.open(bankFile);
+        int id = bank.questionId(QuestionType.FREE_RESPONSE_QUESTION, 0);
+        Assertions.assertEquals("Where were the 2024 Summer Olympics held?", QuestionIds.lookup(id).getQuestionFormula());
+        bank.close();
+        Assertions.assertNull(QuestionIds.lookup(id));
+    }
+
+    @Test
+    public void questions_resolve_once_registered() {
+        QuestionInterface question = new FreeResponseQuestion("Registered question?", "Yes");
+        Assertions.assertNull(QuestionIds.lookup(question.getQuestionId()));
+        QuestionIds.register(question);
+        Assertions.assertSame(question, QuestionIds.lookup(question.getQuestionId()));
+    }
+}
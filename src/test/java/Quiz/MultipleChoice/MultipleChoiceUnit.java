@@ -41,4 +41,40 @@ public final class MultipleChoiceUnit {
         Assertions.assertFalse(question.checkQuestionAnswer("b,c,a"));
     }
 
+    @Test
+    public void multiple_Choice_Duplicate_False() { //repeating an option is not the same as choosing both
+        Assertions.assertFalse(question.checkQuestionAnswer("b,b"));
+        Assertions.assertFalse(question.checkQuestionAnswer("b,c,c"));
+    }
+
+    @Test
+    public void multiple_Choice_Spacing_Test() { //spaces and upper case letters are accepted
+        Assertions.assertTrue(question.checkQuestionAnswer(" C , b "));
+        Assertions.assertTrue(question.checkQuestionAnswer("2,3"));
+    }
+
+    @Test
+    public void multiple_Choice_Partial_Credit() {
+        Assertions.assertEquals(1.0, question.scoreQuestionAnswer("c,b"));
+        Assertions.assertEquals(0.5, question.scoreQuestionAnswer("b"));
+        Assertions.assertEquals(0.0, question.scoreQuestionAnswer("b,a"));
+        Assertions.assertEquals(0.0, question.scoreQuestionAnswer("paris"));
+    }
+
+    @Test
+    public void multiple_Choice_Option_Mask() {
+        Assertions.assertEquals(0b110L, question.getAnswerMask());
+        Assertions.assertEquals(1L << 62, MultipleChoiceQuestion.parseOptions("63"));
+        Assertions.assertEquals(MultipleChoiceQuestion.INVALID_OPTIONS, MultipleChoiceQuestion.parseOptions("64"));
+        Assertions.assertFalse(MultipleChoiceQuestion.isValidOptions(MultipleChoiceQuestion.INVALID_OPTIONS));
+        Assertions.assertEquals(0.0, MultipleChoiceQuestion.partialCredit(MultipleChoiceQuestion.INVALID_OPTIONS, 0b110L));
+        Assertions.assertEquals(MultipleChoiceQuestion.INVALID_OPTIONS, MultipleChoiceQuestion.parseOptions("a,,b"));
+    }
+
+    @Test
+    public void factory_Returns_Canonical_Instance() { //same content gives the same object, options in any order
+        Assertions.assertSame(question, AbstractQuestion.getQuestionInstance(MULTIPLE_CHOICE_QUESTION, question.getQuestionFormula(), "c, b"));
+        Assertions.assertNotSame(question, AbstractQuestion.getQuestionInstance(MULTIPLE_CHOICE_QUESTION, question.getQuestionFormula(), "a,b"));
+        Assertions.assertNotSame(question, new MultipleChoiceQuestion(question.getQuestionFormula(), "b,c"));
+    }
 }
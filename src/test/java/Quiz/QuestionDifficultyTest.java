@@ -0,0 +1,86 @@
+package Quiz;
+
+import org.enums.QuestionType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quizLib.Bank.QuestionCatalog;
+import org.quizLib.Bank.QuestionDifficulty;
+import org.quizLib.Bank.WeightedQuestionSampler;
+import org.quizLib.Questions.AbstractQuestion;
+import org.quizLib.Questions.QuestionInterface;
+
+import java.util.*;
+
+public final class QuestionDifficultyTest {
+    private QuestionCatalog catalog;
+    private QuestionDifficulty difficulty;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new QuestionCatalog();
+        difficulty = new QuestionDifficulty();
+        for (int i = 0; i < 10; i++) {
+            catalog.add(QuestionType.FREE_RESPONSE_QUESTION,
+                    AbstractQuestion.getQuestionInstance(QuestionType.FREE_RESPONSE_QUESTION, "Question " + i, "answer " + i));
+        }
+    }
+
+    @Test
+    public void counters_track_attempts() {
+        int id = catalog.get(QuestionType.FREE_RESPONSE_QUESTION, 0).getQuestionId();
+        Assertions.assertEquals(0.5, difficulty.getDifficulty(id));
+        difficulty.record(id, true);
+        difficulty.record(id, false);
+        difficulty.record(id, false);
+        Assertions.assertEquals(3, difficulty.getAttempts(id));
+        Assertions.assertEquals(1, difficulty.getCorrectAnswers(id));
+        Assertions.assertEquals(1 - 2.0 / 5, difficulty.getDifficulty(id), 1e-9);
+    }
+
+    @Test
+    public void weighted_sampling_prefers_hard_questions() {
+        QuestionInterface hard = catalog.get(QuestionType.FREE_RESPONSE_QUESTION, 3);
+        for (int i = 0; i < 10; i++) {
+            QuestionInterface question = catalog.get(QuestionType.FREE_RESPONSE_QUESTION, i);
+            for (int attempt = 0; attempt < 1000; attempt++) {
+                difficulty.record(question.getQuestionId(), question != hard);
+            }
+        }
+        WeightedQuestionSampler sampler = new WeightedQuestionSampler(catalog, difficulty);
+        Random random = new Random(3);
+        int hardDrawn = 0;
+        for (int i = 0; i < 200; i++) {
+            List<QuestionInterface> drawn = new ArrayList<>();
+            sampler.sample(QuestionType.FREE_RESPONSE_QUESTION, 1, drawn, random);
+            if (drawn.get(0) == hard) {
+                hardDrawn++;
+            }
+        }
+        Assertions.assertTrue(hardDrawn > 190);
+        //all distinct questions can still be drawn
+        Set<QuestionInterface> all = new HashSet<>();
+        sampler.sample(QuestionType.FREE_RESPONSE_QUESTION, 10, all, random);
+        Assertions.assertEquals(10, all.size());
+    }
+
+    @Test
+    public void weighted_sampling_fills_skewed_papers_uniformly() {
+        QuestionInterface hard = catalog.get(QuestionType.FREE_RESPONSE_QUESTION, 0);
+        for (int i = 1; i < 10; i++) {
+            int id = catalog.get(QuestionType.FREE_RESPONSE_QUESTION, i).getQuestionId();
+            for (int attempt = 0; attempt < 100_000; attempt++) {
+                difficulty.record(id, true);
+            }
+        }
+        WeightedQuestionSampler sampler = new WeightedQuestionSampler(catalog, difficulty);
+        Random random = new Random(5);
+        //the easy questions are almost never drawn by weight, so the paper is finished by uniform draws
+        for (int count = 1; count <= 10; count++) {
+            Set<QuestionInterface> drawn = new HashSet<>();
+            sampler.sample(QuestionType.FREE_RESPONSE_QUESTION, count, drawn, random);
+            Assertions.assertEquals(count, drawn.size());
+            Assertions.assertTrue(drawn.contains(hard));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package Quiz;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.quizLib.Objects.QuestionIdSet;
+
+import java.util.*;
+
+public final class QuestionIdSetTest {
+
+    @Test
+    public void add_and_contains() {
+        QuestionIdSet set = new QuestionIdSet();
+        Assertions.assertTrue(set.add(5));
+        Assertions.assertFalse(set.add(5));
+        Assertions.assertTrue(set.add(9_000_000));
+        Assertions.assertTrue(set.contains(5));
+        Assertions.assertTrue(set.contains(9_000_000));
+        Assertions.assertFalse(set.contains(6));
+        Assertions.assertEquals(2, set.cardinality());
+        //two scattered ids stay small instead of a bit per id up to the largest one
+        Assertions.assertTrue(set.estimatedSizeInBytes() < 200);
+    }
+
+    @Test
+    public void matches_reference_set() { //dense groups switch to bitmaps and must behave the same
+        QuestionIdSet set = new QuestionIdSet();
+        TreeSet<Integer> reference = new TreeSet<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 20_000; i++) {
+            int id = random.nextInt(200_000);
+            Assertions.assertEquals(reference.add(id), set.add(id));
+        }
+        Assertions.assertEquals(reference.size(), set.cardinality());
+        List<Integer> iterated = new ArrayList<>();
+        set.forEach(iterated::add);
+        Assertions.assertEquals(new ArrayList<>(reference), iterated);
+
+        BitSet bits = new BitSet();
+        bits.set(0, 200_000);
+        set.removeFrom(bits);
+        Assertions.assertEquals(200_000 - reference.size(), bits.cardinality());
+
+        int[] sample = set.sample(100, random);
+        Assertions.assertEquals(100, Arrays.stream(sample).distinct().count());
+        for (int id : sample) {
+            Assertions.assertTrue(reference.contains(id));
+        }
+        Assertions.assertEquals(reference.size(), set.copy().cardinality());
+    }
+}
@@ -0,0 +1,124 @@
+package Quiz;
+
+import org.enums.QuestionType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quizLib.Bank.BankVersion;
+import org.quizLib.Bank.QuestionCatalog;
+import org.quizLib.Bank.QuestionSampler;
+import org.quizLib.Objects.Student;
+import org.quizLib.Questions.AbstractQuestion;
+import org.quizLib.Questions.FreeResponseQuestion;
+import org.quizLib.Questions.MultipleChoiceQuestion;
+import org.quizLib.Questions.QuestionInterface;
+import org.quizLib.Quiz.RegularQuiz;
+import org.quizLib.Quiz.RevisionQuiz;
+
+import java.util.*;
+
+public final class QuestionSamplerTest {
+    private QuestionCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = new QuestionCatalog();
+        for (int i = 0; i < 100; i++) {
+            catalog.add(QuestionType.FREE_RESPONSE_QUESTION,
+                    AbstractQuestion.getQuestionInstance(QuestionType.FREE_RESPONSE_QUESTION, "Question " + i, "answer " + i));
+        }
+    }
+
+    @Test
+    public void sample_distinct_indexes() {
+        int[] indexes = QuestionSampler.sampleIndexes(1000, 50, new Random(42));
+        Set<Integer> unique = new HashSet<>();
+        for (int index : indexes) {
+            Assertions.assertTrue(index >= 0 && index < 1000);
+            unique.add(index);
+        }
+        Assertions.assertEquals(50, unique.size());
+    }
+
+    @Test
+    public void sample_more_than_bank() { //asking for more questions than the bank holds returns the whole bank
+        List<QuestionInterface> sampled = new ArrayList<>();
+        QuestionSampler.sample(catalog, QuestionType.FREE_RESPONSE_QUESTION, 500, sampled, new Random(7));
+        Assertions.assertEquals(100, sampled.size());
+        Assertions.assertEquals(100, new HashSet<>(sampled).size());
+    }
+
+    @Test
+    public void sample_empty_type() {
+        List<QuestionInterface> sampled = new ArrayList<>();
+        QuestionSampler.sample(catalog, QuestionType.MULTIPLE_CHOICE_QUESTION, 5, sampled, new Random(7));
+        Assertions.assertTrue(sampled.isEmpty());
+    }
+
+    @Test
+    public void generateQuiz_keeps_half_split() {
+        Set<QuestionInterface> quiz = new RegularQuiz().generateQuiz(4);
+        long free = quiz.stream().filter(q -> q instanceof FreeResponseQuestion).count();
+        long multi = quiz.stream().filter(q -> q instanceof MultipleChoiceQuestion).count();
+        Assertions.assertEquals(2, free);
+        Assertions.assertEquals(2, multi);
+    }
+
+    @Test
+    public void seeded_generation_is_reproducible_from_bank_version() {
+        RegularQuiz quiz = new RegularQuiz(catalog);
+        BankVersion version = quiz.getBankVersion();
+        List<QuestionInterface> first = new ArrayList<>(quiz.generateQuiz(10, 42L, version));
+        //questions added later do not change a paper drawn from an earlier version
+        for (int i = 100; i < 200; i++) {
+            catalog.add(QuestionType.FREE_RESPONSE_QUESTION,
+                    AbstractQuestion.getQuestionInstance(QuestionType.FREE_RESPONSE_QUESTION, "Question " + i, "answer " + i));
+        }
+        Assertions.assertEquals(first, new ArrayList<>(quiz.generateQuiz(10, 42L, BankVersion.parse(version.toString()))));
+        Assertions.assertNotEquals(version, quiz.getBankVersion());
+        Assertions.assertEquals(200, quiz.getBankVersion().size(QuestionType.FREE_RESPONSE_QUESTION));
+        //a version newer than the bank can not be reproduced
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new RegularQuiz().generateQuiz(2, 1L, BankVersion.parse("1000.0@0000000000000000")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BankVersion.parse("1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BankVersion.parse("100.0"));
+    }
+
+    @Test
+    public void seeded_revision_is_reproducible() {
+        RevisionQuiz quiz = new RevisionQuiz(catalog);
+        Student student = new Student("Fidan", new Date(0));
+        BankVersion version = quiz.getBankVersion();
+        List<QuestionInterface> first = new ArrayList<>(quiz.revise(student, 5, 7L, version));
+        Assertions.assertEquals(5, first.size());
+        Assertions.assertEquals(first, new ArrayList<>(quiz.revise(student, 5, 7L, version)));
+    }
+
+    @Test
+    public void bank_version_rejects_a_bank_with_other_questions_of_the_same_sizes() {
+        QuestionCatalog other = new QuestionCatalog();
+        for (int i = 0; i < 100; i++) {
+            other.add(QuestionType.FREE_RESPONSE_QUESTION,
+                    AbstractQuestion.getQuestionInstance(QuestionType.FREE_RESPONSE_QUESTION, "Other question " + i, "answer " + i));
+        }
+        BankVersion version = BankVersion.of(catalog);
+        Assertions.assertEquals(version.size(QuestionType.FREE_RESPONSE_QUESTION), other.size(QuestionType.FREE_RESPONSE_QUESTION));
+        Assertions.assertEquals(version, BankVersion.parse(version.toString()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new RegularQuiz(other).generateQuiz(5, 1L, version));
+    }
+
+    @Test
+    public void seeded_revision_does_not_depend_on_question_ids() {
+        // The same questions loaded twice get different ids, as after a restart
+        QuestionCatalog reloaded = new QuestionCatalog();
+        for (int i = 0; i < 100; i++) {
+            reloaded.add(QuestionType.FREE_RESPONSE_QUESTION,
+                    AbstractQuestion.getQuestionInstance(QuestionType.FREE_RESPONSE_QUESTION, "Question " + i, "answer " + i));
+        }
+        BankVersion version = BankVersion.of(catalog);
+        Assertions.assertEquals(version, BankVersion.of(reloaded));
+        List<QuestionInterface> first = new ArrayList<>(new RevisionQuiz(catalog).revise(new Student("Fidan", new Date(0)), 5, 7L, version));
+        List<QuestionInterface> second = new ArrayList<>(new RevisionQuiz(reloaded).revise(new Student("Fidan", new Date(0)), 5, 7L, version));
+        Assertions.assertEquals(first.stream().map(QuestionInterface::getQuestionFormula).toList(),
+                second.stream().map(QuestionInterface::getQuestionFormula).toList());
+    }
+}
@@ -0,0 +1,71 @@
+package Quiz;
+
+import org.enums.QuizOperation;
+import org.enums.VerdictEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.quizLib.Metrics.LatencyHistogram;
+import org.quizLib.Metrics.QuizMetrics;
+import org.quizLib.Objects.Student;
+import org.quizLib.Questions.FreeResponseQuestion;
+import org.quizLib.Questions.QuestionInterface;
+import org.quizLib.Quiz.RegularQuiz;
+import org.quizLib.Quiz.RevisionQuiz;
+
+import javax.management.MBeanServer;
+import java.lang.management.ManagementFactory;
+import java.util.Date;
+import java.util.List;
+
+public final class QuizMetricsTest {
+    @Test
+    public void percentiles_are_within_bucket_precision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 100_000; nanos++) {
+            histogram.record(nanos);
+        }
+        Assertions.assertEquals(100_000, histogram.getCount());
+        Assertions.assertEquals(100_000, histogram.getMax());
+        Assertions.assertEquals(50_000.5, histogram.getMean(), 1e-9);
+        //an upper bound at most one sub-bucket (1/16) above the true value
+        long p50 = histogram.getPercentile(50);
+        Assertions.assertTrue(p50 >= 50_000 && p50 <= 50_000 * 17 / 16, "p50=" + p50);
+        long p99 = histogram.getPercentile(99);
+        Assertions.assertTrue(p99 >= 99_000 && p99 <= 100_000, "p99=" + p99);
+        Assertions.assertEquals(1, histogram.getPercentile(0));
+        histogram.reset();
+        Assertions.assertEquals(0, histogram.getPercentile(99));
+    }
+
+    @Test
+    public void quiz_operations_are_exposed_over_jmx() throws Exception {
+        QuizMetrics.registerMBeans();
+        try {
+            long before = QuizMetrics.histogram(QuizOperation.GENERATE_QUIZ, VerdictEnum.REGULAR).getCount();
+            new RegularQuiz().generateQuiz(4);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            Object count = server.getAttribute(QuizMetrics.objectName(QuizOperation.GENERATE_QUIZ, VerdictEnum.REGULAR), "Count");
+            Assertions.assertEquals(before + 1, count);
+            Assertions.assertTrue((Double) server.getAttribute(QuizMetrics.objectName(QuizOperation.GENERATE_QUIZ, VerdictEnum.REGULAR), "P99Micros") > 0);
+        } finally {
+            QuizMetrics.unregisterMBeans();
+        }
+    }
+
+    @Test
+    public void answer_timing_is_off_by_default() {
+        Assertions.assertFalse(QuizMetrics.isAnswerTimingEnabled());
+        LatencyHistogram answers = QuizMetrics.histogram(QuizOperation.CHECK_ANSWER, VerdictEnum.REVISION);
+        List<QuestionInterface> questions = List.of(new FreeResponseQuestion("What is the only mammal that can fly?", "Bat"));
+        long before = answers.getCount();
+        new RevisionQuiz().takeQuiz(new Student("Fidan", new Date(0)), questions, List.of("bat"));
+        Assertions.assertEquals(before, answers.getCount());
+        QuizMetrics.setAnswerTimingEnabled(true);
+        try {
+            new RevisionQuiz().takeQuiz(new Student("Aysel", new Date(0)), questions, List.of("bat"));
+        } finally {
+            QuizMetrics.setAnswerTimingEnabled(false);
+        }
+        Assertions.assertEquals(before + 1, answers.getCount());
+    }
+}
@@ -0,0 +1,108 @@
+package Quiz;
+
+import org.enums.VerdictEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.quizLib.Bank.BankVersion;
+import org.quizLib.Objects.Student;
+import org.quizLib.Questions.QuestionInterface;
+import org.quizLib.Quiz.QuizPaper;
+import org.quizLib.Quiz.QuizPaperPool;
+import org.quizLib.Quiz.RegularQuiz;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class QuizPaperPoolTest {
+    @Test
+    public void papers_are_submitted_by_id() throws Exception {
+        try (QuizPaperPool pool = new QuizPaperPool(new RegularQuiz(), 4, 8)) {
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (pool.getAvailableCount() < 8 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            Assertions.assertEquals(8, pool.getAvailableCount());
+            QuizPaper paper = pool.takePaper();
+            Assertions.assertEquals(4, paper.size());
+            Assertions.assertEquals(1, pool.getHitCount());
+            Assertions.assertSame(paper, pool.findPaper(paper.getId()));
+            Assertions.assertThrows(UnsupportedOperationException.class, () -> paper.getQuestions().clear());
+            //answer every question correctly is not needed, only the number of answers must match
+            Student student = new Student("Fidan", new Date(0));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> pool.takeQuiz(student, paper.getId(), List.of("a")));
+            pool.takeQuiz(student, paper.getId(), List.of("a", "b", "c", "d"));
+            Assertions.assertEquals(1, student.getStatistics().getNumberOfRegAttempts());
+            Assertions.assertEquals(VerdictEnum.TBD, student.getStatistics().getVerdict());
+            //a paper can only be submitted once
+            Assertions.assertThrows(IllegalArgumentException.class, () -> pool.takeQuiz(student, paper.getId(), List.of("a", "b", "c", "d")));
+            Assertions.assertEquals(0, pool.getIssuedCount());
+        }
+    }
+
+    @Test
+    public void refused_answers_keep_the_paper() {
+        try (QuizPaperPool pool = new QuizPaperPool(new RegularQuiz(), 2, 1)) {
+            QuizPaper paper = pool.takePaper();
+            Student student = new Student("Fidan", new Date(0));
+            //a verdict reached elsewhere refuses the answers without using up the paper
+            student.getStatistics().setVerdict(VerdictEnum.PASS);
+            Assertions.assertThrows(IllegalArgumentException.class, () -> pool.takeQuiz(student, paper.getId(), List.of("a", "b")));
+            Assertions.assertSame(paper, pool.findPaper(paper.getId()));
+            student.getStatistics().setVerdict(VerdictEnum.TBD);
+            pool.takeQuiz(student, paper.getId(), List.of("a", "b"));
+            Assertions.assertEquals(1, student.getStatistics().getNumberOfRegAttempts());
+            Assertions.assertNull(pool.findPaper(paper.getId()));
+        }
+    }
+
+    @Test
+    public void every_paper_has_its_own_id() {
+        try (QuizPaperPool pool = new QuizPaperPool(new RegularQuiz(), 2, 1)) {
+            Set<Long> ids = new HashSet<>();
+            for (int i = 0; i < 100; i++) {
+                QuizPaper paper = pool.takePaper();
+                Assertions.assertTrue(ids.add(paper.getId()));
+                for (QuestionInterface question : paper.getQuestions()) {
+                    Assertions.assertNotNull(question);
+                }
+            }
+            Assertions.assertEquals(100, pool.getHitCount() + pool.getMissCount());
+        }
+    }
+
+    @Test
+    public void unsubmitted_papers_expire() throws Exception {
+        try (QuizPaperPool pool = new QuizPaperPool(new RegularQuiz(), 2, 1, Duration.ofMillis(5))) {
+            QuizPaper paper = pool.takePaper();
+            Thread.sleep(20);
+            Assertions.assertNull(pool.findPaper(paper.getId()));
+            Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> pool.takeQuiz(new Student("Fidan", new Date(0)), paper.getId(), List.of("a", "b")));
+            pool.takePaper();//sweeps the expired paper
+            Assertions.assertEquals(1, pool.getIssuedCount());
+        }
+    }
+
+    @Test
+    public void refill_survives_generation_failures() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        RegularQuiz failing = new RegularQuiz() {
+            @Override
+            public Set<QuestionInterface> generateQuiz(int numberOfQuestions, long seed, BankVersion bankVersion) {
+                if (calls.incrementAndGet() <= 2) {
+                    throw new IllegalStateException("bank unavailable");
+                }
+                return super.generateQuiz(numberOfQuestions, seed, bankVersion);
+            }
+        };
+        try (QuizPaperPool pool = new QuizPaperPool(failing, 2, 2)) {
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (pool.getAvailableCount() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            Assertions.assertEquals(2, pool.getAvailableCount());
+            Assertions.assertEquals(2, pool.getFailureCount());
+        }
+    }
+}
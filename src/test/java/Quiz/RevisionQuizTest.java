@@ -7,16 +7,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.quizLib.Objects.Student;
 import org.quizLib.Questions.AbstractQuestion;
+import org.quizLib.Questions.FreeResponseQuestion;
 import org.quizLib.Questions.QuestionInterface;
 import org.quizLib.Quiz.RegularQuiz;
 import org.quizLib.Quiz.RevisionQuiz;
 
+import java.lang.ref.WeakReference;
 import java.util.*;
 
 public final class RevisionQuizTest {
     private Student student;
     private List<QuestionInterface> questions;
     private RevisionQuiz revisionQuiz;
+    private QuestionInterface seenQuestion;
     @BeforeEach
     public void setUp() {
         Calendar dateOfBirth = Calendar.getInstance();
@@ -33,6 +36,7 @@ public final class RevisionQuizTest {
                 "d) CSS", "b,c");
         QuestionInterface q3 = AbstractQuestion.getQuestionInstance(QuestionType.FREE_RESPONSE_QUESTION,"What is the tallest animal in the world?", "Giraffe");
         student.addQuestionAsSeen(q1);
+        seenQuestion = q1;
         student.addIncorrectQuestion(q2);  // Incorrect question
         questions = new ArrayList<>();
         questions.add(q2);
@@ -51,6 +55,17 @@ public final class RevisionQuizTest {
         Assertions.assertTrue(questionSet.size()==revisedQuestions.size());
     }
 
+    @Test
+    public void test_Incorrect_Questions_First() { //incorrect questions are prioritised and seen questions are skipped
+        Set<QuestionInterface> revisedQuestions = revisionQuiz.revise(student, 1);
+        Assertions.assertEquals(Set.of(questions.get(0)), revisedQuestions);
+        revisedQuestions = revisionQuiz.revise(student, 10);
+        Assertions.assertTrue(revisedQuestions.contains(questions.get(0)));
+        Assertions.assertFalse(revisedQuestions.contains(seenQuestion));
+        //the seen and incorrect questions are the interned built-in ones: four unseen built-ins plus the incorrect one
+        Assertions.assertEquals(5, revisedQuestions.size());
+    }
+
     @Test
     public void take_Revision_Quiz_Pass(){
         List<String> answers =  List.of("b,c", "giraffe ");
@@ -104,4 +119,23 @@ public final class RevisionQuizTest {
         });
         Assertions.assertEquals("The student has failed verdict And can not take another quiz.",exception.getMessage());
     }
+
+    //A question only the student's history refers to is not lost to garbage collection
+    @Test
+    public void incorrect_questions_outside_any_bank_stay_in_revision() {
+        Student forgetful = new Student("Aysel", new Date(0));
+        WeakReference<QuestionInterface> reference = addUnreferencedIncorrectQuestion(forgetful);
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+        }
+        Assertions.assertNotNull(reference.get());
+        Assertions.assertEquals(Set.of(reference.get()), forgetful.getIncorrectQuestions());
+        Assertions.assertTrue(revisionQuiz.revise(forgetful, 5).contains(reference.get()));
+    }
+
+    private static WeakReference<QuestionInterface> addUnreferencedIncorrectQuestion(Student student) {
+        QuestionInterface question = new FreeResponseQuestion("Which planet is known as the red planet?", "Mars");
+        student.addIncorrectQuestion(question);
+        return new WeakReference<>(question);
+    }
 }
@@ -0,0 +1,141 @@
+package Quiz;
+
+import org.enums.QuestionType;
+import org.enums.VerdictEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.quizLib.Bank.QuestionCatalog;
+import org.quizLib.Objects.Student;
+import org.quizLib.Objects.StudentRegistry;
+import org.quizLib.Questions.FreeResponseQuestion;
+import org.quizLib.Questions.QuestionInterface;
+import org.quizLib.Quiz.RevisionQuiz;
+import org.quizLib.Storage.AttemptLog;
+import org.quizLib.Storage.QuestionResolver;
+import org.quizLib.Storage.RosterSnapshot;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+public final class RosterSnapshotTest {
+    @TempDir
+    Path directory;
+
+    private static Date dateOfBirth(int day) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(1999, Calendar.FEBRUARY, 1);
+        calendar.add(Calendar.DAY_OF_YEAR, day);
+        return calendar.getTime();
+    }
+
+    @Test
+    public void load_restores_every_student() throws Exception {
+        StudentRegistry registry = new StudentRegistry();
+        QuestionInterface question = new FreeResponseQuestion("What is the tallest animal in the world?", "Giraffe");
+        QuestionCatalog catalog = new QuestionCatalog();
+        catalog.add(QuestionType.FREE_RESPONSE_QUESTION, question);
+        for (int i = 0; i < 5000; i++) {//more than one block
+            Student student = registry.register("Student" + i, dateOfBirth(i));
+            student.getStatistics().addScores(i % 3 == 0 ? 1.0 : 0.0, VerdictEnum.REVISION);
+            if (i % 2 == 0) {
+                student.addQuestionAsSeen(question);
+                student.addIncorrectQuestion(question);
+            }
+        }
+        Path file = directory.resolve("roster.snapshot");
+        Assertions.assertEquals(5000, RosterSnapshot.write(file, registry, List.of(catalog)));
+        RosterSnapshot snapshot = RosterSnapshot.load(file, QuestionResolver.of(List.of(catalog)));
+        Assertions.assertEquals(5000, snapshot.getRegistry().size());
+        for (Student student : registry.getStudents()) {
+            Student copy = snapshot.getRegistry().find(student.getName(), student.getDateOfBirth());
+            Assertions.assertEquals(student.getStatistics().toString(), copy.getStatistics().toString());
+            Assertions.assertEquals(student.getQuestionsSeenIds().toString(), copy.getQuestionsSeenIds().toString());
+            Assertions.assertEquals(student.getIncorrectQuestionIds().toString(), copy.getIncorrectQuestionIds().toString());
+        }
+    }
+
+    @Test
+    public void snapshot_during_grading_replays_each_attempt_once() throws Exception {
+        StudentRegistry registry = new StudentRegistry();
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            students.add(registry.register("Student" + i, dateOfBirth(i)));
+        }
+        Path logFile = directory.resolve("attempts.log");
+        Path snapshotFile = directory.resolve("roster.snapshot");
+        List<QuestionInterface> questions = List.of(new FreeResponseQuestion("What is the only mammal that can fly?", "Bat"));
+        QuestionCatalog catalog = new QuestionCatalog();
+        catalog.add(QuestionType.FREE_RESPONSE_QUESTION, questions.get(0));
+        RevisionQuiz revisionQuiz = new RevisionQuiz(catalog);
+        try (AttemptLog log = AttemptLog.open(logFile)) {
+            revisionQuiz.setAttemptLog(log);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            List<Future<?>> futures = new ArrayList<>();
+            for (Student student : students) {
+                futures.add(executor.submit(() -> {
+                    //revision attempts score 0 here, so the verdict stays TBD until the second attempt
+                    revisionQuiz.takeQuiz(student, questions, List.of("Dog"));
+                    return null;
+                }));
+            }
+            RosterSnapshot.write(snapshotFile, registry, log, List.of(catalog));//races with the attempts above
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+        }
+        RosterSnapshot snapshot = RosterSnapshot.load(snapshotFile, QuestionResolver.of(List.of(catalog)));
+        snapshot.replay(logFile);
+        for (Student student : students) {
+            Student copy = snapshot.getRegistry().find(student.getName(), student.getDateOfBirth());
+            Assertions.assertEquals(1, copy.getStatistics().getScoreCount());
+            Assertions.assertEquals(student.getStatistics().getNumberOfRegAttempts(), copy.getStatistics().getNumberOfRegAttempts());
+        }
+    }
+
+    @Test
+    public void load_resolves_questions_by_content_after_a_restart() throws Exception {
+        QuestionCatalog catalog = new QuestionCatalog();
+        QuestionInterface seen = new FreeResponseQuestion("What is the largest ocean?", "Pacific");
+        QuestionInterface incorrect = new FreeResponseQuestion("What is the longest river?", "Nile");
+        catalog.add(QuestionType.FREE_RESPONSE_QUESTION, seen);
+        catalog.add(QuestionType.FREE_RESPONSE_QUESTION, incorrect);
+        StudentRegistry registry = new StudentRegistry();
+        Student student = registry.register("Fidan", dateOfBirth(0));
+        student.addQuestionAsSeen(seen);
+        student.addIncorrectQuestion(incorrect);
+        Path file = directory.resolve("roster.snapshot");
+        RosterSnapshot.write(file, registry, List.of(catalog));
+
+        // The same questions built again get other ids; a question appended since does not matter
+        QuestionCatalog reloaded = new QuestionCatalog();
+        QuestionInterface seenCopy = new FreeResponseQuestion("What is the largest ocean?", "Pacific");
+        QuestionInterface incorrectCopy = new FreeResponseQuestion("What is the longest river?", "Nile");
+        reloaded.add(QuestionType.FREE_RESPONSE_QUESTION, seenCopy);
+        reloaded.add(QuestionType.FREE_RESPONSE_QUESTION, incorrectCopy);
+        reloaded.add(QuestionType.FREE_RESPONSE_QUESTION, new FreeResponseQuestion("What is the highest mountain?", "Everest"));
+        Student copy = RosterSnapshot.load(file, QuestionResolver.of(List.of(reloaded))).getRegistry().find("Fidan", dateOfBirth(0));
+        Assertions.assertEquals(Set.of(seenCopy), copy.getQuestionsSeen());
+        Assertions.assertEquals(Set.of(incorrectCopy), copy.getIncorrectQuestions());
+    }
+
+    @Test
+    public void load_rejects_banks_that_changed() throws Exception {
+        QuestionCatalog catalog = new QuestionCatalog();
+        QuestionInterface question = new FreeResponseQuestion("What is the capital of Australia?", "Sydney");
+        catalog.add(QuestionType.FREE_RESPONSE_QUESTION, question);
+        StudentRegistry registry = new StudentRegistry();
+        registry.register("Fidan", dateOfBirth(0)).addIncorrectQuestion(question);
+        Path file = directory.resolve("roster.snapshot");
+        RosterSnapshot.write(file, registry, List.of(catalog));
+
+        QuestionCatalog corrected = new QuestionCatalog();
+        corrected.add(QuestionType.FREE_RESPONSE_QUESTION, new FreeResponseQuestion("What is the capital of Australia?", "Canberra"));
+        Assertions.assertThrows(IOException.class, () -> RosterSnapshot.load(file, QuestionResolver.of(List.of(corrected))));
+        Assertions.assertThrows(IOException.class, () -> RosterSnapshot.load(file, QuestionResolver.of(List.of())));
+    }
+}
@@ -0,0 +1,112 @@
+package Quiz.Server;
+
+import org.enums.VerdictEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quizLib.Statistics;
+import org.quizLib.Objects.StudentRegistry;
+import org.quizLib.Server.QuizServer;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class QuizServerTest {
+    private StudentRegistry registry;
+    private QuizServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        registry = new StudentRegistry();
+        server = new QuizServer(new InetSocketAddress("127.0.0.1", 0), registry);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private HttpResponse<String> post(String path, String form) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    public void generate_then_submit() throws Exception {
+        HttpResponse<String> generated = post("/quiz/generate?name=Fidan&dob=1999-02-26&count=2", "");
+        Assertions.assertEquals(200, generated.statusCode());
+        Matcher session = Pattern.compile("\"session\":\"([^\"]+)\"").matcher(generated.body());
+        Assertions.assertTrue(session.find());
+        Assertions.assertEquals(1, server.getSessionCount());
+        Assertions.assertEquals(0, registry.size());//handing out a quiz does not register the student
+        HttpResponse<String> submitted = post("/quiz/submit", "session=" + session.group(1) + "&answer=x&answer=y");
+        Assertions.assertEquals(200, submitted.statusCode());
+        Assertions.assertTrue(submitted.body().contains("\"score\":0.0"));
+        Assertions.assertEquals(1, registry.size());
+        Assertions.assertEquals(1, registry.getStudents().iterator().next().getStatistics().getNumberOfRegAttempts());
+        //a session can only be submitted once
+        Assertions.assertEquals(409, post("/quiz/submit", "session=" + session.group(1) + "&answer=x&answer=y").statusCode());
+        Assertions.assertEquals(0, server.getSessionCount());
+    }
+
+    @Test
+    public void bad_requests_are_rejected() throws Exception {
+        Assertions.assertEquals(400, post("/quiz/generate", "name=Fidan&dob=26/02/1999").statusCode());
+        Assertions.assertEquals(400, post("/quiz/revise", "name=Fidan&dob=1999-02-26&count=0").statusCode());
+        Assertions.assertEquals(404, post("/quiz/submit", "session=missing").statusCode());
+        HttpResponse<String> wrongMethod = client.send(HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/quiz/generate")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        Assertions.assertEquals(405, wrongMethod.statusCode());
+    }
+
+    @Test
+    public void open_sessions_are_capped_per_student() throws Exception {
+        for (int i = 0; i < QuizServer.DEFAULT_MAX_SESSIONS_PER_STUDENT; i++) {
+            Assertions.assertEquals(200, post("/quiz/generate?name=Fidan&dob=1999-02-26&count=1", "").statusCode());
+        }
+        Assertions.assertEquals(429, post("/quiz/generate?name=FIDAN&dob=1999-02-26&count=1", "").statusCode());
+        Assertions.assertEquals(200, post("/quiz/generate?name=Aysel&dob=1999-02-26&count=1", "").statusCode());
+        Assertions.assertEquals(QuizServer.DEFAULT_MAX_SESSIONS_PER_STUDENT + 1, server.getSessionCount());
+        Assertions.assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void ineligible_students_can_not_generate() throws Exception {
+        registry.register("Fidan", Date.from(LocalDate.of(1999, 2, 26).atStartOfDay(ZoneId.systemDefault()).toInstant()))
+                .getStatistics().setVerdict(VerdictEnum.PASS);
+        Assertions.assertEquals(400, post("/quiz/generate?name=Fidan&dob=1999-02-26&count=1", "").statusCode());
+        Assertions.assertEquals(0, server.getSessionCount());
+    }
+
+    @Test
+    public void refused_submissions_leave_the_session_open() throws Exception {
+        HttpResponse<String> generated = post("/quiz/generate?name=Fidan&dob=1999-02-26&count=1", "");
+        Matcher session = Pattern.compile("\"session\":\"([^\"]+)\"").matcher(generated.body());
+        Assertions.assertTrue(session.find());
+        //a verdict reached in another session refuses the answers
+        Statistics statistics = registry.register("Fidan", Date.from(LocalDate.of(1999, 2, 26).atStartOfDay(ZoneId.systemDefault()).toInstant()))
+                .getStatistics();
+        statistics.setVerdict(VerdictEnum.PASS);
+        Assertions.assertEquals(400, post("/quiz/submit", "session=" + session.group(1) + "&answer=x").statusCode());
+        Assertions.assertEquals(1, server.getSessionCount());
+        statistics.setVerdict(VerdictEnum.TBD);
+        Assertions.assertEquals(200, post("/quiz/submit", "session=" + session.group(1) + "&answer=x").statusCode());
+        Assertions.assertEquals(0, server.getSessionCount());
+        Assertions.assertEquals(409, post("/quiz/submit", "session=" + session.group(1) + "&answer=x").statusCode());
+    }
+}
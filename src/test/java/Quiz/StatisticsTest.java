@@ -8,6 +8,7 @@ import org.quizLib.Objects.Student;
 import org.quizLib.Questions.FreeResponseQuestion;
 import org.quizLib.Questions.QuestionInterface;
 import org.quizLib.Quiz.RegularQuiz;
+import org.quizLib.Statistics;
 
 import java.util.*;
 
@@ -47,4 +48,30 @@ public final class StatisticsTest {
         Student student3 = new Student("fidan",dateOfBirth1.getTime());
         Assertions.assertTrue(student2!=student3);
     }
+
+    @Test
+    public void test_Running_Aggregates() {
+        Statistics statistics = new Statistics(3);
+        statistics.setQuizScores(List.of(0.2, 0.4, 0.6, 0.8, 1.0));
+        Assertions.assertEquals(5, statistics.getScoreCount());
+        Assertions.assertEquals(0.6, statistics.getMeanScore(), 1e-9);
+        Assertions.assertEquals(0.1, statistics.getScoreAggregate().getVariance(), 1e-9);
+        Assertions.assertEquals(0.2, statistics.getScoreAggregate().getMin());
+        Assertions.assertEquals(1.0, statistics.getScoreAggregate().getMax());
+        Assertions.assertEquals(0.6, statistics.getMedianScore(), 1e-9);
+        //only the three most recent scores are kept
+        Assertions.assertEquals(List.of(0.6, 0.8, 1.0), statistics.getQuizScores());
+    }
+
+    @Test
+    public void test_Median_Estimate() {
+        Statistics statistics = new Statistics(0);
+        Random random = new Random(11);
+        for (int i = 0; i < 10_000; i++) {
+            statistics.addScores(random.nextDouble(), VerdictEnum.REVISION);
+        }
+        Assertions.assertEquals(0.5, statistics.getMedianScore(), 0.02);
+        Assertions.assertEquals(0.5, statistics.getMeanScore(), 0.02);
+        Assertions.assertTrue(statistics.getQuizScores().isEmpty());
+    }
 }
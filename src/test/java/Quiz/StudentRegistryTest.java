@@ -0,0 +1,82 @@
+package Quiz;
+
+import org.enums.VerdictEnum;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.quizLib.Objects.Student;
+import org.quizLib.Objects.StudentRegistry;
+import org.quizLib.Questions.FreeResponseQuestion;
+import org.quizLib.Questions.QuestionInterface;
+import org.quizLib.Quiz.RegularQuiz;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class StudentRegistryTest {
+    private StudentRegistry registry;
+    private Date dateOfBirth;
+
+    @BeforeEach
+    void setUp() {
+        registry = new StudentRegistry();
+        Calendar calendar = Calendar.getInstance();
+        calendar.set(1999, 01, 26);
+        dateOfBirth = calendar.getTime();
+    }
+
+    @Test
+    public void register_returns_same_student() { //names are compared ignoring case
+        Student student = registry.register("Fidan", dateOfBirth);
+        Assertions.assertSame(student, registry.register("fidan", dateOfBirth));
+        Assertions.assertSame(student, registry.find("FIDAN", dateOfBirth));
+        Assertions.assertEquals(1, registry.size());
+        Assertions.assertEquals(student.hashCode(), new Student("fidan", dateOfBirth).hashCode());
+    }
+
+    @Test
+    public void register_keeps_observers_of_students_not_added() {
+        AtomicInteger notified = new AtomicInteger();
+        registry.addScoreObserver((statistics, score, quizType, previousVerdict) -> notified.incrementAndGet());
+        Student student = registry.register(new Student("Fidan", dateOfBirth));
+        StudentRegistry other = new StudentRegistry();
+        Student existing = other.register("fidan", dateOfBirth);
+        //an equal student is already registered, so the given one stays observed by its own registry
+        Assertions.assertSame(existing, other.register(student));
+        student.getStatistics().addScores(0.5, VerdictEnum.REGULAR);
+        Assertions.assertEquals(1, notified.get());
+    }
+
+    @Test
+    public void concurrent_attempts_apply_atomically() throws Exception {
+        Student student = registry.register("Fidan", dateOfBirth);
+        RegularQuiz regularQuiz = new RegularQuiz();
+        List<QuestionInterface> questions = List.of(new FreeResponseQuestion("What is the only mammal that can fly?", "Bat"));
+        AtomicInteger accepted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    regularQuiz.takeQuiz(student, questions, List.of("Dog"));
+                    accepted.incrementAndGet();
+                } catch (IllegalArgumentException e) {
+                    //the student already has a final verdict
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        //only two failed regular attempts are allowed before the fail verdict
+        Assertions.assertEquals(2, accepted.get());
+        Assertions.assertEquals(2, student.getStatistics().getNumberOfRegAttempts());
+        Assertions.assertEquals(VerdictEnum.FAIL, student.getStatistics().getVerdict());
+    }
+}